@@ -0,0 +1,91 @@
+package io.github.surajkumar.concurrency.benchmarks;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.PooledExecutionMachine;
+import io.github.surajkumar.concurrency.pools.AffinityPolicy;
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CPU-bound promises that repeatedly walk a per-worker working set, with and without
+ * pinning the pool's worker threads. The working set is sized to fit in a core's L2 cache, so
+ * workers that migrate between cores or sockets pay for refilling it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AffinityBenchmark {
+    private static final int WORKING_SET_INTS = 64 * 1024;
+    private static final ThreadLocal<int[]> WORKING_SET =
+            ThreadLocal.withInitial(
+                    () -> ThreadLocalRandom.current().ints(WORKING_SET_INTS).toArray());
+
+    @Param({"NONE", "CORE", "NUMA_NODE"})
+    public AffinityPolicy policy;
+
+    private int workers;
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workers = Runtime.getRuntime().availableProcessors();
+        PoolOptions options =
+                new PoolOptions()
+                        .setWaitFor(true)
+                        .setEnableScaling(false)
+                        .setMaxCapacity(workers)
+                        .setAffinityPolicy(policy);
+        executor =
+                new Executor(
+                        new PooledExecutionMachine(
+                                new FixedThreadPool(new Pool(workers, options))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public long cpuBoundPromises() {
+        @SuppressWarnings("unchecked")
+        Promise<Long>[] promises = new Promise[workers];
+        for (int i = 0; i < workers; i++) {
+            promises[i] = new Promise<>(AffinityBenchmark::walkWorkingSet);
+        }
+        executor.join(promises);
+        long sum = 0;
+        for (Promise<Long> promise : promises) {
+            sum += promise.get();
+        }
+        return sum;
+    }
+
+    private static long walkWorkingSet() {
+        int[] data = WORKING_SET.get();
+        long sum = 0;
+        for (int pass = 0; pass < 16; pass++) {
+            for (int i = 0; i < data.length; i += 16) {
+                sum += data[i];
+                data[i] += pass;
+            }
+        }
+        return sum;
+    }
+}
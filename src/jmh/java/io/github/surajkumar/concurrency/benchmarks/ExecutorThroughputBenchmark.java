@@ -0,0 +1,76 @@
+package io.github.surajkumar.concurrency.benchmarks;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.PooledExecutionMachine;
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.tracing.LoggingEventSink;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many trivial promises a PooledExecutionMachine completes per second, with no event
+ * sink and with the {@link LoggingEventSink} registered while debug logging is off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExecutorThroughputBenchmark {
+
+    @Param({"NONE", "LOGGING"})
+    public String sink;
+
+    private Executor executor;
+    private LoggingEventSink loggingEventSink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (sink.equals("LOGGING")) {
+            loggingEventSink = new LoggingEventSink();
+            Tracing.addSink(loggingEventSink);
+        }
+        executor =
+                new Executor(
+                        new PooledExecutionMachine(
+                                new FixedThreadPool(
+                                        new Pool(
+                                                1,
+                                                new PoolOptions()
+                                                        .setWaitFor(true)
+                                                        .setEnableScaling(false)
+                                                        .setMaxCapacity(1)))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        if (loggingEventSink != null) {
+            Tracing.removeSink(loggingEventSink);
+        }
+    }
+
+    @Benchmark
+    public Integer submitAndGet() {
+        Promise<Integer> promise = new Promise<>(() -> 42);
+        executor.run(promise);
+        return promise.get();
+    }
+}
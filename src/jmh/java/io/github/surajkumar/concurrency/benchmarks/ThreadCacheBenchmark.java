@@ -0,0 +1,54 @@
+package io.github.surajkumar.concurrency.benchmarks;
+
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running a trivial promise on a ThreadPerTaskExecutionMachine with and without its thread
+ * cache, which shows how much of a short task is spent starting and stopping its thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ThreadCacheBenchmark {
+
+    @Param({"0", "16"})
+    public int cachedThreads;
+
+    private ThreadPerTaskExecutionMachine machine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        machine = new ThreadPerTaskExecutionMachine(cachedThreads, cachedThreads > 0 ? 60_000 : 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        machine.shutdown();
+    }
+
+    @Benchmark
+    public Integer shortTask() {
+        Promise<Integer> promise = new Promise<>(() -> 42);
+        machine.execute(promise, new ExecutionSettings());
+        return promise.get();
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.surajkumar.concurrency.benchmarks;
+
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.BusySpinWaitStrategy;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.threads.ParkingWaitStrategy;
+import io.github.surajkumar.concurrency.threads.WaitStrategy;
+import io.github.surajkumar.concurrency.threads.YieldingWaitStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip of handing a trivial promise to an idle ExecutionThread and waiting for
+ * its result, for each wait strategy. Run it on a machine with at least two free cores, spinning
+ * strategies compete with the benchmark thread for the CPU otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WaitStrategyBenchmark {
+    private static final ExecutionSettings SETTINGS = new ExecutionSettings();
+
+    @Param({"BUSY_SPIN", "SPIN_THEN_YIELD", "SPIN_THEN_PARK", "PARK"})
+    public String strategy;
+
+    private ExecutionThread executionThread;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WaitStrategy waitStrategy =
+                switch (strategy) {
+                    case "BUSY_SPIN" -> new BusySpinWaitStrategy();
+                    case "SPIN_THEN_YIELD" -> new YieldingWaitStrategy(1000);
+                    case "SPIN_THEN_PARK" -> new ParkingWaitStrategy(1000, 100);
+                    default -> new ParkingWaitStrategy(0, 0);
+                };
+        executionThread =
+                ExecutionThread.createStarted("WaitStrategyBenchmark", null, waitStrategy);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executionThread.setRunning(false);
+    }
+
+    @Benchmark
+    public Integer handoff() {
+        Promise<Integer> promise = new Promise<>(() -> 1);
+        executionThread.queuePromise(promise, SETTINGS);
+        return promise.get();
+    }
+}
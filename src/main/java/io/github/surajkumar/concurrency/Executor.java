@@ -3,13 +3,15 @@ package io.github.surajkumar.concurrency;
 import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
 import io.github.surajkumar.concurrency.machines.ExecutionMachine;
 import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
-import io.github.surajkumar.concurrency.pools.ThreadPool;
 import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -75,19 +77,94 @@ public class Executor {
             return;
         }
         for (Promise<?> p : promises) {
-            LOGGER.trace("Sending {} to {}", p, executionMachine);
+            p.captureContext();
+            if (executionSettings.getTimeout() > 0 && !p.hasTimeout()) {
+                p.setTimeout(executionSettings.getTimeout(), TimeUnit.MILLISECONDS);
+            }
+            if (executionSettings.getRetryPolicy() != null
+                    && executionSettings.getRepeat() == 0
+                    && !executionSettings.isRepeatIndefinitely()) {
+                p.setRetryPolicy(
+                        executionSettings.getRetryPolicy(),
+                        () -> executionMachine.execute(p, executionSettings));
+            }
+            if (executionSettings.getCircuitBreaker() != null) {
+                p.setCircuitBreaker(executionSettings.getCircuitBreaker());
+            }
+            Tracing.promiseSubmitted(p, executionMachine);
             executionMachine.execute(p, executionSettings);
         }
     }
 
     /**
-     * Shuts down the Executor's thread pool, if it exists. If the shutdown method on the thread
-     * pool has already been called, calling this method has no effect.
+     * Shuts down the Executor gracefully. New promises are rejected, promises that have already
+     * been submitted still run, and the ExecutionMachine releases its threads once they have
+     * finished. This method does not wait, use {@link #awaitTermination(long, TimeUnit)} for that.
+     * If the Executor has already been shut down, calling this method has no effect.
      */
     public void shutdown() {
-        ThreadPool threadPool = executionMachine.threadPool();
-        if (threadPool != null) {
-            executionMachine.threadPool().shutdown();
+        running.set(false);
+        executionMachine.shutdown();
+    }
+
+    /**
+     * Shuts down the Executor, giving submitted promises up to the given time to finish. If they
+     * have not finished by then, the promises that have not started are cancelled and returned, and
+     * running promises are asked to stop.
+     *
+     * @param timeout the maximum time to wait for submitted promises to finish
+     * @param unit the unit of the timeout
+     * @return the promises that were cancelled before they started, empty if every promise finished
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public List<Promise<?>> shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        shutdown();
+        if (awaitTermination(timeout, unit)) {
+            return List.of();
         }
+        LOGGER.warn("Promises did not finish within {} {}, cancelling them", timeout, unit);
+        return shutdownNow();
+    }
+
+    /**
+     * Shuts down the Executor immediately. New promises are rejected, submitted promises that have
+     * not started are cancelled, and running promises are asked to stop through their {@link
+     * io.github.surajkumar.concurrency.promise.CancellationToken}.
+     *
+     * @return the promises that were cancelled before they started
+     */
+    public List<Promise<?>> shutdownNow() {
+        running.set(false);
+        return executionMachine.shutdownNow();
+    }
+
+    /**
+     * Waits until the Executor has been shut down and every submitted promise has finished.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the Executor terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executionMachine.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Checks if the Executor has been shut down.
+     *
+     * @return true if the Executor has been shut down, false otherwise
+     */
+    public boolean isShutdown() {
+        return !running.get();
+    }
+
+    /**
+     * Checks if the Executor has been shut down and every submitted promise has finished.
+     *
+     * @return true if the Executor has terminated, false otherwise
+     */
+    public boolean isTerminated() {
+        return executionMachine.isTerminated();
     }
 }
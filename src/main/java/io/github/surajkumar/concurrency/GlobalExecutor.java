@@ -1,19 +1,67 @@
 package io.github.surajkumar.concurrency;
 
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
 import io.github.surajkumar.concurrency.machines.PooledExecutionMachine;
 import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
 import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
 import io.github.surajkumar.concurrency.machines.VirtualThreadPerTaskExecutionMachine;
 import io.github.surajkumar.concurrency.pools.DynamicThreadPool;
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The GlobalExecutor class provides access to different types of Executors for executing promises.
+ *
+ * <p>Each Executor is created the first time it is requested and is shared from then on. Creation
+ * is thread-safe, so concurrent first calls always receive the same Executor. The Executors can be
+ * configured with the following system properties, which are read when an Executor is created:
+ *
+ * <ul>
+ *   <li>{@value #POOL_TYPE_PROPERTY}: {@code dynamic} (default) or {@code fixed}, the type of pool
+ *       used by the pooled Executor
+ *   <li>{@value #POOL_SIZE_PROPERTY}: the initial number of threads of the pooled Executor, 1 by
+ *       default
+ *   <li>{@value #POOL_MAX_SIZE_PROPERTY}: the maximum number of threads a dynamic pool may scale up
+ *       to, unlimited by default
+ *   <li>{@value #DEFAULT_MACHINE_PROPERTY}: {@code pooled} (default), {@code single}, {@code
+ *       thread} or {@code virtual}, the Executor returned by {@link #getDefaultExecutor()}
+ *   <li>{@value #SHUTDOWN_HOOK_PROPERTY}: {@code true} (default) to drain every Executor when the
+ *       JVM exits
+ *   <li>{@value #SHUTDOWN_TIMEOUT_PROPERTY}: the time in milliseconds the shutdown hook waits for
+ *       submitted promises before cancelling them, 5000 by default
+ * </ul>
  */
 public class GlobalExecutor {
-    private static Executor singleThread;
-    private static Executor virtual;
-    private static Executor newThread;
-    private static Executor pooled;
+    /** The system property that selects the type of pool used by the pooled Executor. */
+    public static final String POOL_TYPE_PROPERTY = "concurrency.pool.type";
+
+    /** The system property that sets the initial number of threads of the pooled Executor. */
+    public static final String POOL_SIZE_PROPERTY = "concurrency.pool.size";
+
+    /** The system property that sets the maximum number of threads of a dynamic pool. */
+    public static final String POOL_MAX_SIZE_PROPERTY = "concurrency.pool.maxSize";
+
+    /** The system property that selects the Executor returned by getDefaultExecutor. */
+    public static final String DEFAULT_MACHINE_PROPERTY = "concurrency.defaultMachine";
+
+    /** The system property that enables the shutdown hook. */
+    public static final String SHUTDOWN_HOOK_PROPERTY = "concurrency.shutdownHook";
+
+    /** The system property that sets how long the shutdown hook waits, in milliseconds. */
+    public static final String SHUTDOWN_TIMEOUT_PROPERTY = "concurrency.shutdownTimeoutMillis";
+
+    private static final Logger LOGGER = LogManager.getLogger(GlobalExecutor.class);
+    private static final List<Executor> EXECUTORS = new CopyOnWriteArrayList<>();
 
     /**
      * The GlobalExecutor class provides access to different types of Executors for executing
@@ -27,10 +75,7 @@ public class GlobalExecutor {
      * @return Returns the single thread Executor.
      */
     public static Executor getSingleThreadExecutor() {
-        if (singleThread == null) {
-            singleThread = new Executor(new SingleThreadedExecutionMachine());
-        }
-        return singleThread;
+        return SingleThreadHolder.INSTANCE;
     }
 
     /**
@@ -39,10 +84,7 @@ public class GlobalExecutor {
      * @return Returns the virtual thread per task Executor.
      */
     public static Executor getVirtualExecutor() {
-        if (virtual == null) {
-            virtual = new Executor(new VirtualThreadPerTaskExecutionMachine());
-        }
-        return virtual;
+        return VirtualHolder.INSTANCE;
     }
 
     /**
@@ -51,22 +93,153 @@ public class GlobalExecutor {
      * @return Returns the new thread per task Executor.
      */
     public static Executor getNewThreadExecutor() {
-        if (newThread == null) {
-            newThread = new Executor(new ThreadPerTaskExecutionMachine());
-        }
-        return newThread;
+        return NewThreadHolder.INSTANCE;
     }
 
     /**
-     * Retrieves an Executor that executes promises using a dynamic thread pool for execution. The
-     * dynamic thread pool can automatically scale up or down based on demand.
+     * Retrieves an Executor that executes promises using a thread pool. By default the pool is a
+     * dynamic thread pool that scales up or down based on demand, see the class documentation for
+     * the system properties that configure it.
      *
-     * @return Returns the dynamic thread pool Executor.
+     * @return Returns the pooled Executor.
      */
     public static Executor getPooledExecutor() {
-        if (pooled == null) {
-            pooled = new Executor(new PooledExecutionMachine(new DynamicThreadPool(1)));
+        return PooledHolder.INSTANCE;
+    }
+
+    /**
+     * Retrieves the Executor selected by the {@value #DEFAULT_MACHINE_PROPERTY} system property,
+     * which is the pooled Executor unless configured otherwise.
+     *
+     * @return Returns the default Executor.
+     */
+    public static Executor getDefaultExecutor() {
+        String machine = System.getProperty(DEFAULT_MACHINE_PROPERTY, "pooled");
+        return switch (machine.toLowerCase(Locale.ROOT)) {
+            case "single" -> getSingleThreadExecutor();
+            case "thread" -> getNewThreadExecutor();
+            case "virtual" -> getVirtualExecutor();
+            case "pooled" -> getPooledExecutor();
+            default -> {
+                LOGGER.warn("Unknown {} '{}', using pooled", DEFAULT_MACHINE_PROPERTY, machine);
+                yield getPooledExecutor();
+            }
+        };
+    }
+
+    /**
+     * Shuts down every Executor created by this class, giving submitted promises up to the given
+     * time to finish before the remaining ones are cancelled. This is what the shutdown hook does
+     * when the JVM exits.
+     *
+     * @param timeout the maximum time to wait for submitted promises to finish
+     * @param unit the unit of the timeout
+     * @return true if every promise finished in time, false otherwise
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public static boolean shutdownAll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        EXECUTORS.forEach(Executor::shutdown);
+        boolean terminated = true;
+        for (Executor executor : EXECUTORS) {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                List<?> cancelled = executor.shutdownNow();
+                LOGGER.warn("Cancelled {} unstarted promises during shutdown", cancelled.size());
+                terminated = false;
+            }
+        }
+        return terminated;
+    }
+
+    private static Executor register(ExecutionMachine executionMachine) {
+        ShutdownHookHolder.install();
+        Executor executor = new Executor(executionMachine);
+        EXECUTORS.add(executor);
+        LOGGER.debug("Created global Executor using {}", executionMachine);
+        return executor;
+    }
+
+    private static ThreadPool createPool() {
+        int size = intProperty(POOL_SIZE_PROPERTY, 1);
+        String type = System.getProperty(POOL_TYPE_PROPERTY, "dynamic");
+        if ("fixed".equalsIgnoreCase(type)) {
+            return new FixedThreadPool(
+                    new Pool(
+                            size,
+                            new PoolOptions()
+                                    .setWaitFor(true)
+                                    .setEnableScaling(false)
+                                    .setMaxCapacity(size)));
+        }
+        if (!"dynamic".equalsIgnoreCase(type)) {
+            LOGGER.warn("Unknown {} '{}', using dynamic", POOL_TYPE_PROPERTY, type);
+        }
+        return new DynamicThreadPool(
+                size,
+                new PoolOptions()
+                        .setMaxCapacity(intProperty(POOL_MAX_SIZE_PROPERTY, Integer.MAX_VALUE))
+                        .setEnableScaling(true)
+                        .setScaleUpAmount(
+                                Math.max(Runtime.getRuntime().availableProcessors() / 2, 1))
+                        .setScaleDownAmount(
+                                Math.max(Runtime.getRuntime().availableProcessors() / 2, 1)));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignore) {
+            // Fall through to the warning below
+        }
+        LOGGER.warn("Invalid {} '{}', using {}", name, value, defaultValue);
+        return defaultValue;
+    }
+
+    private static final class SingleThreadHolder {
+        private static final Executor INSTANCE = register(new SingleThreadedExecutionMachine());
+    }
+
+    private static final class VirtualHolder {
+        private static final Executor INSTANCE =
+                register(new VirtualThreadPerTaskExecutionMachine());
+    }
+
+    private static final class NewThreadHolder {
+        private static final Executor INSTANCE = register(new ThreadPerTaskExecutionMachine());
+    }
+
+    private static final class PooledHolder {
+        private static final Executor INSTANCE = register(new PooledExecutionMachine(createPool()));
+    }
+
+    private static final class ShutdownHookHolder {
+        static {
+            if (Boolean.parseBoolean(System.getProperty(SHUTDOWN_HOOK_PROPERTY, "true"))) {
+                int timeout = intProperty(SHUTDOWN_TIMEOUT_PROPERTY, 5000);
+                Runtime.getRuntime()
+                        .addShutdownHook(
+                                new Thread(
+                                        () -> {
+                                            try {
+                                                shutdownAll(timeout, TimeUnit.MILLISECONDS);
+                                            } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                            }
+                                        },
+                                        "GlobalExecutorShutdown"));
+            }
+        }
+
+        private static void install() {
+            // Loading this class registers the hook exactly once
         }
-        return pooled;
     }
 }
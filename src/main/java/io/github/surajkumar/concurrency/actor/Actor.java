@@ -0,0 +1,23 @@
+package io.github.surajkumar.concurrency.actor;
+
+/**
+ * The Actor interface represents the behaviour of an actor. An actor handles the messages sent to
+ * it one at a time, so it can keep state in ordinary fields without locks.
+ *
+ * @param <M> the type of the messages the actor handles
+ * @param <R> the type of the replies the actor sends, or {@link Void} if it sends none
+ */
+@FunctionalInterface
+public interface Actor<M, R> {
+
+    /**
+     * Handles a message. The return value is the reply to a request made with {@link
+     * ActorRef#ask(Object)}, and is ignored for messages sent with {@link ActorRef#tell(Object)}.
+     * An exception fails the request, or is logged for a message that was told, and the actor
+     * carries on with the next message.
+     *
+     * @param message the message to handle
+     * @return the reply to the message
+     */
+    R receive(M message);
+}
@@ -0,0 +1,56 @@
+package io.github.surajkumar.concurrency.actor;
+
+/**
+ * The ActorOptions class represents the options configuration for an actor. It specifies how many
+ * messages the actor's mailbox holds and how many messages the actor handles each time it is
+ * scheduled.
+ */
+public class ActorOptions {
+    private int mailboxCapacity = 1000;
+    private int throughput = 16;
+
+    /** Creates ActorOptions with a mailbox capacity of 1000 and a throughput of 16. */
+    public ActorOptions() {}
+
+    /**
+     * Retrieves the number of messages the mailbox holds.
+     *
+     * @return the mailbox capacity
+     */
+    public int getMailboxCapacity() {
+        return mailboxCapacity;
+    }
+
+    /**
+     * Sets the number of messages the mailbox holds. Messages sent to a full mailbox are refused.
+     *
+     * @param mailboxCapacity the mailbox capacity
+     * @return the ActorOptions instance
+     */
+    public ActorOptions setMailboxCapacity(int mailboxCapacity) {
+        this.mailboxCapacity = mailboxCapacity;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of messages an actor handles each time it is scheduled.
+     *
+     * @return the throughput
+     */
+    public int getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Sets the number of messages an actor handles each time it is scheduled. When the quota is
+     * used up the actor gives its thread back and is scheduled again, so busy actors take turns
+     * instead of holding a thread. A higher throughput trades fairness for fewer handoffs.
+     *
+     * @param throughput the throughput
+     * @return the ActorOptions instance
+     */
+    public ActorOptions setThroughput(int throughput) {
+        this.throughput = throughput;
+        return this;
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.surajkumar.concurrency.actor;
+
+import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.exceptions.ActorStoppedException;
+import io.github.surajkumar.concurrency.exceptions.MailboxFullException;
+import io.github.surajkumar.concurrency.exceptions.NoExecutionThreadAvailableException;
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ActorRef class is the handle through which messages are sent to an actor. It owns the actor's
+ * bounded mailbox and schedules the actor on an {@link ExecutionMachine} only while the mailbox has
+ * messages. Each time it is scheduled, the actor handles up to its throughput of messages and then
+ * gives the thread back. If more messages have arrived it is scheduled again from a virtual thread,
+ * so the thread it ran on is back in its pool first and a bounded pool never waits on itself. An
+ * idle actor holds no thread and costs only its memory.
+ *
+ * <p>Messages from one sender are handled in the order they were sent, and an actor never handles
+ * two messages at once.
+ *
+ * <p>If the ExecutionMachine has no thread available, the actor is scheduled again after a short
+ * pause, and its messages wait in the mailbox. If it refuses to schedule the actor for any other
+ * reason, for example because it has been shut down, the actor is stopped. The messages left in its
+ * mailbox are dropped and their requests fail with an {@link ActorStoppedException}.
+ *
+ * @param <M> the type of the messages the actor handles
+ * @param <R> the type of the replies the actor sends
+ */
+public final class ActorRef<M, R> {
+    private static final Logger LOGGER = LogManager.getLogger(ActorRef.class);
+    private static final long RETRY_MILLIS = 1;
+    private final Actor<M, R> actor;
+    private final ExecutionMachine executionMachine;
+    private final ExecutionSettings executionSettings;
+    private final int mailboxCapacity;
+    private final int throughput;
+    private final Queue<Envelope<M, R>> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mailboxSize = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    ActorRef(
+            Actor<M, R> actor,
+            ExecutionMachine executionMachine,
+            ExecutionSettings executionSettings,
+            ActorOptions options) {
+        this.actor = actor;
+        this.executionMachine = executionMachine;
+        this.executionSettings = executionSettings;
+        this.mailboxCapacity = Math.max(1, options.getMailboxCapacity());
+        this.throughput = Math.max(1, options.getThroughput());
+    }
+
+    /**
+     * Sends a message to the actor without waiting for it to be handled.
+     *
+     * @param message the message to send
+     * @return true if the message was added to the mailbox, false if the mailbox is full, the actor
+     *     has been stopped or the actor could not be scheduled
+     */
+    public boolean tell(M message) {
+        return offer(new Envelope<>(message, false)) == null;
+    }
+
+    /**
+     * Sends a message to the actor and returns a Promise of its reply. The Promise settles on the
+     * actor's thread once the message has been handled, so handlers registered on it should be
+     * short. If the mailbox is full, or the actor has been stopped or could not be scheduled, the
+     * Promise fails at once with a {@link MailboxFullException} or an {@link
+     * ActorStoppedException}.
+     *
+     * @param message the message to send
+     * @return a Promise of the actor's reply
+     */
+    public Promise<R> ask(M message) {
+        Envelope<M, R> envelope = new Envelope<>(message, true);
+        RuntimeException refused = offer(envelope);
+        if (refused != null) {
+            envelope.fail(refused);
+        }
+        return envelope.reply;
+    }
+
+    /**
+     * Stops the actor. Messages already in the mailbox are still handled, and further messages are
+     * refused. If the actor has already been stopped, calling this method has no effect.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Checks if the actor has been stopped.
+     *
+     * @return true if the actor has been stopped, false otherwise
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Retrieves the number of messages waiting in the mailbox.
+     *
+     * @return the number of waiting messages
+     */
+    public int getMailboxSize() {
+        return mailboxSize.get();
+    }
+
+    private RuntimeException offer(Envelope<M, R> envelope) {
+        if (stopped) {
+            return new ActorStoppedException();
+        }
+        if (mailboxSize.incrementAndGet() > mailboxCapacity) {
+            mailboxSize.decrementAndGet();
+            return new MailboxFullException();
+        }
+        mailbox.add(envelope);
+        return schedule() ? null : new ActorStoppedException();
+    }
+
+    /**
+     * Hands the actor to the ExecutionMachine unless it is already scheduled.
+     *
+     * @return false if the ExecutionMachine refused the actor, which has been stopped
+     */
+    private boolean schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return true;
+        }
+        return submit();
+    }
+
+    /**
+     * Hands the actor to the ExecutionMachine. The caller holds the scheduled flag.
+     *
+     * @return false if the ExecutionMachine refused the actor, which has been stopped
+     */
+    private boolean submit() {
+        try {
+            executionMachine.execute(new Promise<>(this::run), executionSettings);
+            return true;
+        } catch (NoExecutionThreadAvailableException e) {
+            // Every thread is busy, so the messages wait until one is returned.
+            submitLater(RETRY_MILLIS);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.error("{} refused to schedule {}", executionMachine, actor, e);
+            stopped = true;
+            // Cleared first, so a message added during the drain is seen by it or schedules again.
+            scheduled.set(false);
+            drainMailbox();
+            return false;
+        }
+    }
+
+    /** Hands the actor to the ExecutionMachine from a virtual thread, after the given pause. */
+    private void submitLater(long delayMillis) {
+        Thread.ofVirtual()
+                .name("ActorSchedule")
+                .start(
+                        () -> {
+                            if (delayMillis > 0) {
+                                try {
+                                    Thread.sleep(delayMillis);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+                            submit();
+                        });
+    }
+
+    /** Drops the messages in the mailbox and fails their requests. */
+    private void drainMailbox() {
+        Envelope<M, R> envelope;
+        while ((envelope = mailbox.poll()) != null) {
+            mailboxSize.decrementAndGet();
+            if (envelope.reply != null) {
+                envelope.fail(new ActorStoppedException());
+            }
+        }
+    }
+
+    private Void run() {
+        for (int i = 0; i < throughput; i++) {
+            Envelope<M, R> envelope = mailbox.poll();
+            if (envelope == null) {
+                break;
+            }
+            mailboxSize.decrementAndGet();
+            handle(envelope);
+        }
+        if (mailbox.isEmpty()) {
+            scheduled.set(false);
+            // A message may have arrived after the last poll but before the flag was cleared.
+            if (mailbox.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return null;
+            }
+        }
+        // Scheduling from this thread would hold it while waiting for another one.
+        submitLater(0);
+        return null;
+    }
+
+    private void handle(Envelope<M, R> envelope) {
+        try {
+            envelope.value = actor.receive(envelope.message);
+        } catch (RuntimeException e) {
+            if (envelope.reply == null) {
+                LOGGER.error("{} failed to handle a message", actor, e);
+                return;
+            }
+            envelope.failure = e;
+        }
+        if (envelope.reply != null) {
+            envelope.reply.complete();
+        }
+    }
+
+    /** A message in the mailbox, together with the Promise of its reply if it was a request. */
+    private static final class Envelope<M, R> implements Task<R> {
+        private final M message;
+        private final Promise<R> reply;
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private R value;
+        private RuntimeException failure;
+
+        private Envelope(M message, boolean request) {
+            this.message = message;
+            this.reply = request ? new Promise<>(this) : null;
+        }
+
+        /** Fails the request, unless it has been failed already. */
+        private void fail(RuntimeException failure) {
+            if (failed.compareAndSet(false, true)) {
+                this.failure = failure;
+                reply.complete();
+            }
+        }
+
+        @Override
+        public R run() {
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.surajkumar.concurrency.actor;
+
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+/**
+ * The ActorSystem class creates actors that are scheduled on a shared {@link ExecutionMachine}. Any
+ * number of actors can share one machine, as an actor only occupies a thread while it has messages
+ * to handle. The system does not own the machine, so shutting the machine down is left to whoever
+ * created it.
+ *
+ * <pre>{@code
+ * ActorSystem system = new ActorSystem(new PooledExecutionMachine(new DynamicThreadPool()));
+ * ActorRef<Integer, Integer> counter = system.spawn(new Actor<>() {
+ *     private int total;
+ *
+ *     public Integer receive(Integer amount) {
+ *         return total += amount;
+ *     }
+ * });
+ * counter.tell(5);
+ * int total = counter.ask(1).get();
+ * }</pre>
+ */
+public class ActorSystem {
+    private final ExecutionMachine executionMachine;
+    private final ActorOptions defaultOptions;
+    private final ExecutionSettings executionSettings;
+
+    /**
+     * Creates an ActorSystem that schedules actors on the given machine with the default {@link
+     * ActorOptions}.
+     *
+     * @param executionMachine the machine that runs the actors
+     */
+    public ActorSystem(ExecutionMachine executionMachine) {
+        this(executionMachine, new ActorOptions());
+    }
+
+    /**
+     * Creates an ActorSystem that schedules actors on the given machine.
+     *
+     * @param executionMachine the machine that runs the actors
+     * @param defaultOptions the options of actors spawned without options of their own
+     */
+    public ActorSystem(ExecutionMachine executionMachine, ActorOptions defaultOptions) {
+        this.executionMachine = executionMachine;
+        this.defaultOptions = defaultOptions;
+        this.executionSettings = new ExecutionSettings().setName("Actor");
+    }
+
+    /**
+     * Creates an actor with the default options.
+     *
+     * @param actor the behaviour of the actor
+     * @return the handle used to send messages to the actor
+     * @param <M> the type of the messages the actor handles
+     * @param <R> the type of the replies the actor sends
+     */
+    public <M, R> ActorRef<M, R> spawn(Actor<M, R> actor) {
+        return spawn(actor, defaultOptions);
+    }
+
+    /**
+     * Creates an actor with the given options.
+     *
+     * @param actor the behaviour of the actor
+     * @param options the options of the actor
+     * @return the handle used to send messages to the actor
+     * @param <M> the type of the messages the actor handles
+     * @param <R> the type of the replies the actor sends
+     */
+    public <M, R> ActorRef<M, R> spawn(Actor<M, R> actor, ActorOptions options) {
+        return new ActorRef<>(actor, executionMachine, executionSettings, options);
+    }
+
+    /**
+     * Retrieves the machine that runs the actors.
+     *
+     * @return the execution machine
+     */
+    public ExecutionMachine getExecutionMachine() {
+        return executionMachine;
+    }
+}
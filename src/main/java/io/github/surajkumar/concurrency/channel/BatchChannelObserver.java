@@ -0,0 +1,21 @@
+package io.github.surajkumar.concurrency.channel;
+
+import java.util.List;
+
+/**
+ * The BatchChannelObserver interface defines a contract for objects that observe a Channel and
+ * receive its messages in batches rather than one at a time. It is used together with a {@link
+ * BatchingChannelObserver}, which collects the messages and decides when a batch is delivered.
+ *
+ * @param <T> The type of the message content.
+ */
+public interface BatchChannelObserver<T> {
+    /**
+     * The onMessagesReceived method is called with every batch of messages collected from a
+     * channel. Messages are in the order they were received, and a batch is never empty.
+     *
+     * @param channel The channel that received the messages.
+     * @param messages The received messages.
+     */
+    void onMessagesReceived(Channel<T> channel, List<Message<T>> messages);
+}
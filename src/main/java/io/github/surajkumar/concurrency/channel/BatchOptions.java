@@ -0,0 +1,84 @@
+package io.github.surajkumar.concurrency.channel;
+
+import java.util.function.Function;
+
+/**
+ * The BatchOptions class represents the options configuration for a {@link
+ * BatchingChannelObserver}. It specifies how large a batch may grow, how long the first message of
+ * a batch may wait before the batch is delivered, and optionally how messages are coalesced.
+ *
+ * @param <T> The type of the message content.
+ */
+public class BatchOptions<T> {
+    private int maxBatchSize = 100;
+    private long lingerMillis = 10;
+    private Function<T, ?> coalesceBy;
+
+    /**
+     * Creates BatchOptions with a maximum batch size of 100, a linger time of 10 milliseconds and
+     * no coalescing.
+     */
+    public BatchOptions() {}
+
+    /**
+     * Retrieves the maximum number of messages in a batch.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages in a batch. A batch is delivered as soon as it is full.
+     *
+     * @param maxBatchSize the maximum batch size
+     * @return the BatchOptions instance
+     */
+    public BatchOptions<T> setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Retrieves how long the first message of a batch may wait before the batch is delivered.
+     *
+     * @return the linger time in milliseconds
+     */
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * Sets how long the first message of a batch may wait before the batch is delivered. A linger
+     * time of 0 or less means batches are only delivered when full or flushed.
+     *
+     * @param lingerMillis the linger time in milliseconds
+     * @return the BatchOptions instance
+     */
+    public BatchOptions<T> setLingerMillis(long lingerMillis) {
+        this.lingerMillis = lingerMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves the function that extracts the coalescing key from message content.
+     *
+     * @return the key function, or null if coalescing is disabled
+     */
+    public Function<T, ?> getCoalesceBy() {
+        return coalesceBy;
+    }
+
+    /**
+     * Enables coalescing. Within a batch only the latest message for each key is delivered, in the
+     * position of the first message that had that key.
+     *
+     * @param coalesceBy the function that extracts the key from message content
+     * @return the BatchOptions instance
+     */
+    public BatchOptions<T> setCoalesceBy(Function<T, ?> coalesceBy) {
+        this.coalesceBy = coalesceBy;
+        return this;
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.surajkumar.concurrency.channel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The BatchingChannelObserver class is a {@link ChannelObserver} that collects the messages it
+ * receives and hands them to a {@link BatchChannelObserver} in batches. This lets observers that
+ * write to disks or sockets pay the cost of a write once per batch instead of once per message.
+ *
+ * <p>A batch is delivered when it reaches the maximum batch size, on the sending thread, or when
+ * its first message has waited for the linger time, on a virtual thread owned by this observer.
+ * Batches are delivered one at a time and in order, and never while the observer's lock is held, so
+ * a slow batch does not block senders that are only adding to the next one: if a batch is ready
+ * while another is being delivered, the delivering thread delivers it as well. When coalescing is
+ * enabled, a message replaces any earlier message with the same key in the pending batch.
+ *
+ * <pre>{@code
+ * channel.register(new BatchingChannelObserver<>(writer, new BatchOptions<String>()
+ *         .setMaxBatchSize(500)
+ *         .setLingerMillis(5)));
+ * }</pre>
+ *
+ * @param <T> The type of the message content.
+ */
+public class BatchingChannelObserver<T> implements ChannelObserver<T> {
+    private static final Logger LOGGER = LogManager.getLogger(BatchingChannelObserver.class);
+    private final BatchChannelObserver<T> observer;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Function<T, ?> coalesceBy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchStarted = lock.newCondition();
+    private final Map<Object, Message<T>> coalesced = new LinkedHashMap<>();
+    private final Deque<Batch<T>> outbox = new ArrayDeque<>();
+    private List<Message<T>> pending = new ArrayList<>();
+    private Channel<T> channel;
+    private long batchStart;
+    private boolean closed;
+    private boolean delivering;
+
+    /**
+     * Creates a BatchingChannelObserver that delivers batches to the given observer using the given
+     * options.
+     *
+     * @param observer the observer that receives the batches
+     * @param options the options that control batching
+     */
+    public BatchingChannelObserver(BatchChannelObserver<T> observer, BatchOptions<T> options) {
+        this.observer = observer;
+        this.maxBatchSize = Math.max(1, options.getMaxBatchSize());
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(options.getLingerMillis());
+        this.coalesceBy = options.getCoalesceBy();
+        if (lingerNanos > 0) {
+            Thread.ofVirtual().name("BatchingChannelObserver").start(this::lingerLoop);
+        }
+    }
+
+    @Override
+    public void onMessageReceived(Channel<T> channel, Message<T> message) {
+        lock.lock();
+        try {
+            if (closed) {
+                LOGGER.warn("{} is closed, dropping message", this);
+                return;
+            }
+            if (this.channel != channel && size() > 0) {
+                seal();
+            }
+            this.channel = channel;
+            if (size() == 0) {
+                batchStart = System.nanoTime();
+                batchStarted.signal();
+            }
+            if (coalesceBy != null) {
+                coalesced.put(coalesceBy.apply(message.getContent()), message);
+            } else {
+                pending.add(message);
+            }
+            if (size() >= maxBatchSize) {
+                seal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    /**
+     * Delivers the pending batch immediately, if there is one. If another thread is delivering a
+     * batch at the time, that thread delivers this one after it.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            seal();
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    /**
+     * Delivers the pending batch and stops collecting messages. Messages received afterwards are
+     * dropped. If the observer has already been closed, calling this method has no effect.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            seal();
+            closed = true;
+            batchStarted.signal();
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void lingerLoop() {
+        lock.lock();
+        try {
+            while (!closed) {
+                if (size() == 0) {
+                    batchStarted.await();
+                    continue;
+                }
+                long remaining = batchStart + lingerNanos - System.nanoTime();
+                if (remaining > 0) {
+                    batchStarted.awaitNanos(remaining);
+                    continue;
+                }
+                seal();
+                lock.unlock();
+                try {
+                    drain();
+                } finally {
+                    lock.lock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        return coalesceBy != null ? coalesced.size() : pending.size();
+    }
+
+    /** Moves the pending messages into the outbox as a batch. Must be called holding the lock. */
+    private void seal() {
+        if (size() == 0) {
+            return;
+        }
+        List<Message<T>> messages;
+        if (coalesceBy != null) {
+            messages = new ArrayList<>(coalesced.values());
+            coalesced.clear();
+        } else {
+            messages = pending;
+            pending = new ArrayList<>(maxBatchSize);
+        }
+        outbox.add(new Batch<>(channel, messages));
+    }
+
+    /**
+     * Delivers the batches in the outbox without holding the lock, unless another thread is already
+     * delivering them.
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            if (delivering || outbox.isEmpty()) {
+                return;
+            }
+            delivering = true;
+        } finally {
+            lock.unlock();
+        }
+        for (; ; ) {
+            Batch<T> batch;
+            lock.lock();
+            try {
+                batch = outbox.poll();
+                if (batch == null) {
+                    delivering = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                observer.onMessagesReceived(batch.channel(), batch.messages());
+            } catch (RuntimeException e) {
+                LOGGER.error(
+                        "{} failed to handle a batch of {} messages",
+                        observer,
+                        batch.messages().size(),
+                        e);
+            }
+        }
+    }
+
+    /** A batch that is ready to be delivered, together with the channel it came from. */
+    private record Batch<T>(Channel<T> channel, List<Message<T>> messages) {}
+}
@@ -0,0 +1,468 @@
+package io.github.surajkumar.concurrency.channel;
+
+import io.github.surajkumar.concurrency.exceptions.ChannelClosedException;
+import io.github.surajkumar.concurrency.metrics.ChannelMetrics;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The BoundedChannel class represents a buffered channel in the style of a Go channel. Unlike
+ * {@link Channel}, which pushes every message to its observers, a BoundedChannel is pulled from:
+ * producers {@link #send(Object)} values into a fixed size buffer and consumers {@link #receive()}
+ * them. A full buffer blocks producers and an empty buffer blocks consumers, which gives
+ * producer/consumer pipelines natural backpressure.
+ *
+ * <p>The buffer is lock-free. Blocked threads park with {@link LockSupport}, so they never pin the
+ * carrier thread of a virtual thread.
+ *
+ * <p>Once {@link #close() closed}, a channel rejects new values but still hands out the values it
+ * has buffered. Receiving from a closed and drained channel throws a {@link
+ * ChannelClosedException}.
+ *
+ * @param <T> The type of the values passed through the channel.
+ */
+public class BoundedChannel<T> {
+    private final RingBuffer<T> buffer;
+    private final Queue<Waiter> receivers = new ConcurrentLinkedQueue<>();
+    private final Queue<Waiter> senders = new ConcurrentLinkedQueue<>();
+    private final ChannelMetrics metrics = new ChannelMetrics();
+    private final AtomicInteger sending = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a BoundedChannel that buffers at most {@code capacity} values.
+     *
+     * @param capacity the maximum number of buffered values
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+    public BoundedChannel(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.buffer = new RingBuffer<>(capacity);
+    }
+
+    /**
+     * Sends a value, waiting for space in the buffer if it is full.
+     *
+     * @param value the value to send
+     * @throws ChannelClosedException if the channel is closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void send(T value) throws InterruptedException {
+        send(value, false, 0);
+    }
+
+    /**
+     * Sends a value, waiting up to the given timeout for space in the buffer if it is full.
+     *
+     * @param value the value to send
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the value was sent, false if the timeout elapsed first
+     * @throws ChannelClosedException if the channel is closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean send(T value, long timeout, TimeUnit unit) throws InterruptedException {
+        return send(value, true, unit.toNanos(timeout));
+    }
+
+    /**
+     * Sends a value only if there is space in the buffer.
+     *
+     * @param value the value to send
+     * @return true if the value was sent, false if the buffer is full
+     * @throws ChannelClosedException if the channel is closed
+     */
+    public boolean trySend(T value) {
+        Objects.requireNonNull(value, "value");
+        return offerIfOpen(value);
+    }
+
+    /**
+     * Receives a value, waiting for one to be sent if the buffer is empty.
+     *
+     * @return the received value
+     * @throws ChannelClosedException if the channel is closed and drained
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T receive() throws InterruptedException {
+        return receive(false, 0);
+    }
+
+    /**
+     * Receives a value, waiting up to the given timeout for one to be sent if the buffer is empty.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return the received value, or null if the timeout elapsed first
+     * @throws ChannelClosedException if the channel is closed and drained
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T receive(long timeout, TimeUnit unit) throws InterruptedException {
+        return receive(true, unit.toNanos(timeout));
+    }
+
+    /**
+     * Receives a value only if one is buffered.
+     *
+     * @return the received value, or null if the buffer is empty
+     */
+    public T tryReceive() {
+        return poll();
+    }
+
+    /**
+     * Creates a Promise that receives the next value from this channel. The promise is run like any
+     * other promise, using an {@link io.github.surajkumar.concurrency.Executor}, and rejects with a
+     * {@link ChannelClosedException} if the channel is closed and drained.
+     *
+     * @return a Promise of the next value
+     */
+    public Promise<T> receiveAsync() {
+        return new Promise<>(
+                () -> {
+                    try {
+                        return receive();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while receiving", e);
+                    }
+                });
+    }
+
+    /**
+     * Closes the channel. Further sends are rejected and blocked senders are woken with a {@link
+     * ChannelClosedException}. Values that are already buffered can still be received. If the
+     * channel has already been closed, calling this method has no effect.
+     */
+    public void close() {
+        closed = true;
+        signalAll(senders);
+        signalAll(receivers);
+    }
+
+    /**
+     * Checks if the channel has been closed.
+     *
+     * @return true if the channel has been closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Checks if the channel has been closed and all of its buffered values have been received.
+     *
+     * @return true if the channel is closed and empty, false otherwise
+     */
+    public boolean isDrained() {
+        return closed && sending.get() == 0 && buffer.size() == 0;
+    }
+
+    /**
+     * Retrieves the number of values currently buffered.
+     *
+     * @return the number of buffered values
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Retrieves the maximum number of values the channel can buffer.
+     *
+     * @return the capacity of the channel
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Retrieves the metrics of the channel.
+     *
+     * @return the metrics of the channel
+     */
+    public ChannelMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Receives a value from whichever of the given channels has one first, waiting if all of them
+     * are empty. When several channels have values, one is chosen at random so that no channel is
+     * starved.
+     *
+     * @param <T> the type of the values passed through the channels
+     * @param channels the channels to receive from
+     * @return the received value and the channel it came from
+     * @throws ChannelClosedException if all of the channels are closed and drained
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @SafeVarargs
+    public static <T> Selection<T> select(BoundedChannel<? extends T>... channels)
+            throws InterruptedException {
+        return select(false, 0, channels);
+    }
+
+    /**
+     * Receives a value from whichever of the given channels has one first, waiting up to the given
+     * timeout if all of them are empty.
+     *
+     * @param <T> the type of the values passed through the channels
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @param channels the channels to receive from
+     * @return the received value and the channel it came from, or null if the timeout elapsed
+     * @throws ChannelClosedException if all of the channels are closed and drained
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @SafeVarargs
+    public static <T> Selection<T> select(
+            long timeout, TimeUnit unit, BoundedChannel<? extends T>... channels)
+            throws InterruptedException {
+        return select(true, unit.toNanos(timeout), channels);
+    }
+
+    private boolean send(T value, boolean timed, long nanos) throws InterruptedException {
+        Objects.requireNonNull(value, "value");
+        long deadline = timed ? System.nanoTime() + nanos : 0;
+        for (; ; ) {
+            if (offerIfOpen(value)) {
+                return true;
+            }
+            Waiter waiter = new Waiter();
+            senders.add(waiter);
+            if (closed || buffer.size() < buffer.capacity()) {
+                cancel(waiter, senders);
+                continue;
+            }
+            if (!waiter.await(timed, deadline)) {
+                senders.remove(waiter);
+                return false;
+            }
+        }
+    }
+
+    private T receive(boolean timed, long nanos) throws InterruptedException {
+        long deadline = timed ? System.nanoTime() + nanos : 0;
+        for (; ; ) {
+            T value = poll();
+            if (value != null) {
+                return value;
+            }
+            if (closed) {
+                // A send that saw the channel open may still be publishing its value.
+                while ((value = poll()) == null && !isDrained()) {
+                    Thread.onSpinWait();
+                }
+                if (value == null) {
+                    throw new ChannelClosedException();
+                }
+                return value;
+            }
+            Waiter waiter = new Waiter();
+            receivers.add(waiter);
+            if (closed || buffer.size() > 0) {
+                cancel(waiter, receivers);
+                continue;
+            }
+            if (!waiter.await(timed, deadline)) {
+                receivers.remove(waiter);
+                return null;
+            }
+        }
+    }
+
+    @SafeVarargs
+    private static <T> Selection<T> select(
+            boolean timed, long nanos, BoundedChannel<? extends T>... channels)
+            throws InterruptedException {
+        if (channels.length == 0) {
+            throw new IllegalArgumentException("At least one channel is required");
+        }
+        long deadline = timed ? System.nanoTime() + nanos : 0;
+        for (; ; ) {
+            Selection<T> selection = trySelect(channels);
+            if (selection != null) {
+                return selection;
+            }
+            if (allDrained(channels)) {
+                throw new ChannelClosedException();
+            }
+            Waiter waiter = new Waiter();
+            for (BoundedChannel<? extends T> channel : channels) {
+                channel.receivers.add(waiter);
+            }
+            boolean ready = false;
+            for (BoundedChannel<? extends T> channel : channels) {
+                if (channel.closed || channel.buffer.size() > 0) {
+                    ready = true;
+                    break;
+                }
+            }
+            boolean signalled = ready || waiter.await(timed, deadline);
+            if (ready) {
+                waiter.cancel();
+            }
+            for (BoundedChannel<? extends T> channel : channels) {
+                channel.receivers.remove(waiter);
+            }
+            if (!signalled) {
+                return null;
+            }
+        }
+    }
+
+    private static <T> Selection<T> trySelect(BoundedChannel<? extends T>[] channels) {
+        int start = ThreadLocalRandom.current().nextInt(channels.length);
+        for (int i = 0; i < channels.length; i++) {
+            BoundedChannel<? extends T> channel = channels[(start + i) % channels.length];
+            T value = channel.poll();
+            if (value != null) {
+                passOnWakeups(channels, channel);
+                return new Selection<>(channel, value);
+            }
+        }
+        return null;
+    }
+
+    private static void passOnWakeups(BoundedChannel<?>[] channels, BoundedChannel<?> chosen) {
+        // A selecting thread may have consumed a wakeup from a channel it did not receive from.
+        for (BoundedChannel<?> channel : channels) {
+            if (channel != chosen && channel.buffer.size() > 0) {
+                signal(channel.receivers);
+            }
+        }
+    }
+
+    private static boolean allDrained(BoundedChannel<?>[] channels) {
+        for (BoundedChannel<?> channel : channels) {
+            if (!channel.isDrained()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean offerIfOpen(T value) {
+        // Counted before the closed check, so a closed channel only reports itself drained once
+        // every send that saw it open has published its value.
+        sending.incrementAndGet();
+        try {
+            if (closed) {
+                throw new ChannelClosedException();
+            }
+            return offer(value);
+        } finally {
+            sending.decrementAndGet();
+        }
+    }
+
+    private boolean offer(T value) {
+        if (!buffer.offer(value)) {
+            return false;
+        }
+        metrics.incrementSentMessages();
+        signal(receivers);
+        if (buffer.size() < buffer.capacity()) {
+            signal(senders);
+        }
+        return true;
+    }
+
+    private T poll() {
+        T value = buffer.poll();
+        if (value == null) {
+            return null;
+        }
+        metrics.incrementReceivedMessages();
+        signal(senders);
+        if (buffer.size() > 0) {
+            signal(receivers);
+        }
+        return value;
+    }
+
+    private void cancel(Waiter waiter, Queue<Waiter> waiters) {
+        waiters.remove(waiter);
+        if (!waiter.cancel()) {
+            // The wakeup was meant for a waiter that no longer needs it, so pass it on.
+            signal(waiters);
+        }
+    }
+
+    private static void signal(Queue<Waiter> waiters) {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.signal()) {
+                return;
+            }
+        }
+    }
+
+    private static void signalAll(Queue<Waiter> waiters) {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.signal();
+        }
+    }
+
+    /**
+     * The Selection record represents the result of a {@link #select(BoundedChannel[])}.
+     *
+     * @param channel the channel the value was received from
+     * @param value the received value
+     * @param <T> the type of the received value
+     */
+    public record Selection<T>(BoundedChannel<? extends T> channel, T value) {}
+
+    /** A thread parked on one or more channels until it is signalled, cancelled or times out. */
+    private static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean signalled;
+
+        boolean signal() {
+            if (done.compareAndSet(false, true)) {
+                signalled = true;
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+
+        boolean await(boolean timed, long deadline) throws InterruptedException {
+            while (!signalled) {
+                if (Thread.interrupted()) {
+                    if (cancel()) {
+                        throw new InterruptedException();
+                    }
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return !cancel();
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.surajkumar.concurrency.channel;
 
 import io.github.surajkumar.concurrency.metrics.ChannelMetrics;
+import io.github.surajkumar.concurrency.tracing.ChannelDeliveryEvent;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,11 +26,12 @@ public class Channel<T> {
      */
     public void sendMessage(Message<T> message) {
         metrics.incrementSentMessages();
+        Tracing.channelSend(this, message.getContent());
         synchronized (observers) {
             observers.forEach(
                     observer -> {
                         if (message.getSender() != observer) {
-                            observer.onMessageReceived(this, message);
+                            deliver(observer, message);
                         }
                     });
         }
@@ -41,16 +44,23 @@ public class Channel<T> {
      * @param recipient The recipient observer to receive the message.
      */
     public void sendMessage(Message<T> message, ChannelObserver<T> recipient) {
+        Tracing.channelSend(this, message.getContent());
         synchronized (observers) {
             for (ChannelObserver<T> observer : observers) {
                 if (observer == recipient) {
-                    observer.onMessageReceived(this, message);
+                    deliver(observer, message);
                     break;
                 }
             }
         }
     }
 
+    private void deliver(ChannelObserver<T> observer, Message<T> message) {
+        ChannelDeliveryEvent event = Tracing.deliveryStarted();
+        observer.onMessageReceived(this, message);
+        Tracing.deliveryEnded(event, this, observer);
+    }
+
     /**
      * Registers a {@link ChannelObserver} to receive messages from the channel.
      *
@@ -74,4 +84,13 @@ public class Channel<T> {
             metrics.decrementObserverCount();
         }
     }
+
+    /**
+     * Retrieves the metrics of the channel.
+     *
+     * @return the metrics of the channel
+     */
+    public ChannelMetrics getMetrics() {
+        return metrics;
+    }
 }
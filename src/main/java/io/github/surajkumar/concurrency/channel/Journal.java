@@ -0,0 +1,248 @@
+package io.github.surajkumar.concurrency.channel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The Journal class is an append-only log of records stored in memory-mapped segment files. Every
+ * record is assigned an offset, starting at 0 and increasing by one per record. A segment file is
+ * named after the offset of its first record, so records can be found again after a restart.
+ *
+ * <p>Each record is stored as its size, a CRC32C checksum and the payload. On startup the last
+ * segment is scanned to find the end of the log, and a record that was only partly written when the
+ * process stopped is discarded.
+ *
+ * <p>This class is not thread-safe, callers must serialize access to it.
+ */
+final class Journal implements Closeable {
+    private static final Logger LOGGER = LogManager.getLogger(Journal.class);
+    private static final String SUFFIX = ".segment";
+    private static final int HEADER_SIZE = 8;
+    private final Path directory;
+    private final JournalOptions options;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final CRC32C crc = new CRC32C();
+    private FileChannel activeChannel;
+    private MappedByteBuffer active;
+    private long nextOffset;
+
+    /**
+     * Opens the journal stored in the given directory, creating it if it does not exist.
+     *
+     * @param directory the directory that holds the segment files
+     * @param options the options of the journal
+     * @throws IOException if the journal cannot be opened
+     */
+    Journal(Path directory, JournalOptions options) throws IOException {
+        this.directory = directory;
+        this.options = options;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> segments.put(baseOffset(file), file));
+        }
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            recover(segments.lastKey());
+        }
+    }
+
+    /**
+     * Appends a record to the journal, starting a new segment if the active one is full.
+     *
+     * @param payload the payload of the record
+     * @return the offset of the record
+     * @throws IOException if the record cannot be written
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     */
+    long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > options.getSegmentSize()) {
+            throw new IllegalArgumentException(
+                    "Record of " + payload.length + " bytes does not fit in a segment");
+        }
+        if (active.remaining() < recordSize) {
+            roll();
+        }
+        crc.reset();
+        crc.update(payload);
+        int position = active.position();
+        active.position(position + 4);
+        active.putInt((int) crc.getValue());
+        active.put(payload);
+        // The size is written last so a partly written record is never seen as complete.
+        active.putInt(position, recordSize);
+        if (options.isForceOnWrite()) {
+            active.force(position, recordSize);
+        }
+        return nextOffset++;
+    }
+
+    /**
+     * Reads every record from the given offset onwards. If older records have already been deleted
+     * by the retention policy, reading starts at the oldest record still kept.
+     *
+     * @param fromOffset the offset of the first record to read
+     * @param handler the handler that receives each payload and its offset
+     * @throws IOException if a segment cannot be read
+     */
+    void read(long fromOffset, ObjLongConsumer<byte[]> handler) throws IOException {
+        Long first = segments.floorKey(fromOffset);
+        if (first == null) {
+            LOGGER.warn(
+                    "Offset {} has been deleted, reading from {}", fromOffset, getFirstOffset());
+            first = segments.firstKey();
+        }
+        for (Map.Entry<Long, Path> segment : segments.tailMap(first, true).entrySet()) {
+            long offset = segment.getKey();
+            MappedByteBuffer buffer = map(segment.getValue(), FileChannel.MapMode.READ_ONLY);
+            int length;
+            while (offset < nextOffset && (length = nextRecordLength(buffer)) >= 0) {
+                buffer.getInt();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                if (offset >= fromOffset) {
+                    handler.accept(payload, offset);
+                }
+                offset++;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the offset that the next appended record will get.
+     *
+     * @return the next offset
+     */
+    long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Retrieves the offset of the oldest record still kept.
+     *
+     * @return the first offset
+     */
+    long getFirstOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * Forces every record written so far to the storage device.
+     *
+     * @throws IOException if the records cannot be forced
+     */
+    void force() throws IOException {
+        active.force();
+        activeChannel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        active.force();
+        activeChannel.close();
+    }
+
+    private void roll() throws IOException {
+        force();
+        activeChannel.close();
+        openSegment(nextOffset);
+        applyRetention();
+    }
+
+    private void openSegment(long baseOffset) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+        activeChannel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        long size = Math.max(activeChannel.size(), options.getSegmentSize());
+        active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segments.put(baseOffset, file);
+        nextOffset = baseOffset;
+    }
+
+    private void recover(long baseOffset) throws IOException {
+        openSegment(baseOffset);
+        int length;
+        while ((length = nextRecordLength(active)) >= 0) {
+            int checksum = active.getInt();
+            byte[] payload = new byte[length];
+            active.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                LOGGER.warn("Discarding corrupt record at offset {}", nextOffset);
+                active.position(active.position() - HEADER_SIZE - length);
+                break;
+            }
+            nextOffset++;
+        }
+        // Clear whatever follows the last good record so it is not mistaken for a record later.
+        if (active.remaining() >= 4) {
+            active.putInt(active.position(), 0);
+        }
+    }
+
+    private void applyRetention() throws IOException {
+        while (options.getMaxSegments() > 0 && segments.size() > options.getMaxSegments()) {
+            delete(segments.firstKey());
+        }
+        if (options.getRetentionMillis() > 0) {
+            long cutoff = System.currentTimeMillis() - options.getRetentionMillis();
+            while (segments.size() > 1) {
+                FileTime modified = Files.getLastModifiedTime(segments.firstEntry().getValue());
+                if (modified.toMillis() >= cutoff) {
+                    break;
+                }
+                delete(segments.firstKey());
+            }
+        }
+    }
+
+    private void delete(long baseOffset) throws IOException {
+        Path file = segments.remove(baseOffset);
+        Files.deleteIfExists(file);
+        LOGGER.debug("Deleted journal segment {}", file);
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    private static int nextRecordLength(MappedByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return -1;
+        }
+        int recordSize = buffer.getInt(buffer.position());
+        if (recordSize < HEADER_SIZE || recordSize > buffer.remaining()) {
+            return -1;
+        }
+        buffer.position(buffer.position() + 4);
+        return recordSize - HEADER_SIZE;
+    }
+
+    private static long baseOffset(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.surajkumar.concurrency.channel;
+
+/**
+ * The JournalOptions class represents the options configuration for the journal of a {@link
+ * PersistentChannel}. It specifies the size of each segment file, whether every write is forced to
+ * the storage device, and the retention policy that decides when old segments are deleted.
+ */
+public class JournalOptions {
+    private int segmentSize = 64 * 1024 * 1024;
+    private boolean forceOnWrite;
+    private int maxSegments;
+    private long retentionMillis;
+
+    /**
+     * Creates JournalOptions with 64 MiB segments, no forced writes and no retention limits, so
+     * segments are kept until they are deleted by hand.
+     */
+    public JournalOptions() {}
+
+    /**
+     * Retrieves the size of each segment file.
+     *
+     * @return the segment size in bytes
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the size of each segment file. A message must fit in a single segment.
+     *
+     * @param segmentSize the segment size in bytes
+     * @return the JournalOptions instance
+     */
+    public JournalOptions setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    /**
+     * Retrieves whether every write is forced to the storage device.
+     *
+     * @return true if every write is forced, false otherwise
+     */
+    public boolean isForceOnWrite() {
+        return forceOnWrite;
+    }
+
+    /**
+     * Sets whether every write is forced to the storage device. Without it, journaled messages
+     * survive a process crash but may be lost if the machine itself fails.
+     *
+     * @param forceOnWrite true to force every write, false otherwise
+     * @return the JournalOptions instance
+     */
+    public JournalOptions setForceOnWrite(boolean forceOnWrite) {
+        this.forceOnWrite = forceOnWrite;
+        return this;
+    }
+
+    /**
+     * Retrieves the maximum number of segments kept.
+     *
+     * @return the maximum number of segments, or 0 if unlimited
+     */
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    /**
+     * Sets the maximum number of segments kept. When a new segment is started, the oldest segments
+     * beyond this number are deleted.
+     *
+     * @param maxSegments the maximum number of segments, or 0 for unlimited
+     * @return the JournalOptions instance
+     */
+    public JournalOptions setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+        return this;
+    }
+
+    /**
+     * Retrieves how long a full segment is kept.
+     *
+     * @return the retention time in milliseconds, or 0 if unlimited
+     */
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    /**
+     * Sets how long a full segment is kept. When a new segment is started, full segments that were
+     * last written to longer ago than this are deleted.
+     *
+     * @param retentionMillis the retention time in milliseconds, or 0 for unlimited
+     * @return the JournalOptions instance
+     */
+    public JournalOptions setRetentionMillis(long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+        return this;
+    }
+}
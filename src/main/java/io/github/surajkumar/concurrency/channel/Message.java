@@ -8,10 +8,12 @@ package io.github.surajkumar.concurrency.channel;
 public class Message<T> {
     private final T content;
     private final ChannelObserver<T> sender;
+    private final long offset;
 
-    private Message(T content, ChannelObserver<T> sender) {
+    private Message(T content, ChannelObserver<T> sender, long offset) {
         this.content = content;
         this.sender = sender;
+        this.offset = offset;
     }
 
     /**
@@ -32,6 +34,27 @@ public class Message<T> {
         return sender;
     }
 
+    /**
+     * Retrieves the offset of the message in the journal of a {@link PersistentChannel}. Observers
+     * can store the offset of the last message they handled and resume from the next one.
+     *
+     * @return The offset of the message, or -1 if the message has not been journaled.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Creates a copy of the message that carries the given offset in the journal of a {@link
+     * PersistentChannel}.
+     *
+     * @param offset The offset of the message.
+     * @return The journaled message.
+     */
+    Message<T> withOffset(long offset) {
+        return new Message<>(content, sender, offset);
+    }
+
     /**
      * Creates a new message with the given content and sender.
      *
@@ -41,6 +64,6 @@ public class Message<T> {
      * @return The newly created message.
      */
     public static <U> Message<U> createMessage(U content, ChannelObserver<U> sender) {
-        return new Message<>(content, sender);
+        return new Message<>(content, sender, -1);
     }
 }
@@ -0,0 +1,25 @@
+package io.github.surajkumar.concurrency.channel;
+
+/**
+ * The MessageCodec interface converts message content to and from bytes so that a {@link
+ * PersistentChannel} can write it to its journal.
+ *
+ * @param <T> The type of the message content.
+ */
+public interface MessageCodec<T> {
+    /**
+     * Converts message content to bytes.
+     *
+     * @param content The content of the message.
+     * @return The encoded content.
+     */
+    byte[] encode(T content);
+
+    /**
+     * Converts bytes written by {@link #encode(Object)} back to message content.
+     *
+     * @param bytes The encoded content.
+     * @return The decoded content.
+     */
+    T decode(byte[] bytes);
+}
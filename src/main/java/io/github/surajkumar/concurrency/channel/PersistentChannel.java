@@ -0,0 +1,177 @@
+package io.github.surajkumar.concurrency.channel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * The PersistentChannel class is a {@link Channel} that writes every message to a journal on disk
+ * before delivering it to its observers, so that messages survive a restart of the process.
+ *
+ * <p>The journal is a set of memory-mapped segment files, so a send costs little more than a memory
+ * copy. Message content is converted to bytes by a {@link MessageCodec}. Every journaled message
+ * gets an offset, available from {@link Message#getOffset()}, and an observer that stored the
+ * offset of the last message it handled can {@link #register(ChannelObserver, long) resume} from
+ * the next one. Old segments are deleted according to the {@link JournalOptions}.
+ *
+ * <p>Senders are not journaled, so replayed messages have no sender. Messages sent to a single
+ * recipient are not journaled either, because the recipient cannot be stored: they are delivered
+ * like on a plain {@link Channel}, are never replayed and have no offset.
+ *
+ * @param <T> The type of the message content.
+ */
+public class PersistentChannel<T> extends Channel<T> implements AutoCloseable {
+    private final Journal journal;
+    private final MessageCodec<T> codec;
+
+    /**
+     * Opens a PersistentChannel with a journal in the given directory and default options.
+     *
+     * @param directory the directory that holds the journal
+     * @param codec the codec that converts message content to and from bytes
+     * @throws IOException if the journal cannot be opened
+     */
+    public PersistentChannel(Path directory, MessageCodec<T> codec) throws IOException {
+        this(directory, codec, new JournalOptions());
+    }
+
+    /**
+     * Opens a PersistentChannel with a journal in the given directory and the given options.
+     *
+     * @param directory the directory that holds the journal
+     * @param codec the codec that converts message content to and from bytes
+     * @param options the options of the journal
+     * @throws IOException if the journal cannot be opened
+     */
+    public PersistentChannel(Path directory, MessageCodec<T> codec, JournalOptions options)
+            throws IOException {
+        this.journal = new Journal(directory, options);
+        this.codec = codec;
+    }
+
+    /**
+     * Writes the message to the journal and then sends it to all registered observers of the
+     * channel. The observers receive a copy of the message that carries its offset.
+     *
+     * @param message The message to be sent.
+     * @throws UncheckedIOException if the message cannot be written to the journal
+     */
+    @Override
+    public void sendMessage(Message<T> message) {
+        synchronized (journal) {
+            super.sendMessage(append(message));
+        }
+    }
+
+    /**
+     * Sends the message to the specified recipient observer without writing it to the journal, so
+     * that it is never replayed to other observers.
+     *
+     * @param message The message to be sent.
+     * @param recipient The recipient observer to receive the message.
+     */
+    @Override
+    public void sendMessage(Message<T> message, ChannelObserver<T> recipient) {
+        synchronized (journal) {
+            super.sendMessage(message, recipient);
+        }
+    }
+
+    /**
+     * Registers a {@link ChannelObserver} after replaying every journaled message from the given
+     * offset to it. No message is missed or delivered twice between the replay and the live
+     * messages that follow it.
+     *
+     * @param channelObserver The observer to be registered.
+     * @param fromOffset The offset of the first message to replay.
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public void register(ChannelObserver<T> channelObserver, long fromOffset) {
+        synchronized (journal) {
+            replay(channelObserver, fromOffset);
+            register(channelObserver);
+        }
+    }
+
+    /**
+     * Delivers every journaled message from the given offset to the given observer, without
+     * registering it.
+     *
+     * @param channelObserver The observer that receives the messages.
+     * @param fromOffset The offset of the first message to replay.
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public void replay(ChannelObserver<T> channelObserver, long fromOffset) {
+        synchronized (journal) {
+            try {
+                journal.read(
+                        fromOffset,
+                        (payload, offset) -> {
+                            Message<T> message =
+                                    Message.createMessage(codec.decode(payload), null)
+                                            .withOffset(offset);
+                            channelObserver.onMessageReceived(this, message);
+                        });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the offset that the next message sent will get.
+     *
+     * @return the next offset
+     */
+    public long getNextOffset() {
+        synchronized (journal) {
+            return journal.getNextOffset();
+        }
+    }
+
+    /**
+     * Retrieves the offset of the oldest message still kept in the journal.
+     *
+     * @return the first offset
+     */
+    public long getFirstOffset() {
+        synchronized (journal) {
+            return journal.getFirstOffset();
+        }
+    }
+
+    /**
+     * Forces every message journaled so far to the storage device.
+     *
+     * @throws UncheckedIOException if the journal cannot be forced
+     */
+    public void force() {
+        synchronized (journal) {
+            try {
+                journal.force();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Closes the journal. The channel must not be used afterwards.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (journal) {
+            journal.close();
+        }
+    }
+
+    private Message<T> append(Message<T> message) {
+        try {
+            return message.withOffset(journal.append(codec.encode(message.getContent())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.surajkumar.concurrency.channel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The RingBuffer class is a bounded, lock-free, multi-producer multi-consumer queue. Every slot
+ * carries a sequence number that tells producers and consumers whether the slot is free to write or
+ * ready to read, so neither side ever takes a lock.
+ *
+ * @param <T> The type of the buffered items.
+ */
+final class RingBuffer<T> {
+    private final int capacity;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a RingBuffer that holds at most {@code capacity} items.
+     *
+     * @param capacity the maximum number of buffered items
+     */
+    RingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.setPlain(i, i);
+        }
+    }
+
+    /**
+     * Appends an item to the buffer if there is space.
+     *
+     * @param item the item to append
+     * @return true if the item was appended, false if the buffer is full
+     */
+    boolean offer(T item) {
+        long position = tail.get();
+        for (; ; ) {
+            int index = (int) (position % capacity);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.setPlain(index, item);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest item from the buffer.
+     *
+     * @return the oldest item, or null if the buffer is empty
+     */
+    T poll() {
+        long position = head.get();
+        for (; ; ) {
+            int index = (int) (position % capacity);
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = slots.getPlain(index);
+                    slots.setPlain(index, null);
+                    sequences.setRelease(index, position + capacity);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Retrieves an estimate of the number of buffered items.
+     *
+     * @return the number of buffered items
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * Retrieves the maximum number of buffered items.
+     *
+     * @return the capacity of the buffer
+     */
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.surajkumar.concurrency.channel;
+
+import io.github.surajkumar.concurrency.exceptions.ChannelClosedException;
+import io.github.surajkumar.concurrency.threads.ParkingWaitStrategy;
+import io.github.surajkumar.concurrency.threads.WaitStrategy;
+import io.github.surajkumar.concurrency.tracing.ChannelDeliveryEvent;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The RingBufferChannel class is a {@link Channel} that delivers messages through a preallocated
+ * ring of slots, in the style of the LMAX Disruptor.
+ *
+ * <p>Producers claim a sequence number, write the message into the slot for that sequence and
+ * publish it. The slots are allocated once, so the channel itself allocates no queue nodes and
+ * takes no locks per message. The messages are not pooled: {@link #publish(Object,
+ * ChannelObserver)} allocates one {@link Message} per send, because messages are immutable and
+ * observers may keep the messages they receive.
+ *
+ * <p>Every registered observer is driven by its own consumer thread, which tracks its own sequence
+ * and calls the observer for each published message in order. While there is nothing to consume, or
+ * while a producer waits for the slowest consumer to free a slot, threads idle according to the
+ * configured {@link WaitStrategy}. Consumers run on platform threads by default, because a spinning
+ * or yielding consumer would hold the carrier of a virtual thread. A different {@link
+ * ThreadFactory} can be passed in, for example a virtual thread factory for many observers that use
+ * a {@link ParkingWaitStrategy}.
+ *
+ * @param <T> The type of the message content.
+ */
+public class RingBufferChannel<T> extends Channel<T> {
+    private static final Logger LOGGER = LogManager.getLogger(RingBufferChannel.class);
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    private final int mask;
+    private final Slot<T>[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final WaitStrategy waitStrategy;
+    private final ThreadFactory threadFactory;
+    private volatile long cachedMinimumSequence = -1;
+    private volatile boolean closed;
+
+    /** Creates a RingBufferChannel with 1024 slots that parks idle threads. */
+    public RingBufferChannel() {
+        this(DEFAULT_BUFFER_SIZE, new ParkingWaitStrategy());
+    }
+
+    /**
+     * Creates a RingBufferChannel with the given number of slots and wait strategy, whose consumers
+     * run on platform threads.
+     *
+     * @param bufferSize the number of slots, which must be a power of two
+     * @param waitStrategy the strategy used by waiting producers and consumers
+     * @throws IllegalArgumentException if the buffer size is not a power of two
+     */
+    public RingBufferChannel(int bufferSize, WaitStrategy waitStrategy) {
+        this(
+                bufferSize,
+                waitStrategy,
+                Thread.ofPlatform().name("RingBufferChannelConsumer").factory());
+    }
+
+    /**
+     * Creates a RingBufferChannel with the given number of slots and wait strategy, whose consumers
+     * run on threads created by the given factory.
+     *
+     * @param bufferSize the number of slots, which must be a power of two
+     * @param waitStrategy the strategy used by waiting producers and consumers
+     * @param threadFactory the factory that creates the consumer thread of each observer
+     * @throws IllegalArgumentException if the buffer size is not a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public RingBufferChannel(
+            int bufferSize, WaitStrategy waitStrategy, ThreadFactory threadFactory) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two");
+        }
+        this.mask = bufferSize - 1;
+        this.waitStrategy = waitStrategy;
+        this.threadFactory = threadFactory;
+        this.slots = new Slot[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot<>();
+            published.setPlain(i, -1);
+        }
+    }
+
+    /**
+     * Publishes a message to all registered observers other than the sender. If a consumer is a
+     * full ring behind, this method waits for it to catch up.
+     *
+     * @param content The content of the message.
+     * @param sender The sender of the message.
+     * @throws ChannelClosedException if the channel is closed
+     */
+    public void publish(T content, ChannelObserver<T> sender) {
+        publish(Message.createMessage(content, sender), null);
+    }
+
+    @Override
+    public void sendMessage(Message<T> message) {
+        publish(message, null);
+    }
+
+    @Override
+    public void sendMessage(Message<T> message, ChannelObserver<T> recipient) {
+        publish(message, recipient);
+    }
+
+    /**
+     * Registers a {@link ChannelObserver} and starts a consumer thread for it using the thread
+     * factory of the channel. The observer receives messages published after it was registered.
+     *
+     * @param channelObserver The observer to be registered.
+     * @throws ChannelClosedException if the channel is closed
+     */
+    @Override
+    public void register(ChannelObserver<T> channelObserver) {
+        if (closed) {
+            throw new ChannelClosedException();
+        }
+        Consumer consumer = new Consumer(channelObserver, claimed.get());
+        consumers.add(consumer);
+        getMetrics().incrementObserverCount();
+        threadFactory.newThread(consumer).start();
+    }
+
+    /**
+     * Deregisters a {@link ChannelObserver} and stops its consumer thread once it has delivered
+     * every message published so far.
+     *
+     * @param channelObserver The observer to be deregistered.
+     */
+    @Override
+    public void deregister(ChannelObserver<T> channelObserver) {
+        for (Consumer consumer : consumers) {
+            if (consumer.observer == channelObserver) {
+                consumer.stop();
+                getMetrics().decrementObserverCount();
+            }
+        }
+    }
+
+    /**
+     * Closes the channel. Further publishes are rejected, and every consumer thread stops once it
+     * has delivered the messages that were already published. If the channel has already been
+     * closed, calling this method has no effect.
+     */
+    public void close() {
+        closed = true;
+        for (Consumer consumer : consumers) {
+            consumer.stop();
+        }
+    }
+
+    /**
+     * Checks if the channel has been closed.
+     *
+     * @return true if the channel has been closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Retrieves the number of slots in the ring.
+     *
+     * @return the number of slots in the ring
+     */
+    public int getBufferSize() {
+        return slots.length;
+    }
+
+    private void publish(Message<T> message, ChannelObserver<T> recipient) {
+        if (closed) {
+            throw new ChannelClosedException();
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > cachedMinimumSequence) {
+            long minimum;
+            int attempt = 0;
+            while (wrapPoint > (minimum = minimumConsumerSequence(sequence))) {
+                waitStrategy.idle(attempt++);
+            }
+            cachedMinimumSequence = minimum;
+        }
+        int index = (int) (sequence & mask);
+        Slot<T> slot = slots[index];
+        slot.message = message;
+        slot.recipient = recipient;
+        published.setRelease(index, sequence);
+        getMetrics().incrementSentMessages();
+        Tracing.channelSend(RingBufferChannel.this, message.getContent());
+    }
+
+    private long minimumConsumerSequence(long sequence) {
+        long minimum = sequence;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    /** Follows the ring on its own thread and hands each published message to one observer. */
+    private final class Consumer implements Runnable {
+        private final ChannelObserver<T> observer;
+        private final AtomicLong sequence;
+        private boolean running = true;
+        private volatile long stopSequence = Long.MAX_VALUE;
+
+        private Consumer(ChannelObserver<T> observer, long sequence) {
+            this.observer = observer;
+            this.sequence = new AtomicLong(sequence);
+        }
+
+        @Override
+        public void run() {
+            int attempt = 0;
+            long next = sequence.get() + 1;
+            while (next <= stopSequence) {
+                int index = (int) (next & mask);
+                if (published.getAcquire(index) != next) {
+                    waitStrategy.idle(attempt++);
+                    continue;
+                }
+                attempt = 0;
+                Slot<T> slot = slots[index];
+                Message<T> message = slot.message;
+                ChannelObserver<T> recipient = slot.recipient;
+                if (recipient == null ? message.getSender() != observer : recipient == observer) {
+                    ChannelDeliveryEvent event = Tracing.deliveryStarted();
+                    try {
+                        observer.onMessageReceived(RingBufferChannel.this, message);
+                        Tracing.deliveryEnded(event, RingBufferChannel.this, observer);
+                    } catch (RuntimeException e) {
+                        LOGGER.error("{} failed to handle a message", observer, e);
+                    }
+                }
+                sequence.setRelease(next);
+                next++;
+            }
+            consumers.remove(this);
+        }
+
+        private synchronized void stop() {
+            if (running) {
+                running = false;
+                stopSequence = claimed.get();
+            }
+        }
+    }
+
+    /**
+     * A preallocated entry of the ring. Its fields are written before the sequence is published and
+     * read after it is seen, so the release and acquire on the sequence make them visible.
+     */
+    private static final class Slot<T> {
+        private Message<T> message;
+        private ChannelObserver<T> recipient;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.surajkumar.concurrency.channel;
+
+import java.nio.charset.StandardCharsets;
+
+/** The StringMessageCodec class is a {@link MessageCodec} for String content encoded as UTF-8. */
+public class StringMessageCodec implements MessageCodec<String> {
+
+    /** Creates a StringMessageCodec. */
+    public StringMessageCodec() {}
+
+    @Override
+    public byte[] encode(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
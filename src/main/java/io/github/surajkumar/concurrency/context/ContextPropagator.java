@@ -0,0 +1,30 @@
+package io.github.surajkumar.concurrency.context;
+
+/**
+ * The ContextPropagator interface carries one kind of thread-bound context, such as the logging
+ * {@code ThreadContext} or a tracing span, from the thread that submits a promise to the thread
+ * that runs it. Implementations are registered with {@link ContextPropagators}, or discovered
+ * through {@link java.util.ServiceLoader}.
+ *
+ * <p>A snapshot of null stands for "no context", so propagators should return null from {@link
+ * #capture()} whenever there is nothing to carry. That keeps promises submitted without any context
+ * free of allocation.
+ *
+ * @param <S> the type of snapshot the propagator captures
+ */
+public interface ContextPropagator<S> {
+    /**
+     * Captures the context of the current thread.
+     *
+     * @return an immutable snapshot of the context, or null if there is no context
+     */
+    S capture();
+
+    /**
+     * Replaces the context of the current thread with the given snapshot.
+     *
+     * @param snapshot the snapshot to install, or null to clear the context
+     * @return the context that was replaced, as {@link #capture()} would have returned it
+     */
+    S restore(S snapshot);
+}
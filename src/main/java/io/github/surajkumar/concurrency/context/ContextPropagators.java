@@ -0,0 +1,80 @@
+package io.github.surajkumar.concurrency.context;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The ContextPropagators class holds the {@link ContextPropagator} instances that are applied to
+ * every promise run by an {@link io.github.surajkumar.concurrency.Executor}. The {@link
+ * ThreadContextPropagator} is registered by default unless the {@code
+ * concurrency.context.threadContext} system property is false, followed by every propagator found
+ * with {@link ServiceLoader}.
+ */
+public final class ContextPropagators {
+    private static final Logger LOGGER = LogManager.getLogger(ContextPropagators.class);
+    private static volatile ContextPropagator<?>[] propagators = load();
+
+    private ContextPropagators() {}
+
+    /**
+     * Registers a propagator. It applies to promises submitted from now on.
+     *
+     * @param propagator the propagator to register
+     */
+    public static synchronized void register(ContextPropagator<?> propagator) {
+        ContextPropagator<?>[] current = propagators;
+        ContextPropagator<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = propagator;
+        propagators = updated;
+        LOGGER.debug("Registered context propagator {}", propagator);
+    }
+
+    /**
+     * Removes a propagator. Promises that have already captured their context still restore it.
+     *
+     * @param propagator the propagator to remove
+     */
+    public static synchronized void unregister(ContextPropagator<?> propagator) {
+        List<ContextPropagator<?>> updated = new ArrayList<>(Arrays.asList(propagators));
+        if (updated.remove(propagator)) {
+            propagators = updated.toArray(new ContextPropagator<?>[0]);
+            LOGGER.debug("Unregistered context propagator {}", propagator);
+        }
+    }
+
+    /**
+     * Retrieves the registered propagators, in the order they are applied.
+     *
+     * @return the registered propagators
+     */
+    public static List<ContextPropagator<?>> getPropagators() {
+        return List.of(propagators);
+    }
+
+    /**
+     * Retrieves the registered propagators without copying them. The array must not be modified.
+     *
+     * @return the registered propagators
+     */
+    static ContextPropagator<?>[] propagators() {
+        return propagators;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static ContextPropagator<?>[] load() {
+        List<ContextPropagator<?>> loaded = new ArrayList<>();
+        if (Boolean.parseBoolean(System.getProperty("concurrency.context.threadContext", "true"))) {
+            loaded.add(new ThreadContextPropagator());
+        }
+        for (ContextPropagator propagator : ServiceLoader.load(ContextPropagator.class)) {
+            LOGGER.debug("Loaded context propagator {}", propagator);
+            loaded.add(propagator);
+        }
+        return loaded.toArray(new ContextPropagator<?>[0]);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.surajkumar.concurrency.context;
+
+/**
+ * The ContextSnapshot class holds the context captured by every registered {@link
+ * ContextPropagator} at one point in time. A promise captures a snapshot when it is submitted, and
+ * the thread that runs it attaches the snapshot around the task and its handlers.
+ *
+ * <p>When no propagator has anything to carry, {@link #capture()} returns a shared empty snapshot
+ * and attaching it does nothing, so promises submitted without context cost no allocation.
+ *
+ * <pre>{@code
+ * ContextSnapshot previous = snapshot.attach();
+ * try {
+ *     task.run();
+ * } finally {
+ *     previous.attach();
+ * }
+ * }</pre>
+ */
+public final class ContextSnapshot {
+    private static final ContextSnapshot EMPTY = new ContextSnapshot(null, null);
+    private final ContextPropagator<?>[] propagators;
+    private final Object[] values;
+
+    private ContextSnapshot(ContextPropagator<?>[] propagators, Object[] values) {
+        this.propagators = propagators;
+        this.values = values;
+    }
+
+    /**
+     * Captures the context of the current thread with every registered propagator.
+     *
+     * @return the snapshot, which is the shared empty snapshot if there was nothing to capture
+     */
+    public static ContextSnapshot capture() {
+        ContextPropagator<?>[] current = ContextPropagators.propagators();
+        Object[] values = null;
+        for (int i = 0; i < current.length; i++) {
+            Object value = current[i].capture();
+            if (value != null) {
+                if (values == null) {
+                    values = new Object[current.length];
+                }
+                values[i] = value;
+            }
+        }
+        return values == null ? EMPTY : new ContextSnapshot(current, values);
+    }
+
+    /**
+     * Retrieves the shared empty snapshot, which leaves the context of a thread unchanged.
+     *
+     * @return the empty snapshot
+     */
+    public static ContextSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Checks if the snapshot carries no context.
+     *
+     * @return true if the snapshot is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * Installs this snapshot as the context of the current thread. Attaching the returned snapshot
+     * puts back the context the thread had before.
+     *
+     * @return the context that was replaced
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ContextSnapshot attach() {
+        if (this == EMPTY) {
+            return EMPTY;
+        }
+        Object[] previous = new Object[values.length];
+        for (int i = 0; i < propagators.length; i++) {
+            previous[i] = ((ContextPropagator) propagators[i]).restore(values[i]);
+        }
+        return new ContextSnapshot(propagators, previous);
+    }
+}
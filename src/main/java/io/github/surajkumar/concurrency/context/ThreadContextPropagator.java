@@ -0,0 +1,48 @@
+package io.github.surajkumar.concurrency.context;
+
+import org.apache.logging.log4j.ThreadContext;
+
+import java.util.Map;
+
+/**
+ * The ThreadContextPropagator class is a {@link ContextPropagator} for the Log4j {@link
+ * ThreadContext}, the map (MDC) and stack (NDC) that are added to log events. It is registered by
+ * default, so log lines written by a promise carry the context of the code that submitted it.
+ */
+public final class ThreadContextPropagator
+        implements ContextPropagator<ThreadContextPropagator.Snapshot> {
+
+    @Override
+    public Snapshot capture() {
+        if (ThreadContext.isEmpty() && ThreadContext.getDepth() == 0) {
+            return null;
+        }
+        return new Snapshot(ThreadContext.getImmutableContext(), ThreadContext.getImmutableStack());
+    }
+
+    @Override
+    public Snapshot restore(Snapshot snapshot) {
+        Snapshot previous = capture();
+        if (previous != null) {
+            ThreadContext.clearAll();
+        }
+        if (snapshot != null) {
+            ThreadContext.putAll(snapshot.map());
+            ThreadContext.setStack(snapshot.stack().asList());
+        }
+        return previous;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadContextPropagator";
+    }
+
+    /**
+     * The ThreadContextPropagator.Snapshot record holds an immutable copy of the ThreadContext.
+     *
+     * @param map the context map
+     * @param stack the context stack
+     */
+    public record Snapshot(Map<String, String> map, ThreadContext.ContextStack stack) {}
+}
@@ -0,0 +1,17 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The ActorStoppedException class is a custom exception that a request to an actor fails with when
+ * the actor has been stopped. It extends the RuntimeException class, indicating that it is an
+ * unchecked exception.
+ */
+public class ActorStoppedException extends RuntimeException {
+
+    /**
+     * The ActorStoppedException class is a custom exception that a request to an actor fails with
+     * when the actor has been stopped.
+     */
+    public ActorStoppedException() {
+        super("Actor is stopped");
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The ChannelClosedException class is a custom exception that is thrown when sending to a channel
+ * that has been closed, or when receiving from a channel that has been closed and fully drained.
+ */
+public class ChannelClosedException extends RuntimeException {
+
+    /**
+     * The ChannelClosedException class is a custom exception that is thrown when sending to a
+     * channel that has been closed, or when receiving from a channel that has been closed and fully
+     * drained.
+     */
+    public ChannelClosedException() {
+        super("Channel is closed");
+    }
+}
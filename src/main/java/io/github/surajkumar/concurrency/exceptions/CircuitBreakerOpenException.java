@@ -0,0 +1,17 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The CircuitBreakerOpenException class is a custom exception that a promise fails with when its
+ * circuit breaker is open, without its task being run. It extends the RuntimeException class,
+ * indicating that it is an unchecked exception.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    /**
+     * The CircuitBreakerOpenException class is a custom exception that a promise fails with when
+     * its circuit breaker is open.
+     */
+    public CircuitBreakerOpenException() {
+        super("Circuit breaker is open");
+    }
+}
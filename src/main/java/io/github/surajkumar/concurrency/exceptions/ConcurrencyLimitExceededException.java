@@ -0,0 +1,18 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The ConcurrencyLimitExceededException class is a custom exception that is thrown when a promise
+ * is submitted to an AdaptiveConcurrencyExecutionMachine whose concurrency limit has been reached
+ * and whose queue is full. It extends the RuntimeException class, indicating that it is an
+ * unchecked exception.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    /**
+     * The ConcurrencyLimitExceededException class is a custom exception that is thrown when the
+     * concurrency limit has been reached and the queue is full.
+     */
+    public ConcurrencyLimitExceededException() {
+        super("Concurrency limit exceeded");
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The MailboxFullException class is a custom exception that a request to an actor fails with when
+ * the actor's mailbox is full. It extends the RuntimeException class, indicating that it is an
+ * unchecked exception.
+ */
+public class MailboxFullException extends RuntimeException {
+
+    /**
+     * The MailboxFullException class is a custom exception that a request to an actor fails with
+     * when the actor's mailbox is full.
+     */
+    public MailboxFullException() {
+        super("Actor mailbox is full");
+    }
+}
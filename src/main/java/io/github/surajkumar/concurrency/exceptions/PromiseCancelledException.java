@@ -0,0 +1,18 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The PromiseCancelledException class is a custom exception that is passed to the exception handler
+ * of a Promise that has been cancelled. Tasks can also throw it to stop early once cancellation has
+ * been requested.
+ */
+public class PromiseCancelledException extends RuntimeException {
+
+    /**
+     * The PromiseCancelledException class is a custom exception that is passed to the exception
+     * handler of a Promise that has been cancelled. Tasks can also throw it to stop early once
+     * cancellation has been requested.
+     */
+    public PromiseCancelledException() {
+        super("Promise was cancelled");
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The PromiseScopeFailedException class is a custom exception that is thrown by a PromiseScope when
+ * a promise forked in it has failed. The first failure is the cause, and any further failures are
+ * attached as suppressed exceptions.
+ */
+public class PromiseScopeFailedException extends RuntimeException {
+
+    /**
+     * The PromiseScopeFailedException class is a custom exception that is thrown by a PromiseScope
+     * when a promise forked in it has failed.
+     *
+     * @param cause the first failure in the scope
+     */
+    public PromiseScopeFailedException(Exception cause) {
+        super("Promise in scope failed", cause);
+    }
+}
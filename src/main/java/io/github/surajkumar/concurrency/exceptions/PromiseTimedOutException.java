@@ -0,0 +1,18 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The PromiseTimedOutException class is a custom exception that is passed to the exception handler
+ * of a Promise whose deadline passed before it finished. Tasks can also throw it to stop early once
+ * the deadline has passed.
+ */
+public class PromiseTimedOutException extends RuntimeException {
+
+    /**
+     * The PromiseTimedOutException class is a custom exception that is passed to the exception
+     * handler of a Promise whose deadline passed before it finished. Tasks can also throw it to
+     * stop early once the deadline has passed.
+     */
+    public PromiseTimedOutException() {
+        super("Promise deadline exceeded");
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.surajkumar.concurrency.exceptions;
+
+/**
+ * The TaskGraphFailedException class is a custom exception that is thrown by a TaskGraph when a
+ * node in it has failed. The first failure is the cause, and any further failures are attached as
+ * suppressed exceptions.
+ */
+public class TaskGraphFailedException extends RuntimeException {
+
+    /**
+     * The TaskGraphFailedException class is a custom exception that is thrown by a TaskGraph when a
+     * node in it has failed.
+     *
+     * @param cause the first failure in the graph
+     */
+    public TaskGraphFailedException(Exception cause) {
+        super("Task in graph failed", cause);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.surajkumar.concurrency.graph;
+
+/**
+ * The GraphOptions class represents the options configuration for a TaskGraph. It specifies how
+ * many nodes may run at once, whether the first failure cancels the rest of the graph and the name
+ * given to the threads that run the nodes.
+ */
+public class GraphOptions {
+    private int maxParallelism = Runtime.getRuntime().availableProcessors();
+    private boolean failFast = false;
+    private String name = "TaskGraph";
+
+    /**
+     * Creates GraphOptions that run as many nodes at once as there are processors, keep running
+     * independent nodes after a failure and name the threads "TaskGraph".
+     */
+    public GraphOptions() {}
+
+    /**
+     * Retrieves the maximum number of nodes that are handed to the machine at once.
+     *
+     * @return the maximum parallelism
+     */
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * Sets the maximum number of nodes that are handed to the machine at once. Ready nodes beyond
+     * this wait in the graph, where the ones on the longest remaining path are started first. The
+     * number of processors suits graphs of CPU-bound nodes; graphs that mostly wait on I/O can use
+     * a higher value.
+     *
+     * @param maxParallelism the maximum parallelism
+     * @return the GraphOptions instance
+     */
+    public GraphOptions setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+        return this;
+    }
+
+    /**
+     * Checks if the first failed node cancels the rest of the graph.
+     *
+     * @return true if the graph fails fast, false otherwise
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Sets whether the first failed node cancels the rest of the graph. Without it, only the nodes
+     * that depend on the failed node are skipped and independent branches run to the end.
+     *
+     * @param failFast true to cancel the graph on the first failure
+     * @return the GraphOptions instance
+     */
+    public GraphOptions setFailFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Retrieves the name given to the threads that run the nodes.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name given to the threads that run the nodes.
+     *
+     * @param name the name
+     * @return the GraphOptions instance
+     */
+    public GraphOptions setName(String name) {
+        this.name = name;
+        return this;
+    }
+}
@@ -0,0 +1,490 @@
+package io.github.surajkumar.concurrency.graph;
+
+import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.exceptions.TaskGraphFailedException;
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.metrics.TaskGraphMetrics;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The TaskGraph class runs tasks that depend on each other, each one as soon as the tasks it
+ * depends on have succeeded, so independent branches run in parallel without chaining promises by
+ * hand. Tasks are added as {@link TaskNode nodes} together with the nodes they depend on, which
+ * must have been added before them, so a graph can never contain a cycle.
+ *
+ * <p>Up to {@link GraphOptions#getMaxParallelism()} nodes are handed to the {@link
+ * ExecutionMachine} at once. When more nodes are ready than that, the ones with the costliest path
+ * still ahead of them start first, which keeps the critical path moving and shortens the whole run.
+ * A node that fails or is cancelled skips every node that depends on it, and with {@link
+ * GraphOptions#setFailFast(boolean)} it cancels the rest of the graph as well.
+ *
+ * <pre>{@code
+ * TaskGraph graph = new TaskGraph();
+ * TaskNode<List<Row>> orders = graph.add("orders", () -> extract("orders"));
+ * TaskNode<List<Row>> customers = graph.add("customers", () -> extract("customers"));
+ * TaskNode<List<Row>> joined = graph.add("join", () -> join(orders.get(), customers.get()),
+ *         orders, customers).setCost(50);
+ * graph.add("load", () -> load(joined.get()), joined);
+ * TaskGraphMetrics metrics = graph.run(machine).get();
+ * }</pre>
+ *
+ * <p>A graph runs once. The nodes report their state and timings afterwards, and the metrics of the
+ * graph report how well it used the machine. The graph does not own the machine, so shutting the
+ * machine down is left to whoever created it.
+ */
+public final class TaskGraph {
+    private static final Logger LOGGER = LogManager.getLogger(TaskGraph.class);
+    private final int maxParallelism;
+    private final boolean failFast;
+    private final ExecutionSettings executionSettings;
+    private final List<TaskNode<?>> nodes = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<TaskNode<?>> ready =
+            new PriorityQueue<>(
+                    Comparator.comparingLong((TaskNode<?> node) -> -node.rank)
+                            .thenComparingInt(node -> node.index));
+    private final List<Exception> exceptions = new ArrayList<>();
+    private final TaskGraphMetrics metrics = new TaskGraphMetrics();
+    private final Promise<TaskGraphMetrics> result = new Promise<>(this::outcome);
+    private ExecutionMachine executionMachine;
+    private volatile boolean started;
+    private boolean cancelled;
+    private boolean cancelRequested;
+    private boolean finished;
+    private int running;
+    private int unsettled;
+
+    /** Creates a TaskGraph with the default {@link GraphOptions}. */
+    public TaskGraph() {
+        this(new GraphOptions());
+    }
+
+    /**
+     * Creates a TaskGraph.
+     *
+     * @param options the options of the graph
+     * @throws IllegalArgumentException if the maximum parallelism is less than 1
+     */
+    public TaskGraph(GraphOptions options) {
+        if (options.getMaxParallelism() < 1) {
+            throw new IllegalArgumentException("Max parallelism must be >= 1");
+        }
+        this.maxParallelism = options.getMaxParallelism();
+        this.failFast = options.isFailFast();
+        this.executionSettings = new ExecutionSettings().setName(options.getName());
+    }
+
+    /**
+     * Adds a task to the graph. The task runs once every given dependency has succeeded, and can
+     * read their results with {@link TaskNode#get()}.
+     *
+     * @param name the name of the node, unique in the graph
+     * @param task the task to run
+     * @param dependencies the nodes that must succeed before the task runs
+     * @return the node of the task
+     * @param <T> the type of the result of the task
+     * @throws IllegalArgumentException if the name is taken or a dependency belongs to another
+     *     graph
+     * @throws IllegalStateException if the graph has already been run
+     */
+    public <T> TaskNode<T> add(String name, Task<T> task, TaskNode<?>... dependencies) {
+        List<TaskNode<?>> unique = List.copyOf(new LinkedHashSet<>(Arrays.asList(dependencies)));
+        lock.lock();
+        try {
+            ensureNotStarted();
+            for (TaskNode<?> dependency : unique) {
+                if (dependency.graph != this) {
+                    throw new IllegalArgumentException(
+                            "Node " + dependency.getName() + " belongs to another graph");
+                }
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Node " + name + " already exists");
+            }
+            TaskNode<T> node = new TaskNode<>(this, nodes.size(), name, task, unique);
+            for (TaskNode<?> dependency : unique) {
+                dependency.dependents.add(node);
+            }
+            nodes.add(node);
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the graph on the given machine. The returned Promise settles once every node has
+     * settled. It finishes with the metrics of the run if every node succeeded, fails with a {@link
+     * TaskGraphFailedException} if a node failed, and is cancelled if the graph was cancelled.
+     *
+     * @param executionMachine the machine that runs the nodes
+     * @return a Promise of the metrics of the run
+     * @throws IllegalStateException if the graph has already been run
+     */
+    public Promise<TaskGraphMetrics> run(ExecutionMachine executionMachine) {
+        boolean empty;
+        lock.lock();
+        try {
+            ensureNotStarted();
+            started = true;
+            this.executionMachine = executionMachine;
+            metrics.setStart(System.nanoTime());
+            unsettled = nodes.size();
+            // Nodes are added after their dependencies, so walking backwards ranks dependents
+            // first.
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                TaskNode<?> node = nodes.get(i);
+                long ahead = 0;
+                for (TaskNode<?> dependent : node.dependents) {
+                    ahead = Math.max(ahead, dependent.rank);
+                }
+                node.rank = node.getCost() + ahead;
+            }
+            for (TaskNode<?> node : nodes) {
+                if (node.dependencies.isEmpty()) {
+                    markReady(node);
+                }
+            }
+            empty = claimFinish();
+        } finally {
+            lock.unlock();
+        }
+        if (empty) {
+            finish();
+        } else {
+            dispatch();
+        }
+        return result;
+    }
+
+    /**
+     * Cancels the graph. Nodes that have not started are cancelled without running, and running
+     * nodes are asked to stop through their {@link
+     * io.github.surajkumar.concurrency.promise.CancellationToken}. The Promise returned by {@link
+     * #run(ExecutionMachine)} is cancelled once every node has settled. If the graph has not been
+     * run, has finished or has already been cancelled, calling this method has no effect.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            if (!started || finished) {
+                return;
+            }
+            cancelRequested = true;
+        } finally {
+            lock.unlock();
+        }
+        cancelNodes();
+    }
+
+    /**
+     * Retrieves the nodes of the graph, in the order they were added.
+     *
+     * @return the nodes
+     */
+    public List<TaskNode<?>> getNodes() {
+        lock.lock();
+        try {
+            return List.copyOf(nodes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the critical path of the graph, the chain of dependent nodes with the highest total
+     * estimated {@link TaskNode#getCost() cost}. No run can take less time than this chain takes,
+     * so it shows which nodes are worth making faster.
+     *
+     * @return the nodes of the critical path, from the first to run to the last
+     */
+    public List<TaskNode<?>> getCriticalPath() {
+        lock.lock();
+        try {
+            long[] ahead = new long[nodes.size()];
+            TaskNode<?>[] next = new TaskNode<?>[nodes.size()];
+            TaskNode<?> first = null;
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                TaskNode<?> node = nodes.get(i);
+                long longest = 0;
+                for (TaskNode<?> dependent : node.dependents) {
+                    if (next[i] == null || ahead[dependent.index] > longest) {
+                        longest = ahead[dependent.index];
+                        next[i] = dependent;
+                    }
+                }
+                ahead[i] = node.getCost() + longest;
+                if (node.dependencies.isEmpty()
+                        && (first == null || ahead[i] >= ahead[first.index])) {
+                    first = node;
+                }
+            }
+            List<TaskNode<?>> path = new ArrayList<>();
+            for (TaskNode<?> node = first; node != null; node = next[node.index]) {
+                path.add(node);
+            }
+            return path;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the metrics of the graph, which are updated while it runs.
+     *
+     * @return the metrics
+     */
+    public TaskGraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    void ensureNotStarted() {
+        if (started) {
+            throw new IllegalStateException("Graph has already been run");
+        }
+    }
+
+    private void markReady(TaskNode<?> node) {
+        node.state = TaskNode.State.READY;
+        node.readyAt = System.nanoTime();
+        ready.add(node);
+    }
+
+    /**
+     * Hands ready nodes to the machine, the ones on the costliest path first. Nodes that settle
+     * while they are handed over free their slots here, so the loop runs until none start.
+     */
+    private void dispatch() {
+        List<TaskNode<?>> starting = new ArrayList<>();
+        do {
+            starting.clear();
+            lock.lock();
+            try {
+                while (running < maxParallelism && !cancelled && !ready.isEmpty()) {
+                    TaskNode<?> node = ready.poll();
+                    node.state = TaskNode.State.RUNNING;
+                    prepare(node);
+                    running++;
+                    starting.add(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (TaskNode<?> node : starting) {
+                start(node);
+            }
+        } while (!starting.isEmpty());
+    }
+
+    private <T> void prepare(TaskNode<T> node) {
+        node.promise =
+                new Promise<>(
+                        () -> {
+                            node.startedAt = System.nanoTime();
+                            return node.task.run();
+                        },
+                        null,
+                        exception -> node.exception = exception);
+    }
+
+    private void start(TaskNode<?> node) {
+        Promise<?> promise = node.promise;
+        try {
+            executionMachine.execute(promise.captureContext(), executionSettings);
+        } catch (RuntimeException e) {
+            LOGGER.error("{} rejected node {}", executionMachine, node.getName(), e);
+            node.exception = e;
+            record(node, TaskNode.State.FAILED);
+            return;
+        }
+        // Whoever takes the flag first decides, the listener if the promise settled meanwhile.
+        AtomicBoolean claimed = new AtomicBoolean();
+        promise.whenSettled(
+                () -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        settle(node, stateOf(promise));
+                    }
+                });
+        if (!claimed.compareAndSet(false, true)) {
+            record(node, stateOf(promise));
+        }
+    }
+
+    private static TaskNode.State stateOf(Promise<?> promise) {
+        return switch (promise.getStatus()) {
+            case FINISHED -> TaskNode.State.SUCCEEDED;
+            case CANCELLED -> TaskNode.State.CANCELLED;
+            default -> TaskNode.State.FAILED;
+        };
+    }
+
+    private void settle(TaskNode<?> node, TaskNode.State state) {
+        if (record(node, state)) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Records the outcome of a running node.
+     *
+     * @return true if ready nodes may now be dispatched
+     */
+    private boolean record(TaskNode<?> node, TaskNode.State state) {
+        boolean failGraph;
+        boolean done;
+        lock.lock();
+        try {
+            if (node.state != TaskNode.State.RUNNING) {
+                return false;
+            }
+            node.endedAt = System.nanoTime();
+            node.state = state;
+            running--;
+            unsettled--;
+            metrics.addBusyNanos(node.getRunNanos());
+            switch (state) {
+                case SUCCEEDED -> {
+                    metrics.incrementSucceeded();
+                    for (TaskNode<?> dependent : node.dependents) {
+                        if (--dependent.waitingFor == 0
+                                && dependent.state == TaskNode.State.PENDING) {
+                            markReady(dependent);
+                        }
+                    }
+                }
+                case FAILED -> {
+                    metrics.incrementFailed();
+                    if (node.exception != null) {
+                        exceptions.add(node.exception);
+                    }
+                    skipDependents(node);
+                }
+                default -> {
+                    metrics.incrementCancelled();
+                    skipDependents(node);
+                }
+            }
+            failGraph = failFast && state == TaskNode.State.FAILED;
+            done = claimFinish();
+        } finally {
+            lock.unlock();
+        }
+        if (failGraph) {
+            cancelNodes();
+        }
+        if (done) {
+            finish();
+        }
+        return !failGraph;
+    }
+
+    private void skipDependents(TaskNode<?> failed) {
+        Deque<TaskNode<?>> toSkip = new ArrayDeque<>(failed.dependents);
+        while (!toSkip.isEmpty()) {
+            TaskNode<?> node = toSkip.pop();
+            if (node.state == TaskNode.State.PENDING) {
+                node.state = TaskNode.State.SKIPPED;
+                unsettled--;
+                metrics.incrementSkipped();
+                toSkip.addAll(node.dependents);
+            }
+        }
+    }
+
+    private void cancelNodes() {
+        List<Promise<?>> toCancel = new ArrayList<>();
+        boolean done;
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            ready.clear();
+            for (TaskNode<?> node : nodes) {
+                switch (node.state) {
+                    case PENDING, READY -> {
+                        node.state = TaskNode.State.CANCELLED;
+                        unsettled--;
+                        metrics.incrementCancelled();
+                    }
+                    case RUNNING -> toCancel.add(node.promise);
+                    default -> {
+                        // Settled nodes keep their outcome.
+                    }
+                }
+            }
+            done = claimFinish();
+        } finally {
+            lock.unlock();
+        }
+        // Cancel outside the lock, a promise that has not started settles on this thread.
+        for (Promise<?> promise : toCancel) {
+            promise.cancel();
+        }
+        if (done) {
+            finish();
+        }
+    }
+
+    /** Returns true exactly once, to the caller that settles the last node. */
+    private boolean claimFinish() {
+        if (unsettled > 0 || finished) {
+            return false;
+        }
+        finished = true;
+        return true;
+    }
+
+    private void finish() {
+        metrics.setEnd(System.nanoTime());
+        boolean cancel;
+        lock.lock();
+        try {
+            cancel = cancelRequested;
+        } finally {
+            lock.unlock();
+        }
+        if (cancel) {
+            result.cancel();
+        } else {
+            result.complete();
+        }
+    }
+
+    private TaskGraphMetrics outcome() {
+        List<Exception> failures;
+        lock.lock();
+        try {
+            failures = List.copyOf(exceptions);
+        } finally {
+            lock.unlock();
+        }
+        if (failures.isEmpty()) {
+            return metrics;
+        }
+        TaskGraphFailedException exception = new TaskGraphFailedException(failures.get(0));
+        for (int i = 1; i < failures.size(); i++) {
+            exception.addSuppressed(failures.get(i));
+        }
+        throw exception;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.surajkumar.concurrency.graph;
+
+import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TaskNode class is a task in a {@link TaskGraph} together with the nodes it depends on. Nodes
+ * are created by {@link TaskGraph#add}, and a node's task can read the results of its dependencies
+ * with {@link #get()}, as they have always succeeded by the time it runs.
+ *
+ * <p>Once the graph has run, a node reports its outcome and how long it waited and ran, so slow
+ * stages and stages that waited long for a thread can be found.
+ *
+ * @param <T> the type of the result of the node
+ */
+public final class TaskNode<T> {
+    final TaskGraph graph;
+    final int index;
+    final Task<T> task;
+    final List<TaskNode<?>> dependencies;
+    final List<TaskNode<?>> dependents = new ArrayList<>();
+    private final String name;
+    private volatile long cost = 1;
+    volatile State state = State.PENDING;
+    volatile Promise<T> promise;
+    volatile Exception exception;
+    volatile long rank;
+    int waitingFor;
+    volatile long readyAt;
+    volatile long startedAt;
+    volatile long endedAt;
+
+    /** The TaskNode.State enum represents how far a node has got in a run of its graph. */
+    public enum State {
+        /** The node is waiting for its dependencies. */
+        PENDING,
+        /** The dependencies have succeeded and the node is waiting for a thread. */
+        READY,
+        /** The node has been handed to the machine. */
+        RUNNING,
+        /** The task finished successfully. */
+        SUCCEEDED,
+        /** The task failed or timed out. */
+        FAILED,
+        /** The task was not run because a node it depends on did not succeed. */
+        SKIPPED,
+        /** The task was cancelled, or was not run because the graph was cancelled. */
+        CANCELLED
+    }
+
+    TaskNode(
+            TaskGraph graph, int index, String name, Task<T> task, List<TaskNode<?>> dependencies) {
+        this.graph = graph;
+        this.index = index;
+        this.name = name;
+        this.task = task;
+        this.dependencies = dependencies;
+        this.waitingFor = dependencies.size();
+    }
+
+    /**
+     * Retrieves the name of the node.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the result of the node.
+     *
+     * @return the result
+     * @throws IllegalStateException if the node has not succeeded
+     */
+    public T get() {
+        Promise<T> current = promise;
+        if (state != State.SUCCEEDED || current == null) {
+            throw new IllegalStateException("Node " + name + " has not succeeded");
+        }
+        return current.get();
+    }
+
+    /**
+     * Retrieves the state of the node.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the exception the node failed with. Nodes that were skipped or cancelled before
+     * they ran have none.
+     *
+     * @return the exception, or null if the node did not fail
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    /**
+     * Retrieves the estimated cost of the node.
+     *
+     * @return the cost
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * Sets the estimated cost of the node, in any unit as long as every node of the graph uses the
+     * same one, such as its expected run time in milliseconds. The graph starts ready nodes with
+     * the costliest path still ahead of them first. Every node costs 1 unless set, which favours
+     * the longest chain of nodes.
+     *
+     * @param cost the cost, at least 0
+     * @return the current TaskNode instance
+     * @throws IllegalArgumentException if the cost is negative
+     * @throws IllegalStateException if the graph has already been run
+     */
+    public TaskNode<T> setCost(long cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("Cost must be >= 0");
+        }
+        graph.ensureNotStarted();
+        this.cost = cost;
+        return this;
+    }
+
+    /**
+     * Retrieves the nodes this node depends on.
+     *
+     * @return the dependencies
+     */
+    public List<TaskNode<?>> getDependencies() {
+        return List.copyOf(dependencies);
+    }
+
+    /**
+     * Retrieves the cost of the costliest path from this node to the end of the graph, including
+     * the node itself. It is known once the graph has been run.
+     *
+     * @return the remaining cost of the node
+     */
+    public long getRank() {
+        return rank;
+    }
+
+    /**
+     * Retrieves the time the node waited between its dependencies succeeding and its task starting,
+     * both in the graph and in the queue of the machine.
+     *
+     * @return the waiting time in nanoseconds, or 0 if the task has not started
+     */
+    public long getQueuedNanos() {
+        long ready = readyAt;
+        long started = startedAt;
+        return ready == 0 || started == 0 ? 0 : started - ready;
+    }
+
+    /**
+     * Retrieves the time the task of the node ran for.
+     *
+     * @return the run time in nanoseconds, or 0 if the task has not finished
+     */
+    public long getRunNanos() {
+        long started = startedAt;
+        long ended = endedAt;
+        return started == 0 || ended == 0 ? 0 : ended - started;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskNode{"
+                + "name='"
+                + name
+                + "', state="
+                + state
+                + ", queuedNanos="
+                + getQueuedNanos()
+                + ", runNanos="
+                + getRunNanos()
+                + '}';
+    }
+}
@@ -0,0 +1,312 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.exceptions.ConcurrencyLimitExceededException;
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.metrics.ConcurrencyLimitMetrics;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The AdaptiveConcurrencyExecutionMachine class is an ExecutionMachine that wraps another machine
+ * and limits how many promises are in flight in it at once. Unlike a fixed pool size, the limit is
+ * adjusted continuously by a {@link LimitAlgorithm} from the latency of the promises that settle,
+ * so it rises while the downstream keeps up and falls as soon as it starts queueing or failing.
+ *
+ * <p>A promise that fits under the limit is passed straight to the wrapped machine on the calling
+ * thread. Any other promise waits in this machine's queue, up to the given maximum, and is handed
+ * on when an earlier promise settles. Once the queue is full, further promises are rejected with a
+ * {@link ConcurrencyLimitExceededException}. The limit and the values it is derived from are
+ * available through {@link #getMetrics()}.
+ *
+ * <p>A promise keeps its place under the limit while it waits for a {@link Promise#isRetrying()
+ * retry}, and is passed straight to the wrapped machine when it is handed back, so its latency
+ * covers every attempt.
+ *
+ * <pre>{@code
+ * ExecutionMachine machine = new AdaptiveConcurrencyExecutionMachine(
+ *         new PooledExecutionMachine(new DynamicThreadPool()), new VegasLimit(), 1000);
+ * }</pre>
+ */
+public class AdaptiveConcurrencyExecutionMachine implements ExecutionMachine {
+    private static final Logger LOGGER =
+            LogManager.getLogger(AdaptiveConcurrencyExecutionMachine.class);
+    private final ExecutionMachine delegate;
+    private final LimitAlgorithm algorithm;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<ExecutionPair> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private final AtomicBoolean delegateShutdown = new AtomicBoolean();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final ConcurrencyLimitMetrics metrics = new ConcurrencyLimitMetrics();
+
+    /**
+     * Creates an AdaptiveConcurrencyExecutionMachine with a {@link VegasLimit} and an unbounded
+     * queue.
+     *
+     * @param delegate the machine that runs the promises
+     */
+    public AdaptiveConcurrencyExecutionMachine(ExecutionMachine delegate) {
+        this(delegate, new VegasLimit(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an AdaptiveConcurrencyExecutionMachine.
+     *
+     * @param delegate the machine that runs the promises
+     * @param algorithm the algorithm that adjusts the limit
+     * @param maxQueued the number of promises that may wait for the limit, or 0 to reject every
+     *     promise over the limit
+     * @throws IllegalArgumentException if the maximum queue size is negative
+     */
+    public AdaptiveConcurrencyExecutionMachine(
+            ExecutionMachine delegate, LimitAlgorithm algorithm, int maxQueued) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queue size must be >= 0");
+        }
+        this.delegate = delegate;
+        this.algorithm = algorithm;
+        this.maxQueued = maxQueued;
+        metrics.setLimit(algorithm.getLimit());
+    }
+
+    /**
+     * Hands the promise to the wrapped machine if the limit allows, otherwise queues it.
+     *
+     * @param promise the promise to execute
+     * @param executionSettings the settings for the execution
+     * @throws ExecutionMachineShutdownException if the machine is shutdown and the promise is not a
+     *     retry
+     * @throws ConcurrencyLimitExceededException if the limit is reached and the queue is full
+     */
+    @Override
+    public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        if (promise.isRetrying()) {
+            // The promise still holds the permit it was admitted with, until it settles.
+            delegate.execute(promise, executionSettings);
+            return;
+        }
+        if (shutdown.get()) {
+            throw new ExecutionMachineShutdownException();
+        }
+        if (waitingCount.get() == 0 && tryAcquire()) {
+            if (submit(promise, executionSettings, true)) {
+                // The permit came back inline, so no listener is left to hand it on.
+                drain();
+            }
+            return;
+        }
+        int queued = waitingCount.incrementAndGet();
+        if (queued > maxQueued) {
+            metrics.setQueued(waitingCount.decrementAndGet());
+            metrics.incrementRejected();
+            throw new ConcurrencyLimitExceededException();
+        }
+        metrics.setQueued(queued);
+        waiting.add(new ExecutionPair(promise, executionSettings));
+        // A promise may have settled before this one was queued, so nothing else would wake it.
+        drain();
+    }
+
+    @Override
+    public ThreadPool threadPool() {
+        return delegate.threadPool();
+    }
+
+    /**
+     * Retrieves the machine that runs the promises.
+     *
+     * @return the wrapped machine
+     */
+    public ExecutionMachine getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Retrieves the algorithm that adjusts the limit.
+     *
+     * @return the limit algorithm
+     */
+    public LimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Retrieves the number of promises waiting for the limit to allow them in.
+     *
+     * @return the number of waiting promises
+     */
+    public int getQueuedPromises() {
+        return waitingCount.get();
+    }
+
+    /**
+     * Retrieves the metrics of the limit.
+     *
+     * @return the metrics
+     */
+    public ConcurrencyLimitMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseComplete(promise, executionThread);
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseRunning(promise, executionThread);
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        delegate.onExecutionThreadRetirement(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        drain();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        shutdown.set(true);
+        List<Promise<?>> unstarted = new ArrayList<>();
+        ExecutionPair executionPair;
+        while ((executionPair = waiting.poll()) != null) {
+            metrics.setQueued(waitingCount.decrementAndGet());
+            if (executionPair.promise().cancel()) {
+                unstarted.add(executionPair.promise());
+            }
+        }
+        unstarted.addAll(delegate.shutdownNow());
+        shutdownDelegate();
+        return unstarted;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!drained.await(timeout, unit)) {
+            return false;
+        }
+        return delegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return drained.getCount() == 0 && delegate.isTerminated();
+    }
+
+    private boolean tryAcquire() {
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= algorithm.getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                metrics.setInFlight(current + 1);
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        metrics.setInFlight(inFlight.decrementAndGet());
+    }
+
+    private boolean submit(
+            Promise<?> promise, ExecutionSettings executionSettings, boolean caller) {
+        long start = System.nanoTime();
+        try {
+            delegate.execute(promise, executionSettings);
+        } catch (RuntimeException e) {
+            release();
+            if (caller) {
+                throw e;
+            }
+            LOGGER.error("{} rejected a queued promise", delegate, e);
+            promise.cancel();
+            return false;
+        }
+        // Whoever takes the flag first decides, the listener if the promise settled meanwhile.
+        AtomicBoolean claimed = new AtomicBoolean();
+        promise.whenSettled(
+                () -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        onSettled(promise, start);
+                        drain();
+                    }
+                });
+        if (claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        onSettled(promise, start);
+        return true;
+    }
+
+    private void onSettled(Promise<?> promise, long start) {
+        Status status = promise.getStatus();
+        if (status != Status.CANCELLED) {
+            long rtt = System.nanoTime() - start;
+            boolean dropped = status == Status.ERROR || status == Status.TIMED_OUT;
+            if (dropped) {
+                metrics.incrementDropped();
+            }
+            metrics.recordRtt(rtt);
+            algorithm.onSample(rtt, inFlight.get(), dropped);
+            metrics.setLimit(algorithm.getLimit());
+        }
+        release();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            ExecutionPair executionPair = waiting.poll();
+            if (executionPair == null) {
+                release();
+                continue;
+            }
+            metrics.setQueued(waitingCount.decrementAndGet());
+            if (executionPair.promise().isCancelled()) {
+                release();
+                continue;
+            }
+            submit(executionPair.promise(), executionPair.executionSettings(), false);
+        }
+        if (shutdown.get() && waiting.isEmpty()) {
+            shutdownDelegate();
+        }
+    }
+
+    private void shutdownDelegate() {
+        if (delegateShutdown.compareAndSet(false, true)) {
+            delegate.shutdown();
+            drained.countDown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.surajkumar.concurrency.machines;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AimdLimit class is a {@link LimitAlgorithm} that uses additive increase, multiplicative
+ * decrease. While promises succeed within the timeout and at least half of the limit is in use, the
+ * limit grows by one per sample. When a promise fails or takes longer than the timeout, the limit
+ * is multiplied by the backoff ratio.
+ */
+public class AimdLimit implements LimitAlgorithm {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+    private volatile int limit;
+
+    /**
+     * Creates an AimdLimit that starts at 20, stays between 1 and 1000, backs off by 10% and treats
+     * promises slower than 5 seconds as dropped.
+     */
+    public AimdLimit() {
+        this(20, 1, 1000, 0.9, 5000);
+    }
+
+    /**
+     * Creates an AimdLimit.
+     *
+     * @param initialLimit the limit to start with
+     * @param minLimit the lowest the limit may fall to
+     * @param maxLimit the highest the limit may rise to
+     * @param backoffRatio the factor the limit is multiplied by on a drop, between 0 and 1
+     * @param timeoutMillis the latency above which a promise is treated as dropped
+     * @throws IllegalArgumentException if the limits or backoff ratio are out of range
+     */
+    public AimdLimit(
+            int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutMillis) {
+        if (minLimit < 1 || maxLimit < minLimit || !(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 1 <= min <= max and backoff ratio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit{limit=" + limit + '}';
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.metrics.ThreadPoolMetrics;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Bulkhead class is a named partition of a {@link BulkheadManager}. It is an ExecutionMachine
+ * that runs promises on the worker threads of its manager, but never runs more promises at once
+ * than its maximum concurrency. Promises that cannot start yet wait in the partition's own queue,
+ * so a backlog in one partition does not delay the others.
+ *
+ * <p>Bulkheads are created with {@link BulkheadManager#createPartition(String, int, int)}.
+ */
+public class Bulkhead implements ExecutionMachine {
+    private final BulkheadManager manager;
+    private final String name;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final ThreadPoolMetrics metrics = new ThreadPoolMetrics();
+    private final MachineLifecycle lifecycle;
+    private final Queue<ExecutionPair> queue = new ArrayDeque<>();
+    private int running;
+
+    Bulkhead(BulkheadManager manager, String name, int minConcurrency, int maxConcurrency) {
+        this.manager = manager;
+        this.name = name;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.lifecycle = new MachineLifecycle(manager::onPartitionTerminated);
+        metrics.setInitialCapacity(minConcurrency);
+        metrics.setAvailableThreads(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        lifecycle.accept(promise);
+        if (executionSettings.getName() == null) {
+            executionSettings.setName(name);
+        }
+        synchronized (manager) {
+            queue.add(new ExecutionPair(promise, executionSettings));
+        }
+        manager.dispatch();
+    }
+
+    @Override
+    public ThreadPool threadPool() {
+        return manager.threadPool();
+    }
+
+    /**
+     * Retrieves the metrics of the partition. The initial capacity is the minimum concurrency, the
+     * active threads are the promises running in the partition and the available threads are how
+     * many more it may run before reaching its maximum.
+     *
+     * @return the metrics of the partition
+     */
+    public ThreadPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Retrieves the number of promises waiting to start in this partition.
+     *
+     * @return the number of queued promises
+     */
+    public int getQueuedPromises() {
+        synchronized (manager) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Retrieves the name of the partition.
+     *
+     * @return the name of the partition
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the number of threads reserved for the partition.
+     *
+     * @return the minimum concurrency
+     */
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    /**
+     * Retrieves the maximum number of promises the partition may run at once.
+     *
+     * @return the maximum concurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        manager.threadPool().returnToPool(executionThread);
+        manager.release(this);
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
+        manager.dispatch();
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        Tracing.promiseRunning(promise, executionThread);
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        Tracing.executionThreadRetired(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        List<Promise<?>> unstarted = lifecycle.shutdownNow();
+        List<ExecutionPair> dropped;
+        synchronized (manager) {
+            dropped = new ArrayList<>(queue);
+            queue.clear();
+        }
+        // Queued promises never reach a thread now, including ones cancelled before.
+        dropped.forEach(executionPair -> lifecycle.abandon(executionPair.promise()));
+        return unstarted;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{name=" + name + ", metrics=" + metrics + '}';
+    }
+
+    void start(ExecutionPair executionPair, ExecutionThread executionThread) {
+        executionThread.queuePromise(
+                executionPair.promise(), executionPair.executionSettings(), this);
+    }
+
+    boolean hasQueued() {
+        return !queue.isEmpty();
+    }
+
+    ExecutionPair pollQueued() {
+        return queue.poll();
+    }
+
+    int getRunning() {
+        return running;
+    }
+
+    void setRunning(int running) {
+        this.running = running;
+        metrics.setActiveThreads(running);
+        metrics.setAvailableThreads(maxConcurrency - running);
+    }
+}
@@ -0,0 +1,276 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BulkheadManager class divides one fixed budget of worker threads between named {@link
+ * Bulkhead} partitions, so a busy subsystem cannot take every thread from the others.
+ *
+ * <p>Every partition is guaranteed its minimum concurrency, which is reserved out of the budget
+ * when the partition is created. Above its minimum a partition may grow up to its maximum using the
+ * part of the budget that nobody has reserved. When lending is enabled, a partition may also use
+ * the reserved threads of partitions that have nothing queued, while partitions that are waiting
+ * for threads keep their reservation. Lent threads are handed back as the promises running on them
+ * finish, running promises are never preempted.
+ *
+ * <pre>{@code
+ * BulkheadManager manager = new BulkheadManager(16, true);
+ * Executor checkout = new Executor(manager.createPartition("checkout", 4, 12));
+ * Executor reports = new Executor(manager.createPartition("reports", 1, 4));
+ * }</pre>
+ */
+public class BulkheadManager {
+    private static final Logger LOGGER = LogManager.getLogger(BulkheadManager.class);
+    private final int budget;
+    private final boolean lendIdleCapacity;
+    private final ThreadPool threadPool;
+    private final Map<String, Bulkhead> partitions = new LinkedHashMap<>();
+    private int reserved;
+    private int running;
+    private int overflow;
+    private int nextPartition;
+    private boolean shutdown;
+
+    /**
+     * Creates a BulkheadManager with the given number of worker threads that lends idle capacity
+     * between partitions.
+     *
+     * @param budget the number of worker threads shared by all partitions
+     */
+    public BulkheadManager(int budget) {
+        this(budget, true);
+    }
+
+    /**
+     * Creates a BulkheadManager with the given number of worker threads.
+     *
+     * @param budget the number of worker threads shared by all partitions
+     * @param lendIdleCapacity whether partitions may use the reserved threads of idle partitions
+     */
+    public BulkheadManager(int budget, boolean lendIdleCapacity) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Budget must be at least 1");
+        }
+        this.budget = budget;
+        this.lendIdleCapacity = lendIdleCapacity;
+        this.threadPool =
+                new FixedThreadPool(
+                        new Pool(
+                                budget,
+                                new PoolOptions()
+                                        .setWaitFor(false)
+                                        .setEnableScaling(false)
+                                        .setMaxCapacity(budget)));
+    }
+
+    /**
+     * Creates a partition with the given name and concurrency limits.
+     *
+     * @param name the name of the partition
+     * @param minConcurrency the number of threads reserved for the partition
+     * @param maxConcurrency the maximum number of promises the partition may run at once
+     * @return the new partition
+     * @throws IllegalArgumentException if the name is already used, the limits are invalid or the
+     *     minimum does not fit in the unreserved budget
+     */
+    public synchronized Bulkhead createPartition(
+            String name, int minConcurrency, int maxConcurrency) {
+        if (partitions.containsKey(name)) {
+            throw new IllegalArgumentException("Partition " + name + " already exists");
+        }
+        if (minConcurrency < 0 || maxConcurrency < Math.max(1, minConcurrency)) {
+            throw new IllegalArgumentException("Invalid concurrency limits for " + name);
+        }
+        if (reserved + minConcurrency > budget) {
+            throw new IllegalArgumentException(
+                    "Cannot reserve "
+                            + minConcurrency
+                            + " threads for "
+                            + name
+                            + ", only "
+                            + (budget - reserved)
+                            + " are unreserved");
+        }
+        Bulkhead bulkhead = new Bulkhead(this, name, minConcurrency, maxConcurrency);
+        partitions.put(name, bulkhead);
+        reserved += minConcurrency;
+        LOGGER.debug("Created partition {} ({}-{})", name, minConcurrency, maxConcurrency);
+        return bulkhead;
+    }
+
+    /**
+     * Retrieves the partition with the given name.
+     *
+     * @param name the name of the partition
+     * @return the partition, or null if there is no partition with that name
+     */
+    public synchronized Bulkhead getPartition(String name) {
+        return partitions.get(name);
+    }
+
+    /**
+     * Retrieves every partition, in the order they were created.
+     *
+     * @return the partitions
+     */
+    public synchronized Collection<Bulkhead> getPartitions() {
+        return List.copyOf(partitions.values());
+    }
+
+    /**
+     * Retrieves the number of worker threads shared by all partitions.
+     *
+     * @return the budget
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Shuts down every partition. The worker threads are released once every partition has
+     * terminated.
+     */
+    public void shutdown() {
+        List<Bulkhead> bulkheads;
+        synchronized (this) {
+            shutdown = true;
+            bulkheads = new ArrayList<>(partitions.values());
+        }
+        bulkheads.forEach(Bulkhead::shutdown);
+        onPartitionTerminated();
+    }
+
+    /**
+     * Waits until every partition has terminated.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if every partition terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Bulkhead bulkhead : getPartitions()) {
+            long remaining = deadline - System.nanoTime();
+            if (!bulkhead.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    ThreadPool threadPool() {
+        return threadPool;
+    }
+
+    /** Starts as many queued promises as the partition limits and the budget allow. */
+    void dispatch() {
+        List<Start> starts = new ArrayList<>();
+        synchronized (this) {
+            List<Bulkhead> bulkheads = new ArrayList<>(partitions.values());
+            boolean progress = true;
+            dispatching:
+            while (progress && running < budget) {
+                progress = false;
+                for (int i = 0; i < bulkheads.size() && running < budget; i++) {
+                    Bulkhead bulkhead = bulkheads.get((nextPartition + i) % bulkheads.size());
+                    if (!bulkhead.hasQueued() || !admits(bulkhead)) {
+                        continue;
+                    }
+                    ExecutionThread executionThread = threadPool.borrow();
+                    if (executionThread == null) {
+                        LOGGER.warn("No ExecutionThread available for {}", bulkhead);
+                        break dispatching;
+                    }
+                    acquire(bulkhead);
+                    starts.add(new Start(bulkhead, bulkhead.pollQueued(), executionThread));
+                    progress = true;
+                }
+                nextPartition = bulkheads.isEmpty() ? 0 : (nextPartition + 1) % bulkheads.size();
+            }
+        }
+        for (Start start : starts) {
+            start.bulkhead().start(start.executionPair(), start.executionThread());
+        }
+    }
+
+    /**
+     * Gives back the slot of a promise that has finished on the given partition.
+     *
+     * @param bulkhead the partition the promise ran on
+     */
+    synchronized void release(Bulkhead bulkhead) {
+        if (bulkhead.getRunning() > bulkhead.getMinConcurrency()) {
+            overflow--;
+        }
+        bulkhead.setRunning(bulkhead.getRunning() - 1);
+        running--;
+    }
+
+    void onPartitionTerminated() {
+        synchronized (this) {
+            if (!shutdown || threadPool.isShutdown()) {
+                return;
+            }
+            for (Bulkhead bulkhead : partitions.values()) {
+                if (!bulkhead.isTerminated()) {
+                    return;
+                }
+            }
+        }
+        LOGGER.debug("All partitions terminated, releasing worker threads");
+        threadPool.shutdown();
+    }
+
+    private boolean admits(Bulkhead bulkhead) {
+        int inFlight = bulkhead.getRunning();
+        if (inFlight >= bulkhead.getMaxConcurrency()) {
+            return false;
+        }
+        if (inFlight < bulkhead.getMinConcurrency()) {
+            return true;
+        }
+        return overflow < budget - reserved + (lendIdleCapacity ? idleReserved() : 0);
+    }
+
+    /**
+     * Counts the reserved threads that may be lent, which are the unused part of the minimum of
+     * every partition that has nothing queued. Partitions that are waiting for threads keep their
+     * reservation.
+     */
+    private int idleReserved() {
+        int idle = 0;
+        for (Bulkhead bulkhead : partitions.values()) {
+            if (!bulkhead.hasQueued()) {
+                idle += Math.max(0, bulkhead.getMinConcurrency() - bulkhead.getRunning());
+            }
+        }
+        return idle;
+    }
+
+    private void acquire(Bulkhead bulkhead) {
+        if (bulkhead.getRunning() >= bulkhead.getMinConcurrency()) {
+            overflow++;
+        }
+        bulkhead.setRunning(bulkhead.getRunning() + 1);
+        running++;
+    }
+
+    private record Start(
+            Bulkhead bulkhead, ExecutionPair executionPair, ExecutionThread executionThread) {}
+}
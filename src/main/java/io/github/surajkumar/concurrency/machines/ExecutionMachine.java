@@ -5,10 +5,22 @@ import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
 import io.github.surajkumar.concurrency.threads.ExecutionThreadWatcher;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The ExecutionMachine interface represents a machine that executes promises using different
  * strategies. It provides methods to execute promises, get the thread pool, and implements the
  * ExecutionThreadWatcher interface for monitoring promise execution.
+ *
+ * <p>A machine is shut down in two steps. {@link #shutdown()} stops it from accepting promises and
+ * lets the promises it has already accepted finish, after which it releases its threads. {@link
+ * #awaitTermination(long, TimeUnit)} waits for that to happen, and {@link #shutdownNow()} cancels
+ * whatever has not started yet.
+ *
+ * <p>The lifecycle methods have default implementations that shut down the thread pool of the
+ * machine, so machines written before they existed keep working. Such machines do not track the
+ * promises they have accepted, and cannot tell when those have finished.
  */
 public interface ExecutionMachine extends ExecutionThreadWatcher {
     /**
@@ -25,4 +37,71 @@ public interface ExecutionMachine extends ExecutionThreadWatcher {
      * @return the thread pool
      */
     ThreadPool threadPool();
+
+    /**
+     * Stops the machine from accepting promises. Promises that have already been accepted,
+     * including queued ones, still run, and the machine releases its threads once they have
+     * finished. If the machine has already been shut down, calling this method has no effect.
+     *
+     * <p>The default implementation shuts down the thread pool of the machine, if it has one.
+     */
+    default void shutdown() {
+        ThreadPool threadPool = threadPool();
+        if (threadPool != null) {
+            threadPool.shutdown();
+        }
+    }
+
+    /**
+     * Stops the machine from accepting promises, cancels every accepted promise that has not
+     * started yet and asks the running ones to stop through their {@link
+     * io.github.surajkumar.concurrency.promise.CancellationToken}.
+     *
+     * <p>The default implementation calls {@link #shutdown()} and cancels nothing, as it does not
+     * know which promises the machine has accepted.
+     *
+     * @return the promises that were cancelled before they started
+     */
+    default List<Promise<?>> shutdownNow() {
+        shutdown();
+        return List.of();
+    }
+
+    /**
+     * Waits until the machine has been shut down and every promise it accepted has finished.
+     *
+     * <p>The default implementation does not wait and reports whether {@link #isTerminated()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the machine terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    default boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return isTerminated();
+    }
+
+    /**
+     * Checks if the machine has been shut down.
+     *
+     * <p>The default implementation checks whether the thread pool of the machine has been shut
+     * down.
+     *
+     * @return true if the machine has been shut down, false otherwise
+     */
+    default boolean isShutdown() {
+        ThreadPool threadPool = threadPool();
+        return threadPool != null && threadPool.isShutdown();
+    }
+
+    /**
+     * Checks if the machine has been shut down and every promise it accepted has finished.
+     *
+     * <p>The default implementation treats a machine that has been shut down as terminated.
+     *
+     * @return true if the machine has terminated, false otherwise
+     */
+    default boolean isTerminated() {
+        return isShutdown();
+    }
 }
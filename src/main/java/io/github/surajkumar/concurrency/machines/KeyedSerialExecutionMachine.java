@@ -0,0 +1,266 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The KeyedSerialExecutionMachine class is an ExecutionMachine that wraps another machine and runs
+ * promises with the same {@link ExecutionSettings#getKey() key} one at a time, in the order they
+ * were submitted, while promises with different keys run concurrently on the wrapped machine.
+ * Promises without a key are passed straight through.
+ *
+ * <p>Each key that has a promise running gets a lane, a small queue of the promises waiting behind
+ * it. Lanes hold no thread: when the running promise settles, the next promise in its lane is
+ * handed to the wrapped machine, and a lane with nothing left is removed. Only keys with work in
+ * progress cost memory, so any number of keys can share one pool.
+ *
+ * <p>A promise that is handed back for a {@link Promise#isRetrying() retry} still holds its lane,
+ * so it goes straight to the wrapped machine instead of queueing behind itself.
+ *
+ * <pre>{@code
+ * ExecutionMachine machine = new KeyedSerialExecutionMachine(
+ *         new PooledExecutionMachine(new DynamicThreadPool()));
+ * executor.run(new ExecutionSettings().setKey(accountId), promise);
+ * }</pre>
+ */
+public class KeyedSerialExecutionMachine implements ExecutionMachine {
+    private static final Logger LOGGER = LogManager.getLogger(KeyedSerialExecutionMachine.class);
+    private final ExecutionMachine delegate;
+    private final Map<Object, ArrayDeque<ExecutionPair>> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private final AtomicBoolean delegateShutdown = new AtomicBoolean();
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    /**
+     * Creates a KeyedSerialExecutionMachine.
+     *
+     * @param delegate the machine that runs the promises
+     */
+    public KeyedSerialExecutionMachine(ExecutionMachine delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        if (promise.isRetrying()) {
+            delegate.execute(promise, executionSettings);
+            return;
+        }
+        if (shutdown.get()) {
+            throw new ExecutionMachineShutdownException();
+        }
+        Object key = executionSettings == null ? null : executionSettings.getKey();
+        if (key == null) {
+            delegate.execute(promise, executionSettings);
+            return;
+        }
+        ExecutionPair executionPair = new ExecutionPair(promise, executionSettings);
+        boolean[] idle = new boolean[1];
+        // The lane is only touched inside compute, which locks the key's bin in the map.
+        lanes.compute(
+                key,
+                (k, lane) -> {
+                    if (lane == null) {
+                        idle[0] = true;
+                        return new ArrayDeque<>(2);
+                    }
+                    lane.add(executionPair);
+                    waitingCount.incrementAndGet();
+                    return lane;
+                });
+        if (!idle[0]) {
+            return;
+        }
+        try {
+            delegate.execute(promise, executionSettings);
+        } catch (RuntimeException e) {
+            next(key);
+            throw e;
+        }
+        if (settled(key, promise)) {
+            next(key);
+        }
+    }
+
+    @Override
+    public ThreadPool threadPool() {
+        return delegate.threadPool();
+    }
+
+    /**
+     * Retrieves the machine that runs the promises.
+     *
+     * @return the wrapped machine
+     */
+    public ExecutionMachine getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Retrieves the number of keys that have a promise running.
+     *
+     * @return the number of active lanes
+     */
+    public int getActiveKeys() {
+        return lanes.size();
+    }
+
+    /**
+     * Retrieves the number of promises waiting behind another promise with the same key.
+     *
+     * @return the number of waiting promises
+     */
+    public int getQueuedPromises() {
+        return waitingCount.get();
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseComplete(promise, executionThread);
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseRunning(promise, executionThread);
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        delegate.onExecutionThreadRetirement(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        if (lanes.isEmpty()) {
+            shutdownDelegate();
+        }
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        shutdown.set(true);
+        List<Promise<?>> unstarted = new ArrayList<>();
+        for (Object key : lanes.keySet()) {
+            lanes.computeIfPresent(
+                    key,
+                    (k, lane) -> {
+                        ExecutionPair executionPair;
+                        while ((executionPair = lane.poll()) != null) {
+                            waitingCount.decrementAndGet();
+                            if (executionPair.promise().cancel()) {
+                                unstarted.add(executionPair.promise());
+                            }
+                        }
+                        return lane;
+                    });
+        }
+        unstarted.addAll(delegate.shutdownNow());
+        shutdownDelegate();
+        return unstarted;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!drained.await(timeout, unit)) {
+            return false;
+        }
+        return delegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return drained.getCount() == 0 && delegate.isTerminated();
+    }
+
+    /**
+     * Hands the next promise in the lane of the given key to the wrapped machine, skipping
+     * cancelled promises, or removes the lane if it is empty.
+     */
+    private void next(Object key) {
+        ExecutionPair[] next = new ExecutionPair[1];
+        for (; ; ) {
+            lanes.computeIfPresent(
+                    key,
+                    (k, lane) -> {
+                        next[0] = lane.poll();
+                        if (next[0] == null) {
+                            return null;
+                        }
+                        waitingCount.decrementAndGet();
+                        return lane;
+                    });
+            ExecutionPair executionPair = next[0];
+            if (executionPair == null) {
+                if (shutdown.get() && lanes.isEmpty()) {
+                    shutdownDelegate();
+                }
+                return;
+            }
+            Promise<?> promise = executionPair.promise();
+            if (promise.isCancelled()) {
+                continue;
+            }
+            try {
+                delegate.execute(promise, executionPair.executionSettings());
+            } catch (RuntimeException e) {
+                LOGGER.error("{} rejected a keyed promise", delegate, e);
+                promise.cancel();
+                continue;
+            }
+            if (!settled(key, promise)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Arranges for the lane of the given key to move on once the promise settles. A promise that
+     * settled already, for example because the wrapped machine ran it on the calling thread, is
+     * left to the caller, so a long lane is worked through in a loop instead of a deep recursion.
+     *
+     * @return true if the promise has already settled and the caller has to move the lane on
+     */
+    private boolean settled(Object key, Promise<?> promise) {
+        // Whoever takes the flag first decides, the listener if the promise settled meanwhile.
+        AtomicBoolean claimed = new AtomicBoolean();
+        promise.whenSettled(
+                () -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        next(key);
+                    }
+                });
+        return !claimed.compareAndSet(false, true);
+    }
+
+    private void shutdownDelegate() {
+        if (delegateShutdown.compareAndSet(false, true)) {
+            delegate.shutdown();
+            drained.countDown();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.surajkumar.concurrency.machines;
+
+/**
+ * The LimitAlgorithm interface represents an algorithm that decides how many promises an {@link
+ * AdaptiveConcurrencyExecutionMachine} lets in flight at once. It is told the latency of every
+ * promise that settles and adjusts the limit from it. Implementations must be thread-safe, as
+ * samples arrive from every thread that settles a promise.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * Retrieves the current limit.
+     *
+     * @return the number of promises allowed in flight at once
+     */
+    int getLimit();
+
+    /**
+     * Adjusts the limit from a settled promise.
+     *
+     * @param rttNanos the time from handing the promise to the wrapped machine until it settled
+     * @param inFlight the number of promises in flight when it settled, including this one
+     * @param dropped true if the promise failed or timed out
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
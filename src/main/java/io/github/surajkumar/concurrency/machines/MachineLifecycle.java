@@ -0,0 +1,204 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The MachineLifecycle class tracks the promises an {@link ExecutionMachine} has accepted, so the
+ * machine can stop taking new promises, wait for the accepted ones to finish and release its
+ * threads once they have. A promise counts as outstanding from the moment it is accepted until its
+ * thread reports it complete. The same promise may be accepted more than once.
+ *
+ * <p>Accepting and completing a promise costs one update of a map each, and starting one costs
+ * nothing. The map is kept because {@link #shutdownNow()} has to find the promises to cancel. It
+ * tells the ones that have not started from the running ones by their status: a promise that is
+ * still {@link Status#NOT_STARTED} and is cancelled before a thread starts it never runs.
+ *
+ * <p>A promise that completes an attempt while it {@link Promise#isRetrying() waits for a retry}
+ * stays outstanding until it settles, so the machine does not terminate during its backoff, and
+ * handing it back is accepted even after shutdown.
+ */
+final class MachineLifecycle {
+    private static final Logger LOGGER = LogManager.getLogger(MachineLifecycle.class);
+    private final Map<Promise<?>, Integer> accepted = new ConcurrentHashMap<>();
+    private final Set<Promise<?>> backingOff = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final Runnable onTermination;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a MachineLifecycle.
+     *
+     * @param onTermination called once, after shutdown, when every accepted promise has finished
+     */
+    MachineLifecycle(Runnable onTermination) {
+        this.onTermination = onTermination;
+    }
+
+    /**
+     * Records that a promise has been accepted by the machine.
+     *
+     * @param promise the accepted promise
+     * @throws ExecutionMachineShutdownException if the machine has been shut down and the promise
+     *     is not a retry of a promise it accepted before
+     */
+    void accept(Promise<?> promise) {
+        if (promise.isRetrying() && backingOff.remove(promise)) {
+            // Still outstanding from the attempt that failed.
+            return;
+        }
+        outstanding.incrementAndGet();
+        if (shutdown) {
+            release();
+            throw new ExecutionMachineShutdownException();
+        }
+        accepted.merge(promise, 1, Integer::sum);
+    }
+
+    /**
+     * Forgets a promise that was accepted but could not be handed to a thread, or that the machine
+     * dropped from its own queue without running it.
+     *
+     * @param promise the promise
+     */
+    void abandon(Promise<?> promise) {
+        if (take(promise)) {
+            release();
+        }
+    }
+
+    /**
+     * Records that a thread has finished a promise.
+     *
+     * @param promise the promise
+     */
+    void completed(Promise<?> promise) {
+        if (promise.isRetrying()) {
+            if (accepted.containsKey(promise) && backingOff.add(promise)) {
+                // Releases the promise if it settles without being handed back, such as when it
+                // is cancelled during its backoff.
+                promise.whenSettled(
+                        () -> {
+                            if (backingOff.remove(promise)) {
+                                abandon(promise);
+                            }
+                        });
+            }
+            return;
+        }
+        abandon(promise);
+    }
+
+    /** Stops accepting promises. Accepted promises still run. */
+    void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    /**
+     * Stops accepting promises, cancels the promises that have not started and asks the running
+     * ones to stop.
+     *
+     * @return the promises that had not started
+     */
+    List<Promise<?>> shutdownNow() {
+        shutdown = true;
+        List<Promise<?>> unstarted = new ArrayList<>();
+        for (Promise<?> promise : accepted.keySet()) {
+            // Read before the status, so a thread that starts the promise meanwhile changes it.
+            int attempts = promise.getAttempts();
+            if (promise.getStatus() != Status.NOT_STARTED || backingOff.contains(promise)) {
+                continue;
+            }
+            promise.cancel();
+            if (promise.isCancelled() && promise.getAttempts() == attempts) {
+                Integer count = accepted.remove(promise);
+                if (count != null) {
+                    unstarted.add(promise);
+                    outstanding.addAndGet(-count);
+                }
+            }
+        }
+        accepted.keySet().forEach(Promise::cancel);
+        LOGGER.debug("Cancelled {} unstarted promises", unstarted.size());
+        tryTerminate();
+        return unstarted;
+    }
+
+    /**
+     * Waits until the machine has been shut down and every accepted promise has finished.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the machine terminated, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!terminated.get()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
+    }
+
+    boolean isShutdown() {
+        return shutdown;
+    }
+
+    boolean isTerminated() {
+        return terminated.get();
+    }
+
+    private void release() {
+        if (outstanding.decrementAndGet() == 0) {
+            tryTerminate();
+        }
+    }
+
+    private void tryTerminate() {
+        if (shutdown && outstanding.get() == 0 && terminated.compareAndSet(false, true)) {
+            LOGGER.debug("All promises finished, terminating");
+            try {
+                onTermination.run();
+            } finally {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private boolean take(Promise<?> promise) {
+        for (; ; ) {
+            Integer count = accepted.get(promise);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1
+                    ? accepted.remove(promise, count)
+                    : accepted.replace(promise, count, count - 1)) {
+                return true;
+            }
+        }
+    }
+}
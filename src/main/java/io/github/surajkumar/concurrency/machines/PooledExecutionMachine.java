@@ -5,48 +5,93 @@ import io.github.surajkumar.concurrency.pools.ThreadPool;
 import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
 import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The PooledExecutionMachine class implements the ExecutionMachine interface. It uses a ThreadPool
  * to execute Promise instances.
- *
- * @param threadPool The ThreadPool to use for this machine
  */
-public record PooledExecutionMachine(ThreadPool threadPool) implements ExecutionMachine {
-    private static final Logger LOGGER = LogManager.getLogger(PooledExecutionMachine.class);
+public final class PooledExecutionMachine implements ExecutionMachine {
+    private final ThreadPool threadPool;
+    private final MachineLifecycle lifecycle;
+
+    /**
+     * Creates a PooledExecutionMachine that runs promises on the given ThreadPool.
+     *
+     * @param threadPool The ThreadPool to use for this machine
+     */
+    public PooledExecutionMachine(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+        this.lifecycle = new MachineLifecycle(threadPool::shutdown);
+    }
 
     @Override
     public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
-        LOGGER.debug("Executing promise {}", promise);
+        lifecycle.accept(promise);
         ExecutionThread executionThread = threadPool.borrow();
         if (executionThread != null) {
             executionSettings.setName("PooledThreadedExecution");
-            executionThread.addWatcher(this);
-            executionThread.queuePromise(promise, executionSettings);
+            executionThread.queuePromise(promise, executionSettings, this);
         } else {
+            lifecycle.abandon(promise);
             throw new NoExecutionThreadAvailableException();
         }
     }
 
+    @Override
+    public ThreadPool threadPool() {
+        return threadPool;
+    }
+
     @Override
     public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
-        executionThread.removeWatcher(this);
+        Objects.requireNonNull(executionThread, "executionThread");
         threadPool.returnToPool(executionThread);
-        LOGGER.debug("Promised Completed, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
     }
 
     @Override
     public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
-        LOGGER.debug("Promise started: {}", promise.getMetrics());
+        Tracing.promiseRunning(promise, executionThread);
     }
 
     @Override
     public void onExecutionThreadRetirement(ExecutionThread executionThread) {
-        executionThread.removeWatcher(this);
-        LOGGER.debug(
-                "ExecutionThread Retired, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.executionThreadRetired(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        return lifecycle.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
+    }
+
+    @Override
+    public String toString() {
+        return "PooledExecutionMachine{threadPool=" + threadPool + '}';
     }
 }
@@ -0,0 +1,215 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.threads.PriorityExecutionQueue;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PriorityExecutionMachine class is an ExecutionMachine that runs promises in order of their
+ * {@link ExecutionSettings#getPriority() priority} on a shared ThreadPool. Promises are held in a
+ * {@link PriorityExecutionQueue} until a thread is free, and every time a promise completes the
+ * most urgent waiting promise is dispatched next. Waiting promises age, so low priority work is
+ * delayed but never starved.
+ */
+public class PriorityExecutionMachine implements ExecutionMachine {
+    private static final Logger LOGGER = LogManager.getLogger(PriorityExecutionMachine.class);
+    private static final int DEFAULT_LEVELS = 3;
+    private static final long DEFAULT_AGING_MILLIS = 100;
+    private static final long DISPATCH_RETRY_MILLIS = 10;
+    private final ThreadPool threadPool;
+    private final PriorityExecutionQueue queue;
+    private final int maxConcurrency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final MachineLifecycle lifecycle;
+
+    /**
+     * Creates a PriorityExecutionMachine with its own pool of the given number of threads, three
+     * priority levels (0, 1 and 2) and an aging interval of 100 milliseconds.
+     *
+     * @param threads the number of threads
+     */
+    public PriorityExecutionMachine(int threads) {
+        this(
+                new FixedThreadPool(
+                        new Pool(
+                                threads,
+                                new PoolOptions()
+                                        .setWaitFor(true)
+                                        .setEnableScaling(false)
+                                        .setMaxCapacity(threads))),
+                threads,
+                DEFAULT_LEVELS,
+                DEFAULT_AGING_MILLIS);
+    }
+
+    /**
+     * Creates a PriorityExecutionMachine that runs promises on the given ThreadPool.
+     *
+     * @param threadPool the ThreadPool to run promises on
+     * @param maxConcurrency the maximum number of promises dispatched to the pool at once, which
+     *     should not exceed the number of threads the pool can lend
+     * @param levels the number of priority levels, priorities are clamped to 0 to levels - 1
+     * @param agingMillis the time after which a waiting promise is raised by one level, or 0 to
+     *     disable aging
+     */
+    public PriorityExecutionMachine(
+            ThreadPool threadPool, int maxConcurrency, int levels, long agingMillis) {
+        this.threadPool = threadPool;
+        this.maxConcurrency = maxConcurrency;
+        this.queue = new PriorityExecutionQueue(levels, agingMillis);
+        this.lifecycle = new MachineLifecycle(threadPool::shutdown);
+    }
+
+    @Override
+    public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        lifecycle.accept(promise);
+        if (executionSettings.getName() == null) {
+            executionSettings.setName("PriorityExecution");
+        }
+        queue.offer(new ExecutionPair(promise, executionSettings));
+        dispatch();
+    }
+
+    @Override
+    public ThreadPool threadPool() {
+        return threadPool;
+    }
+
+    /**
+     * Retrieves the number of promises waiting for a thread.
+     *
+     * @return the number of waiting promises
+     */
+    public int getQueuedPromises() {
+        return queue.size();
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        threadPool.returnToPool(executionThread);
+        inFlight.decrementAndGet();
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
+        dispatch();
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        Tracing.promiseRunning(promise, executionThread);
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        Tracing.executionThreadRetired(executionThread);
+    }
+
+    private void dispatch() {
+        for (; ; ) {
+            if (queue.isEmpty()) {
+                return;
+            }
+            int current = inFlight.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            // Borrow before polling, so a promise only leaves its lane once it has a thread and
+            // keeps its place and its age otherwise.
+            ExecutionThread executionThread;
+            try {
+                executionThread = threadPool.borrow();
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+            if (executionThread == null) {
+                LOGGER.debug("No ExecutionThread available, {} promises waiting", queue.size());
+                if (inFlight.decrementAndGet() == 0) {
+                    // No completion is coming to dispatch again, which happens with shared pools
+                    // or pools that do not wait for a thread.
+                    scheduleDispatch();
+                }
+                return;
+            }
+            ExecutionPair executionPair = queue.poll();
+            if (executionPair == null) {
+                threadPool.returnToPool(executionThread);
+                inFlight.decrementAndGet();
+                continue;
+            }
+            executionThread.queuePromise(
+                    executionPair.promise(), executionPair.executionSettings(), this);
+        }
+    }
+
+    private void scheduleDispatch() {
+        if (!dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual()
+                .name("PriorityDispatch")
+                .start(
+                        () -> {
+                            try {
+                                Thread.sleep(DISPATCH_RETRY_MILLIS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            dispatchScheduled.set(false);
+                            try {
+                                dispatch();
+                            } catch (RuntimeException e) {
+                                LOGGER.warn("Could not dispatch waiting promises", e);
+                            }
+                        });
+    }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        List<Promise<?>> unstarted = lifecycle.shutdownNow();
+        ExecutionPair executionPair;
+        while ((executionPair = queue.poll()) != null) {
+            // Queued promises never reach a thread now, including ones cancelled before.
+            lifecycle.abandon(executionPair.promise());
+        }
+        return unstarted;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.surajkumar.concurrency.machines;
+
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionPair;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The RateLimitedExecutionMachine class is an ExecutionMachine that wraps another machine and
+ * limits how many promises per second are handed to it, to protect a downstream service.
+ *
+ * <p>The limit is a token bucket that refills at the given rate and holds up to the burst size,
+ * implemented lock-free as a generic cell rate algorithm over a single atomic timestamp. A promise
+ * that finds a token is passed straight to the wrapped machine on the calling thread. Any other
+ * promise waits in this machine's queue, not on a worker thread, and a single virtual thread hands
+ * waiting promises on in order as tokens become available. That thread is started when a promise
+ * has to wait and stops once the queue is empty.
+ *
+ * <p>Each {@link Promise#isRetrying() retry} of a promise calls the downstream service again, so it
+ * takes a token like any other promise. A retry that is handed back after this machine has been
+ * shut down and drained goes straight to the wrapped machine, which still counts the promise.
+ *
+ * <pre>{@code
+ * ExecutionMachine machine = new RateLimitedExecutionMachine(
+ *         new PooledExecutionMachine(new DynamicThreadPool()), 50, 10); // 50/s, bursts of 10
+ * }</pre>
+ */
+public class RateLimitedExecutionMachine implements ExecutionMachine {
+    private static final Logger LOGGER = LogManager.getLogger(RateLimitedExecutionMachine.class);
+    private final ExecutionMachine delegate;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final Queue<ExecutionPair> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private volatile Thread dispatcher;
+    private volatile boolean stopped;
+
+    /**
+     * Creates a RateLimitedExecutionMachine.
+     *
+     * @param delegate the machine that runs the promises
+     * @param permitsPerSecond the sustained number of promises per second handed to the delegate
+     * @param burst the number of promises that may be handed over at once after an idle period
+     * @throws IllegalArgumentException if the rate is not positive or the burst is less than 1
+     */
+    public RateLimitedExecutionMachine(
+            ExecutionMachine delegate, double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate must be > 0 and burst must be >= 1");
+        }
+        this.delegate = delegate;
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+    }
+
+    @Override
+    public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        boolean retry = promise.isRetrying();
+        if (shutdown.get() && !retry) {
+            throw new ExecutionMachineShutdownException();
+        }
+        if (waitingCount.get() == 0 && tryAcquire() == 0) {
+            delegate.execute(promise, executionSettings);
+            return;
+        }
+        ExecutionPair executionPair = new ExecutionPair(promise, executionSettings);
+        waitingCount.incrementAndGet();
+        waiting.add(executionPair);
+        // The dispatcher may have stopped after the check above, take the promise back if so.
+        if (stopped && waiting.remove(executionPair)) {
+            waitingCount.decrementAndGet();
+            if (!retry) {
+                throw new ExecutionMachineShutdownException();
+            }
+            delegate.execute(promise, executionSettings);
+            return;
+        }
+        wakeDispatcher();
+    }
+
+    @Override
+    public ThreadPool threadPool() {
+        return delegate.threadPool();
+    }
+
+    /**
+     * Retrieves the machine that runs the promises.
+     *
+     * @return the wrapped machine
+     */
+    public ExecutionMachine getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Retrieves the sustained number of promises per second handed to the wrapped machine.
+     *
+     * @return the rate limit
+     */
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Retrieves the number of promises waiting for a token.
+     *
+     * @return the number of waiting promises
+     */
+    public int getQueuedPromises() {
+        return waitingCount.get();
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseComplete(promise, executionThread);
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        delegate.onPromiseRunning(promise, executionThread);
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        delegate.onExecutionThreadRetirement(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        if (shutdown.compareAndSet(false, true)) {
+            wakeDispatcher();
+        }
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        shutdown.set(true);
+        List<Promise<?>> unstarted = new ArrayList<>();
+        ExecutionPair executionPair;
+        while ((executionPair = waiting.poll()) != null) {
+            waitingCount.decrementAndGet();
+            if (executionPair.promise().cancel()) {
+                unstarted.add(executionPair.promise());
+            }
+        }
+        wakeDispatcher();
+        unstarted.addAll(delegate.shutdownNow());
+        return unstarted;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!drained.await(timeout, unit)) {
+            return false;
+        }
+        return delegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return drained.getCount() == 0 && delegate.isTerminated();
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    private long tryAcquire() {
+        for (; ; ) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long next = start + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Starts the dispatcher if it is not running, or wakes it up if it is. */
+    private void wakeDispatcher() {
+        if (dispatching.compareAndSet(false, true)) {
+            Thread thread =
+                    Thread.ofVirtual().name("RateLimitedDispatcher").unstarted(this::dispatch);
+            // Set before the thread starts, so a promise queued by a caller that unparked the
+            // previous dispatcher is still seen by the first peek of this one.
+            dispatcher = thread;
+            thread.start();
+        } else {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void dispatch() {
+        for (; ; ) {
+            ExecutionPair executionPair = waiting.peek();
+            if (executionPair == null) {
+                if (shutdown.get()) {
+                    stopped = true;
+                    if (waiting.isEmpty()) {
+                        break;
+                    }
+                    stopped = false;
+                    continue;
+                }
+                dispatching.set(false);
+                // A promise or shutdown that came before the flag was cleared started no
+                // dispatcher, so look again.
+                if ((waiting.isEmpty() && !shutdown.get())
+                        || !dispatching.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (!executionPair.promise().isCancelled()) {
+                long wait = tryAcquire();
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                    continue;
+                }
+            }
+            executionPair = waiting.poll();
+            if (executionPair == null) {
+                continue;
+            }
+            waitingCount.decrementAndGet();
+            if (executionPair.promise().isCancelled()) {
+                continue;
+            }
+            try {
+                delegate.execute(executionPair.promise(), executionPair.executionSettings());
+            } catch (RuntimeException e) {
+                LOGGER.error("{} rejected a rate limited promise", delegate, e);
+                executionPair.promise().cancel();
+            }
+        }
+        delegate.shutdown();
+        drained.countDown();
+    }
+}
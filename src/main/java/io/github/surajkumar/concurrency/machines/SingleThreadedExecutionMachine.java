@@ -8,10 +8,14 @@ import io.github.surajkumar.concurrency.pools.ThreadPool;
 import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
 import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The SingleThreadedExecutionMachine class represents an execution machine that executes promises
  * using a single thread. It implements the ExecutionMachine interface.
@@ -19,6 +23,7 @@ import org.apache.logging.log4j.Logger;
 public class SingleThreadedExecutionMachine implements ExecutionMachine {
     private static final Logger LOGGER = LogManager.getLogger(SingleThreadedExecutionMachine.class);
     private final ThreadPool threadPool;
+    private final MachineLifecycle lifecycle;
 
     /**
      * The SingleThreadedExecutionMachine class represents an execution machine that executes
@@ -28,19 +33,20 @@ public class SingleThreadedExecutionMachine implements ExecutionMachine {
         PoolOptions options =
                 new PoolOptions().setWaitFor(true).setEnableScaling(false).setMaxCapacity(1);
         threadPool = new FixedThreadPool(new Pool(1, options));
+        lifecycle = new MachineLifecycle(threadPool::shutdown);
     }
 
     @Override
     public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
-        LOGGER.debug("Executing promise {}", promise);
+        lifecycle.accept(promise);
         ExecutionThread executionThread = threadPool.borrow();
         if (executionThread != null) {
             if (executionSettings.getName() == null) {
                 executionSettings.setName("SingleThreadedExecution");
             }
-            executionThread.addWatcher(this);
-            executionThread.queuePromise(promise, executionSettings);
+            executionThread.queuePromise(promise, executionSettings, this);
         } else {
+            lifecycle.abandon(promise);
             throw new NoExecutionThreadAvailableException();
         }
     }
@@ -52,18 +58,19 @@ public class SingleThreadedExecutionMachine implements ExecutionMachine {
 
     @Override
     public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
-        executionThread.removeWatcher(this);
         threadPool.returnToPool(executionThread);
-        LOGGER.debug("Promised Completed, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
     }
 
     @Override
     public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
-        LOGGER.debug("Promise started: {}", promise.getMetrics());
+        Tracing.promiseRunning(promise, executionThread);
     }
 
     @Override
     public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        Tracing.executionThreadRetired(executionThread);
         LOGGER.warn("{} has retired, spawning a new instance", executionThread);
         if (threadPool.isShutdown()) {
             LOGGER.warn("ThreadPool has been shutdown so cannot spawn a new instance");
@@ -72,4 +79,29 @@ public class SingleThreadedExecutionMachine implements ExecutionMachine {
                     ExecutionThread.createStarted("SingleExecutionThreadRespawned"));
         }
     }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        return lifecycle.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
+    }
 }
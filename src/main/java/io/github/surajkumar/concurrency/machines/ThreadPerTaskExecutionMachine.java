@@ -1,30 +1,107 @@
 package io.github.surajkumar.concurrency.machines;
 
-import io.github.surajkumar.concurrency.metrics.PromiseMetrics;
+import io.github.surajkumar.concurrency.exceptions.ExecutionThreadRetiredException;
 import io.github.surajkumar.concurrency.pools.ThreadPool;
 import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
 import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * The {@code ThreadPerTaskExecutionMachine} class is an implementation of the {@link
  * ExecutionMachine} interface that executes each task in a separate thread.
+ *
+ * <p>By default every task gets a new thread. Optionally a thread that has finished its task is
+ * kept in a bounded cache for a while and handed the next task, so short tasks do not pay for
+ * creating and tearing down an OS thread each. A thread still only ever runs one task at a time.
+ * The most recently finished thread is reused first, and threads that stay idle for longer than the
+ * idle time to live are retired. A thread whose task interrupted it is never reused.
+ *
+ * <p>Reusing threads gives up part of the isolation of a new thread per task:
+ *
+ * <ul>
+ *   <li>Values a task leaves in a {@link ThreadLocal} are still there for the next task on the same
+ *       thread, and {@link InheritableThreadLocal} values are not inherited from the thread that
+ *       submits the next task. Tasks that rely on fresh thread locals should remove their values
+ *       before they return, or run on a machine without a cache.
+ *   <li>Threads of a machine with a cache are daemon threads, so idle cached threads never keep the
+ *       JVM from exiting. Neither do running tasks, so a program should {@link #shutdown()} the
+ *       machine and {@link #awaitTermination(long, TimeUnit) await} its termination before it
+ *       returns from {@code main}.
+ * </ul>
+ *
+ * <p>Everything else a new thread would get is restored before a thread is reused: its name, and
+ * the priority and context class loader of the thread that submits the task. A handler for uncaught
+ * exceptions that a task installed is removed.
  */
 public class ThreadPerTaskExecutionMachine implements ExecutionMachine {
     private static final Logger LOGGER = LogManager.getLogger(ThreadPerTaskExecutionMachine.class);
+    private static final String THREAD_NAME = "ExecutionThread";
+    private final ConcurrentLinkedDeque<CachedThread> cache = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger cachedThreads = new AtomicInteger();
+    private final AtomicBoolean reaping = new AtomicBoolean();
+    private final int maxCachedThreads;
+    private final long idleTtlNanos;
+    private final MachineLifecycle lifecycle = new MachineLifecycle(this::retireCachedThreads);
 
     /**
      * The {@code ThreadPerTaskExecutionMachine} class is an implementation of the {@link
-     * ExecutionMachine} interface that executes each task in a separate thread.
+     * ExecutionMachine} interface that executes each task in a separate thread. Threads are not
+     * cached, so every task gets a new thread.
+     */
+    public ThreadPerTaskExecutionMachine() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a ThreadPerTaskExecutionMachine with the given thread cache. The threads of a machine
+     * with a cache are daemon threads.
+     *
+     * @param maxCachedThreads the maximum number of idle threads kept for reuse, or 0 to start a
+     *     new thread for every task
+     * @param idleTtlMillis the time an idle thread is kept before it is retired
+     * @throws IllegalArgumentException if either argument is negative, or the time to live is 0
+     *     while threads are cached
      */
-    public ThreadPerTaskExecutionMachine() {}
+    public ThreadPerTaskExecutionMachine(int maxCachedThreads, long idleTtlMillis) {
+        if (maxCachedThreads < 0 || idleTtlMillis < 0) {
+            throw new IllegalArgumentException("Cache size and idle time to live must not be < 0");
+        }
+        if (maxCachedThreads > 0 && idleTtlMillis == 0) {
+            throw new IllegalArgumentException("Cached threads need an idle time to live");
+        }
+        this.maxCachedThreads = maxCachedThreads;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMillis);
+    }
 
     @Override
     public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
-        ExecutionThread executionThread = ExecutionThread.createStarted();
+        lifecycle.accept(promise);
+        CachedThread cached;
+        while ((cached = cache.pollFirst()) != null) {
+            cachedThreads.decrementAndGet();
+            try {
+                reset(cached.executionThread().getThread());
+                cached.executionThread().queuePromise(promise, executionSettings);
+                return;
+            } catch (ExecutionThreadRetiredException e) {
+                LOGGER.trace("Cached {} has retired", cached.executionThread());
+            }
+        }
+        ExecutionThread executionThread =
+                maxCachedThreads > 0
+                        ? ExecutionThread.createStarted(THREAD_NAME, true)
+                        : ExecutionThread.createStarted(THREAD_NAME);
         executionThread.addWatcher(this);
         executionThread.queuePromise(promise, executionSettings);
     }
@@ -34,22 +111,131 @@ public class ThreadPerTaskExecutionMachine implements ExecutionMachine {
         return null;
     }
 
+    /**
+     * Retrieves the number of idle threads currently cached for reuse.
+     *
+     * @return the number of cached threads
+     */
+    public int getCachedThreads() {
+        return cachedThreads.get();
+    }
+
     @Override
     public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
-        executionThread.setRunning(false);
-        LOGGER.debug("Promised Completed, Execution Metrics: {}", executionThread.getMetrics());
+        // This runs on the thread that ran the promise, so its interrupt status is visible here.
+        if (lifecycle.isShutdown()
+                || Thread.currentThread().isInterrupted()
+                || !cacheThread(executionThread)) {
+            executionThread.setRunning(false);
+        }
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
     }
 
     @Override
     public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
-        PromiseMetrics metrics = promise.getMetrics();
-        LOGGER.debug("Promise started: {}", metrics.getStart());
-        LOGGER.debug("Memory usage: {}", metrics.getMemoryUsage());
+        Tracing.promiseRunning(promise, executionThread);
     }
 
     @Override
     public void onExecutionThreadRetirement(ExecutionThread executionThread) {
-        LOGGER.debug(
-                "ExecutionThread Retired, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.executionThreadRetired(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        return lifecycle.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
     }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
+    }
+
+    private boolean cacheThread(ExecutionThread executionThread) {
+        if (cachedThreads.incrementAndGet() > maxCachedThreads) {
+            cachedThreads.decrementAndGet();
+            return false;
+        }
+        cache.offerFirst(new CachedThread(executionThread, System.nanoTime()));
+        if (reaping.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("ThreadPerTaskCacheReaper").start(this::reapLoop);
+        }
+        return true;
+    }
+
+    /** Retires expired threads until the cache is empty, then stops until a thread is cached. */
+    private void reapLoop() {
+        long interval = Math.max(TimeUnit.NANOSECONDS.toMillis(idleTtlNanos) / 2, 1);
+        for (; ; ) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                reaping.set(false);
+                return;
+            }
+            long cutoff = System.nanoTime() - idleTtlNanos;
+            // The oldest threads are at the tail, so stop at the first one still within its TTL.
+            Iterator<CachedThread> oldestFirst = cache.descendingIterator();
+            while (oldestFirst.hasNext()) {
+                CachedThread cached = oldestFirst.next();
+                if (cached.idleSince() - cutoff > 0) {
+                    break;
+                }
+                retire(cached);
+            }
+            if (cache.isEmpty()) {
+                reaping.set(false);
+                // A thread cached before the flag was cleared started no reaper, so look again.
+                if (cache.isEmpty() || !reaping.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives a cached thread what a new thread created by the current thread would start with. The
+     * thread is idle until the promise is queued, which publishes these changes to it.
+     */
+    private static void reset(Thread thread) {
+        Thread submitter = Thread.currentThread();
+        thread.setName(THREAD_NAME);
+        thread.setPriority(submitter.getPriority());
+        thread.setContextClassLoader(submitter.getContextClassLoader());
+        thread.setUncaughtExceptionHandler(null);
+    }
+
+    private void retireCachedThreads() {
+        for (CachedThread cached : cache) {
+            retire(cached);
+        }
+    }
+
+    private void retire(CachedThread cached) {
+        // Only the caller that removes the entry owns the thread, execute may have just taken it.
+        if (cache.removeFirstOccurrence(cached)) {
+            cachedThreads.decrementAndGet();
+            cached.executionThread().setRunning(false);
+            LOGGER.trace("Retired idle {}", cached.executionThread());
+        }
+    }
+
+    /** An idle thread in the cache and the time it became idle. */
+    private record CachedThread(ExecutionThread executionThread, long idleSince) {}
 }
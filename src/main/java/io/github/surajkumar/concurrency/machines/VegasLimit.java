@@ -0,0 +1,120 @@
+package io.github.surajkumar.concurrency.machines;
+
+/**
+ * The VegasLimit class is a {@link LimitAlgorithm} based on TCP Vegas. It keeps the lowest latency
+ * seen as the latency of an unloaded downstream, and estimates how many promises are queued
+ * downstream from how far the latest latency is above it:
+ *
+ * <pre>{@code
+ * queue = ceil(limit * (1 - minRtt / rtt))
+ * }</pre>
+ *
+ * <p>With {@code log = max(1, log10(limit))}, the limit grows quickly while the estimated queue is
+ * at most {@code log}, grows by {@code log} while it is below {@code 3 * log}, holds while it is
+ * between {@code 3 * log} and {@code 6 * log}, and shrinks by {@code log} above that or when a
+ * promise fails. While less than half of the limit is in use the limit is left alone, as latency
+ * then says little about capacity.
+ *
+ * <p>Every {@code 30 * limit} samples the lowest latency is forgotten and measured again, so the
+ * algorithm can follow a downstream that has permanently become slower.
+ */
+public class VegasLimit implements LimitAlgorithm {
+    private static final int PROBE_MULTIPLIER = 30;
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+    private volatile int estimatedQueueSize;
+    private long rttNoLoadNanos;
+    private long samplesSinceProbe;
+
+    /** Creates a VegasLimit that starts at 20 and stays between 1 and 1000. */
+    public VegasLimit() {
+        this(20, 1, 1000);
+    }
+
+    /**
+     * Creates a VegasLimit.
+     *
+     * @param initialLimit the limit to start with
+     * @param minLimit the lowest the limit may fall to
+     * @param maxLimit the highest the limit may rise to
+     * @throws IllegalArgumentException if the limits are out of range
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Retrieves the number of promises estimated to be queued downstream at the latest sample.
+     *
+     * @return the estimated queue size
+     */
+    public int getEstimatedQueueSize() {
+        return estimatedQueueSize;
+    }
+
+    /**
+     * Retrieves the latency the algorithm currently assumes for an unloaded downstream.
+     *
+     * @return the lowest latency since the last probe in nanoseconds, or 0 before the first sample
+     */
+    public synchronized long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        rttNanos = Math.max(1, rttNanos);
+        int current = limit;
+        if (++samplesSinceProbe >= (long) PROBE_MULTIPLIER * current) {
+            samplesSinceProbe = 0;
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+        }
+        int log = Math.max(1, (int) Math.log10(current));
+        if (dropped) {
+            limit = Math.max(minLimit, current - log);
+            return;
+        }
+        if (inFlight * 2 < current) {
+            return;
+        }
+        int queue = (int) Math.ceil(current * (1 - (double) rttNoLoadNanos / rttNanos));
+        estimatedQueueSize = queue;
+        int next;
+        if (queue <= log) {
+            next = current + 6 * log;
+        } else if (queue < 3 * log) {
+            next = current + log;
+        } else if (queue > 6 * log) {
+            next = current - log;
+        } else {
+            return;
+        }
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+
+    @Override
+    public String toString() {
+        return "VegasLimit{limit="
+                + limit
+                + ", estimatedQueueSize="
+                + estimatedQueueSize
+                + ", rttNoLoadNanos="
+                + getRttNoLoadNanos()
+                + '}';
+    }
+}
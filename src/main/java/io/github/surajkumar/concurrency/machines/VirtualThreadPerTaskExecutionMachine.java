@@ -1,15 +1,15 @@
 package io.github.surajkumar.concurrency.machines;
 
-import io.github.surajkumar.concurrency.metrics.PromiseMetrics;
 import io.github.surajkumar.concurrency.pools.ThreadPool;
 import io.github.surajkumar.concurrency.promise.Promise;
 import io.github.surajkumar.concurrency.threads.ExecutionPair;
 import io.github.surajkumar.concurrency.threads.ExecutionSettings;
 import io.github.surajkumar.concurrency.threads.ExecutionThread;
 import io.github.surajkumar.concurrency.threads.ExecutionVirtualThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The VirtualThreadPerTaskExecutionMachine class represents an execution machine that creates a
@@ -17,8 +17,7 @@ import org.apache.logging.log4j.Logger;
  * methods to execute promises, manage thread pool, and handle promise events.
  */
 public class VirtualThreadPerTaskExecutionMachine implements ExecutionMachine {
-    private static final Logger LOGGER =
-            LogManager.getLogger(VirtualThreadPerTaskExecutionMachine.class);
+    private final MachineLifecycle lifecycle = new MachineLifecycle(() -> {});
 
     /**
      * The VirtualThreadPerTaskExecutionMachine class represents an execution machine that creates a
@@ -29,6 +28,7 @@ public class VirtualThreadPerTaskExecutionMachine implements ExecutionMachine {
 
     @Override
     public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+        lifecycle.accept(promise);
         ExecutionVirtualThread executionThread =
                 new ExecutionVirtualThread(new ExecutionPair(promise, executionSettings));
         executionThread.addWatcher(this);
@@ -43,19 +43,42 @@ public class VirtualThreadPerTaskExecutionMachine implements ExecutionMachine {
     @Override
     public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
         executionThread.setRunning(false);
-        LOGGER.debug("Promised Completed, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.promiseComplete(promise, executionThread);
+        lifecycle.completed(promise);
     }
 
     @Override
     public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
-        PromiseMetrics metrics = promise.getMetrics();
-        LOGGER.debug("Promise started: {}", metrics.getStart());
-        LOGGER.debug("Memory usage: {}", metrics.getMemoryUsage());
+        Tracing.promiseRunning(promise, executionThread);
     }
 
     @Override
     public void onExecutionThreadRetirement(ExecutionThread executionThread) {
-        LOGGER.debug(
-                "ExecutionThread Retired, Execution Metrics: {}", executionThread.getMetrics());
+        Tracing.executionThreadRetired(executionThread);
+    }
+
+    @Override
+    public void shutdown() {
+        lifecycle.shutdown();
+    }
+
+    @Override
+    public List<Promise<?>> shutdownNow() {
+        return lifecycle.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lifecycle.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lifecycle.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return lifecycle.isTerminated();
     }
 }
@@ -0,0 +1,125 @@
+package io.github.surajkumar.concurrency.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The CacheMetrics class is responsible for tracking metrics related to a PromiseCache. It keeps
+ * track of hits, misses, requests that joined a load already in flight, failed loads, refreshes and
+ * evictions.
+ */
+public class CacheMetrics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The CacheMetrics class is responsible for tracking metrics related to a PromiseCache. It
+     * keeps track of hits, misses, coalesced requests, failed loads, refreshes and evictions.
+     */
+    public CacheMetrics() {}
+
+    /**
+     * Returns the number of requests answered with a loaded value.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests that started a load.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of requests that joined a load already in flight instead of starting one.
+     *
+     * @return the number of coalesced requests
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of loads and refreshes that did not finish successfully.
+     *
+     * @return the number of failed loads
+     */
+    public long getLoadFailures() {
+        return loadFailures.get();
+    }
+
+    /**
+     * Returns the number of refreshes started ahead of expiry.
+     *
+     * @return the number of refreshes
+     */
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    /**
+     * Returns the number of entries evicted to keep the cache within its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** Increments the count of hits. */
+    public void incrementHits() {
+        hits.incrementAndGet();
+    }
+
+    /** Increments the count of misses. */
+    public void incrementMisses() {
+        misses.incrementAndGet();
+    }
+
+    /** Increments the count of coalesced requests. */
+    public void incrementCoalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    /** Increments the count of failed loads. */
+    public void incrementLoadFailures() {
+        loadFailures.incrementAndGet();
+    }
+
+    /** Increments the count of refreshes. */
+    public void incrementRefreshes() {
+        refreshes.incrementAndGet();
+    }
+
+    /** Increments the count of evictions. */
+    public void incrementEvictions() {
+        evictions.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{"
+                + "hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", coalesced="
+                + coalesced
+                + ", loadFailures="
+                + loadFailures
+                + ", refreshes="
+                + refreshes
+                + ", evictions="
+                + evictions
+                + '}';
+    }
+}
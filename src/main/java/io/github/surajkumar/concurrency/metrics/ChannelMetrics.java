@@ -9,6 +9,7 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class ChannelMetrics {
     private final AtomicLong sentMessages = new AtomicLong(0);
+    private final AtomicLong receivedMessages = new AtomicLong(0);
     private final AtomicInteger registeredObservers = new AtomicInteger(0);
 
     /**
@@ -26,6 +27,15 @@ public class ChannelMetrics {
         return sentMessages.get();
     }
 
+    /**
+     * Returns the total number of received messages.
+     *
+     * @return The total number of received messages.
+     */
+    public long getReceivedMessages() {
+        return receivedMessages.get();
+    }
+
     /**
      * Returns the total number of registered observers.
      *
@@ -59,4 +69,12 @@ public class ChannelMetrics {
     public void incrementSentMessages() {
         sentMessages.incrementAndGet();
     }
+
+    /**
+     * Increments the count of received messages in the ChannelMetrics class. This method is called
+     * when a message is taken from a channel by a consumer.
+     */
+    public void incrementReceivedMessages() {
+        receivedMessages.incrementAndGet();
+    }
 }
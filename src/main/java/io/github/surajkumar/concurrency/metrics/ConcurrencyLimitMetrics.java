@@ -0,0 +1,159 @@
+package io.github.surajkumar.concurrency.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents the metrics of an adaptive concurrency limit. It tracks the current limit,
+ * the number of promises in flight and waiting, the number of rejected and dropped promises, and
+ * the latencies the limit is derived from.
+ */
+public class ConcurrencyLimitMetrics {
+    private final AtomicInteger limit = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lastRttNanos = new AtomicLong();
+    private final AtomicLong minRttNanos = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * A set of metrics for an adaptive concurrency limit. Tracks the limit, the promises in flight
+     * and waiting, rejections, drops and latencies.
+     */
+    public ConcurrencyLimitMetrics() {}
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the number of promises allowed in flight at once
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * Sets the current concurrency limit.
+     *
+     * @param limit the number of promises allowed in flight at once
+     */
+    public void setLimit(int limit) {
+        this.limit.set(limit);
+    }
+
+    /**
+     * Returns the number of promises handed to the wrapped machine that have not settled.
+     *
+     * @return the number of promises in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Sets the number of promises handed to the wrapped machine that have not settled.
+     *
+     * @param inFlight the number of promises in flight
+     */
+    public void setInFlight(int inFlight) {
+        this.inFlight.set(inFlight);
+    }
+
+    /**
+     * Returns the number of promises waiting for the limit to allow them in.
+     *
+     * @return the number of waiting promises
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Sets the number of promises waiting for the limit to allow them in.
+     *
+     * @param queued the number of waiting promises
+     */
+    public void setQueued(int queued) {
+        this.queued.set(queued);
+    }
+
+    /**
+     * Returns the total number of promises rejected because the limit was reached and the queue was
+     * full.
+     *
+     * @return the number of rejected promises
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /** Increments the count of rejected promises. */
+    public void incrementRejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Returns the total number of promises that failed or timed out, which the limit treats as a
+     * sign of overload.
+     *
+     * @return the number of dropped promises
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Increments the count of dropped promises. */
+    public void incrementDropped() {
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Returns the latency of the most recently settled promise, from the moment it was handed to
+     * the wrapped machine.
+     *
+     * @return the latest latency in nanoseconds
+     */
+    public long getLastRttNanos() {
+        return lastRttNanos.get();
+    }
+
+    /**
+     * Returns the lowest latency seen so far, or 0 if no promise has settled yet.
+     *
+     * @return the lowest latency in nanoseconds
+     */
+    public long getMinRttNanos() {
+        long min = minRttNanos.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Records the latency of a settled promise.
+     *
+     * @param rttNanos the latency in nanoseconds
+     */
+    public void recordRtt(long rttNanos) {
+        lastRttNanos.set(rttNanos);
+        minRttNanos.accumulateAndGet(rttNanos, Math::min);
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimitMetrics{"
+                + "limit="
+                + limit
+                + ", inFlight="
+                + inFlight
+                + ", queued="
+                + queued
+                + ", rejected="
+                + rejected
+                + ", dropped="
+                + dropped
+                + ", lastRttNanos="
+                + lastRttNanos
+                + ", minRttNanos="
+                + getMinRttNanos()
+                + '}';
+    }
+}
@@ -4,12 +4,15 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The ExecutionThreadMetrics class represents the metrics of an execution thread. It keeps track of
- * the total number of promises, completed promises, and failed promises.
+ * the total number of promises, completed promises, failed promises, cancelled promises and
+ * promises that timed out.
  */
 public class ExecutionThreadMetrics {
     private final AtomicLong totalPromises = new AtomicLong();
     private final AtomicLong completedPromises = new AtomicLong();
     private final AtomicLong failedPromises = new AtomicLong();
+    private final AtomicLong cancelledPromises = new AtomicLong();
+    private final AtomicLong timedOutPromises = new AtomicLong();
 
     /**
      * The ExecutionThreadMetrics class represents the metrics of an execution thread. It keeps
@@ -59,6 +62,35 @@ public class ExecutionThreadMetrics {
         failedPromises.incrementAndGet();
     }
 
+    /**
+     * Retrieves the total number of promises that were cancelled, including promises that were
+     * skipped because they were cancelled before they started.
+     *
+     * @return The total number of cancelled promises as a long value.
+     */
+    public long getCancelledPromises() {
+        return cancelledPromises.get();
+    }
+
+    /** Increments the total number of cancelled promises in the ExecutionThreadMetrics by one. */
+    public void incrementCancelledPromises() {
+        cancelledPromises.incrementAndGet();
+    }
+
+    /**
+     * Retrieves the total number of promises whose deadline passed before they finished.
+     *
+     * @return The total number of timed out promises as a long value.
+     */
+    public long getTimedOutPromises() {
+        return timedOutPromises.get();
+    }
+
+    /** Increments the total number of timed out promises in the ExecutionThreadMetrics by one. */
+    public void incrementTimedOutPromises() {
+        timedOutPromises.incrementAndGet();
+    }
+
     @Override
     public String toString() {
         return "ExecutionThreadMetrics{"
@@ -68,6 +100,10 @@ public class ExecutionThreadMetrics {
                 + completedPromises
                 + ", failedPromises="
                 + failedPromises
+                + ", cancelledPromises="
+                + cancelledPromises
+                + ", timedOutPromises="
+                + timedOutPromises
                 + '}';
     }
 }
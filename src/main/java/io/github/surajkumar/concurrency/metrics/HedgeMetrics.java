@@ -0,0 +1,139 @@
+package io.github.surajkumar.concurrency.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The HedgeMetrics class is responsible for tracking metrics related to a Hedger. It keeps track of
+ * the number of calls, how many of them were hedged, which attempt won, how many failed and the
+ * current hedging delay.
+ */
+public class HedgeMetrics {
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong primaryWins = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong delayNanos = new AtomicLong();
+
+    /**
+     * The HedgeMetrics class is responsible for tracking metrics related to a Hedger. It keeps
+     * track of calls, hedges, wins, failures and the hedging delay.
+     */
+    public HedgeMetrics() {}
+
+    /**
+     * Returns the number of calls made through the Hedger.
+     *
+     * @return the number of calls
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Returns the number of duplicate attempts launched.
+     *
+     * @return the number of hedges
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     * Returns the number of calls whose first attempt finished first.
+     *
+     * @return the number of primary wins
+     */
+    public long getPrimaryWins() {
+        return primaryWins.get();
+    }
+
+    /**
+     * Returns the number of calls whose duplicate attempt finished first.
+     *
+     * @return the number of hedge wins
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Returns the number of calls in which every attempt failed.
+     *
+     * @return the number of failed calls
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Returns the fraction of calls that were hedged.
+     *
+     * @return the hedge rate, between 0 and 1
+     */
+    public double getHedgeRate() {
+        long total = calls.get();
+        return total == 0 ? 0 : (double) hedges.get() / total;
+    }
+
+    /**
+     * Returns the time a call may currently take before it is hedged.
+     *
+     * @return the hedging delay in nanoseconds
+     */
+    public long getDelayNanos() {
+        return delayNanos.get();
+    }
+
+    /**
+     * Sets the time a call may currently take before it is hedged.
+     *
+     * @param delayNanos the hedging delay in nanoseconds
+     */
+    public void setDelayNanos(long delayNanos) {
+        this.delayNanos.set(delayNanos);
+    }
+
+    /** Increments the count of calls. */
+    public void incrementCalls() {
+        calls.incrementAndGet();
+    }
+
+    /** Increments the count of hedges. */
+    public void incrementHedges() {
+        hedges.incrementAndGet();
+    }
+
+    /** Increments the count of primary wins. */
+    public void incrementPrimaryWins() {
+        primaryWins.incrementAndGet();
+    }
+
+    /** Increments the count of hedge wins. */
+    public void incrementHedgeWins() {
+        hedgeWins.incrementAndGet();
+    }
+
+    /** Increments the count of failed calls. */
+    public void incrementFailures() {
+        failures.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeMetrics{"
+                + "calls="
+                + calls
+                + ", hedges="
+                + hedges
+                + ", primaryWins="
+                + primaryWins
+                + ", hedgeWins="
+                + hedgeWins
+                + ", failures="
+                + failures
+                + ", delayNanos="
+                + delayNanos
+                + '}';
+    }
+}
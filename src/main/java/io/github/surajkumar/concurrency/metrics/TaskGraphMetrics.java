@@ -0,0 +1,164 @@
+package io.github.surajkumar.concurrency.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The TaskGraphMetrics class is responsible for tracking metrics related to a run of a TaskGraph.
+ * It keeps track of how many nodes succeeded, failed, were skipped or were cancelled, how long the
+ * graph took and how much of that time the nodes spent running, from which the achieved parallelism
+ * follows.
+ */
+public class TaskGraphMetrics {
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong start = new AtomicLong();
+    private final AtomicLong end = new AtomicLong();
+
+    /**
+     * The TaskGraphMetrics class is responsible for tracking metrics related to a run of a
+     * TaskGraph. It keeps track of the outcome of the nodes and the time they took.
+     */
+    public TaskGraphMetrics() {}
+
+    /**
+     * Returns the number of nodes that finished successfully.
+     *
+     * @return the number of succeeded nodes
+     */
+    public long getSucceeded() {
+        return succeeded.get();
+    }
+
+    /**
+     * Returns the number of nodes that failed or timed out.
+     *
+     * @return the number of failed nodes
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of nodes that were not run because a node they depend on did not succeed.
+     *
+     * @return the number of skipped nodes
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Returns the number of nodes that were cancelled.
+     *
+     * @return the number of cancelled nodes
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Returns the total time the nodes spent running.
+     *
+     * @return the sum of the run times of the nodes in nanoseconds
+     */
+    public long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    /**
+     * Returns the time from the start of the run until its last node settled, or until now if the
+     * graph is still running.
+     *
+     * @return the wall time in nanoseconds, or 0 if the graph has not been run
+     */
+    public long getWallNanos() {
+        long started = start.get();
+        if (started == 0) {
+            return 0;
+        }
+        long ended = end.get();
+        return (ended == 0 ? System.nanoTime() : ended) - started;
+    }
+
+    /**
+     * Returns the average number of nodes that were running at once, which is the busy time divided
+     * by the wall time. A value close to the maximum parallelism means the graph kept the machine
+     * saturated.
+     *
+     * @return the achieved parallelism
+     */
+    public double getParallelism() {
+        long wall = getWallNanos();
+        return wall == 0 ? 0 : (double) busyNanos.get() / wall;
+    }
+
+    /**
+     * Sets the time the run started.
+     *
+     * @param start the start time in nanoseconds
+     */
+    public void setStart(long start) {
+        this.start.set(start);
+    }
+
+    /**
+     * Sets the time the last node settled.
+     *
+     * @param end the end time in nanoseconds
+     */
+    public void setEnd(long end) {
+        this.end.set(end);
+    }
+
+    /**
+     * Adds the run time of a node to the busy time.
+     *
+     * @param runNanos the run time of the node in nanoseconds
+     */
+    public void addBusyNanos(long runNanos) {
+        busyNanos.addAndGet(runNanos);
+    }
+
+    /** Increments the count of succeeded nodes. */
+    public void incrementSucceeded() {
+        succeeded.incrementAndGet();
+    }
+
+    /** Increments the count of failed nodes. */
+    public void incrementFailed() {
+        failed.incrementAndGet();
+    }
+
+    /** Increments the count of skipped nodes. */
+    public void incrementSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    /** Increments the count of cancelled nodes. */
+    public void incrementCancelled() {
+        cancelled.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskGraphMetrics{"
+                + "succeeded="
+                + succeeded
+                + ", failed="
+                + failed
+                + ", skipped="
+                + skipped
+                + ", cancelled="
+                + cancelled
+                + ", wallNanos="
+                + getWallNanos()
+                + ", busyNanos="
+                + busyNanos
+                + ", parallelism="
+                + String.format("%.2f", getParallelism())
+                + '}';
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.surajkumar.concurrency.pools;
+
+/**
+ * The AffinityPolicy enum represents how the worker threads of a pool are placed on CPUs. Placement
+ * is only applied on Linux, on other platforms every policy behaves like {@link #NONE}.
+ */
+public enum AffinityPolicy {
+    /** Worker threads are not pinned and the operating system may move them between CPUs. */
+    NONE,
+    /** Each worker thread is pinned to a single CPU, assigned in turn from the allowed CPUs. */
+    CORE,
+    /**
+     * Each worker thread is pinned to all the CPUs of one NUMA node, assigned in turn, so it keeps
+     * its caches and memory local without being tied to a single core.
+     */
+    NUMA_NODE
+}
@@ -68,7 +68,7 @@ public class DynamicThreadPool implements ThreadPool {
         this.pool = new Pool(initialCapacity, poolOptions);
 
         for (int i = 0; i < initialCapacity; i++) {
-            pool.add(ExecutionThread.createStarted("DynamicThread" + i));
+            pool.add(pool.createThread("DynamicThread" + i));
         }
 
         threadPoolMetrics.setInitialCapacity(initialCapacity);
@@ -129,6 +129,7 @@ public class DynamicThreadPool implements ThreadPool {
         threadPoolMetrics.setAvailableThreads(0);
         pool.getLoaned().forEach(t -> t.setRunning(false));
         pool.getLoaned().clear();
+        autoScalingExecutor.shutdownNow();
     }
 
     @Override
@@ -150,7 +151,6 @@ public class DynamicThreadPool implements ThreadPool {
                 new Promise<>(
                         () -> {
                             if (isShutdown()) {
-                                autoScalingExecutor.shutdown();
                                 return null;
                             }
                             int size = pool.getSize();
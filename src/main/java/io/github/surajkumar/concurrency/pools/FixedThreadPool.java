@@ -28,7 +28,7 @@ public class FixedThreadPool implements ThreadPool {
     public FixedThreadPool(Pool pool) {
         this.pool = pool;
         for (int i = 0; i < pool.getInitialCapacity(); i++) {
-            pool.add(ExecutionThread.createStarted());
+            pool.add(pool.createThread("ExecutionThread"));
         }
         threadPoolMetrics.setInitialCapacity(pool.getInitialCapacity());
         threadPoolMetrics.setActiveThreads(0);
@@ -71,7 +71,9 @@ public class FixedThreadPool implements ThreadPool {
         while (!pool.isEmpty()) {
             ExecutionThread executionThread = pool.get();
             executionThread.setRunning(false);
-            executionThread.getThread().interrupt();
+            if (executionThread.getThread() != null) {
+                executionThread.getThread().interrupt();
+            }
             LOGGER.trace("Shutdown " + executionThread);
             pool.remove(executionThread);
         }
@@ -81,7 +83,7 @@ public class FixedThreadPool implements ThreadPool {
 
     @Override
     public boolean isShutdown() {
-        return running.get();
+        return !running.get();
     }
 
     public ThreadPoolMetrics getMetrics() {
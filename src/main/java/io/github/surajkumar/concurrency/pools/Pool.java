@@ -1,6 +1,8 @@
 package io.github.surajkumar.concurrency.pools;
 
 import io.github.surajkumar.concurrency.threads.ExecutionThread;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+import io.github.surajkumar.concurrency.utils.CpuAffinity;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -8,6 +10,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Pool represents a thread pool that manages ExecutionThreads for executing promises. */
 public class Pool {
@@ -17,6 +20,7 @@ public class Pool {
     private final int initialCapacity;
     private int currentCapacity;
     private final PoolOptions poolOptions;
+    private final AtomicInteger createdThreads = new AtomicInteger();
 
     /**
      * The Pool class represents a pool of execution threads.
@@ -121,10 +125,10 @@ public class Pool {
         }
 
         for (int i = 0; i < scale; i++) {
-            ExecutionThread thread = ExecutionThread.createStarted();
-            add(thread);
+            add(createThread("ExecutionThread"));
         }
         currentCapacity += scale;
+        Tracing.poolScaled(scale, currentCapacity);
     }
 
     /**
@@ -143,7 +147,25 @@ public class Pool {
                 remove(thread);
             }
         }
+        int previous = currentCapacity;
         currentCapacity = Math.max(0, currentCapacity - scale);
+        Tracing.poolScaled(currentCapacity - previous, currentCapacity);
+    }
+
+    /**
+     * Creates and starts an ExecutionThread for this pool, placed on CPUs according to the {@link
+     * AffinityPolicy} and with the {@link io.github.surajkumar.concurrency.threads.WaitStrategy} in
+     * the pool options. The thread is not added to the pool.
+     *
+     * @param name the name of the ExecutionThread
+     * @return the created ExecutionThread
+     */
+    public ExecutionThread createThread(String name) {
+        int index = createdThreads.getAndIncrement();
+        return ExecutionThread.createStarted(
+                name,
+                CpuAffinity.cpusFor(poolOptions.getAffinityPolicy(), index),
+                poolOptions.getWaitStrategy());
     }
 
     /**
@@ -1,5 +1,8 @@
 package io.github.surajkumar.concurrency.pools;
 
+import io.github.surajkumar.concurrency.threads.ParkingWaitStrategy;
+import io.github.surajkumar.concurrency.threads.WaitStrategy;
+
 /** The PoolOptions class represents the options configuration for a pool of execution threads. */
 public class PoolOptions {
     private int maxCapacity;
@@ -7,6 +10,8 @@ public class PoolOptions {
     private int scaleUpAmount;
     private int scaleDownAmount;
     private boolean waitFor;
+    private AffinityPolicy affinityPolicy = AffinityPolicy.NONE;
+    private WaitStrategy waitStrategy = new ParkingWaitStrategy(0, 0);
 
     /** Class representing the options for a thread pool. */
     public PoolOptions() {}
@@ -115,4 +120,47 @@ public class PoolOptions {
         this.waitFor = waitFor;
         return this;
     }
+
+    /**
+     * Retrieves the policy used to place the worker threads of the pool on CPUs.
+     *
+     * @return the affinity policy, {@link AffinityPolicy#NONE} by default
+     */
+    public AffinityPolicy getAffinityPolicy() {
+        return affinityPolicy;
+    }
+
+    /**
+     * Sets the policy used to place the worker threads of the pool on CPUs. The policy applies to
+     * threads created after it is set and is ignored on platforms other than Linux.
+     *
+     * @param affinityPolicy the affinity policy
+     * @return the {@code PoolOptions} instance
+     */
+    public PoolOptions setAffinityPolicy(AffinityPolicy affinityPolicy) {
+        this.affinityPolicy = affinityPolicy;
+        return this;
+    }
+
+    /**
+     * Retrieves the strategy the worker threads of the pool use while they wait for a promise.
+     *
+     * @return the wait strategy, a {@link ParkingWaitStrategy} that parks straight away by default
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Sets the strategy the worker threads of the pool use while they wait for a promise. Spinning
+     * strategies hand promises to idle workers faster at the cost of CPU time. The strategy applies
+     * to threads created after it is set.
+     *
+     * @param waitStrategy the wait strategy
+     * @return the {@code PoolOptions} instance
+     */
+    public PoolOptions setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
 }
@@ -0,0 +1,80 @@
+package io.github.surajkumar.concurrency.promise;
+
+/**
+ * The CacheOptions class represents the options configuration for a {@link PromiseCache}. It
+ * specifies how many values the cache keeps, how long a value stays valid and when a value is
+ * reloaded ahead of its expiry.
+ */
+public class CacheOptions {
+    private int maximumSize = 10_000;
+    private long expireAfterWriteMillis;
+    private long refreshAfterWriteMillis;
+
+    /** Creates CacheOptions that keep up to 10000 values without expiry or refresh. */
+    public CacheOptions() {}
+
+    /**
+     * Retrieves the maximum number of keys the cache holds.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of keys the cache holds. When a new key would exceed it, the least
+     * recently used key is evicted.
+     *
+     * @param maximumSize the maximum size
+     * @return the CacheOptions instance
+     */
+    public CacheOptions setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Retrieves how long a value stays valid after it was loaded.
+     *
+     * @return the time to live in milliseconds, or 0 if values do not expire
+     */
+    public long getExpireAfterWriteMillis() {
+        return expireAfterWriteMillis;
+    }
+
+    /**
+     * Sets how long a value stays valid after it was loaded. A request for an expired value loads
+     * it again. The default of 0 means values do not expire.
+     *
+     * @param expireAfterWriteMillis the time to live in milliseconds
+     * @return the CacheOptions instance
+     */
+    public CacheOptions setExpireAfterWriteMillis(long expireAfterWriteMillis) {
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves how long after it was loaded a value is reloaded in the background.
+     *
+     * @return the refresh interval in milliseconds, or 0 if values are not refreshed
+     */
+    public long getRefreshAfterWriteMillis() {
+        return refreshAfterWriteMillis;
+    }
+
+    /**
+     * Sets how long after it was loaded a value is reloaded in the background. The first request
+     * after this time still gets the current value at once and starts a reload, which replaces the
+     * value when it finishes. Setting it below the time to live keeps hot keys from ever expiring.
+     * The default of 0 means values are not refreshed.
+     *
+     * @param refreshAfterWriteMillis the refresh interval in milliseconds
+     * @return the CacheOptions instance
+     */
+    public CacheOptions setRefreshAfterWriteMillis(long refreshAfterWriteMillis) {
+        this.refreshAfterWriteMillis = refreshAfterWriteMillis;
+        return this;
+    }
+}
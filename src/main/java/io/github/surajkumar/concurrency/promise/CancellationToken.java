@@ -0,0 +1,113 @@
+package io.github.surajkumar.concurrency.promise;
+
+import io.github.surajkumar.concurrency.exceptions.PromiseCancelledException;
+import io.github.surajkumar.concurrency.exceptions.PromiseTimedOutException;
+
+/**
+ * The CancellationToken class represents a request to stop the work of a {@link Promise}, either
+ * because {@link Promise#cancel()} was called or because its deadline has passed. Cancellation is
+ * cooperative: long-running tasks should poll the token of the promise they are running for and
+ * return early.
+ *
+ * <pre>{@code
+ * Promise<Integer> promise = new Promise<>(() -> {
+ *     CancellationToken token = CancellationToken.current();
+ *     int sum = 0;
+ *     for (int i = 0; i < 1_000_000; i++) {
+ *         token.throwIfCancellationRequested();
+ *         sum += i;
+ *     }
+ *     return sum;
+ * });
+ * }</pre>
+ */
+public final class CancellationToken {
+    private static final CancellationToken NONE = new CancellationToken();
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+    private volatile boolean cancelled;
+    private volatile long deadline;
+    private volatile boolean hasDeadline;
+
+    CancellationToken() {}
+
+    /**
+     * Retrieves the token of the promise running on the current thread. If no promise is running on
+     * the current thread, a token that is never cancelled is returned.
+     *
+     * @return the token of the current promise
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Checks if the work should stop, either because it has been cancelled or because its deadline
+     * has passed.
+     *
+     * @return true if cancellation has been requested, false otherwise
+     */
+    public boolean isCancellationRequested() {
+        return cancelled || isDeadlineExceeded();
+    }
+
+    /**
+     * Checks if {@link Promise#cancel()} has been called.
+     *
+     * @return true if the promise has been cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks if the deadline of the promise has passed.
+     *
+     * @return true if the deadline has passed, false otherwise or if there is no deadline
+     */
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Throws an exception if cancellation has been requested.
+     *
+     * @throws PromiseCancelledException if the promise has been cancelled
+     * @throws PromiseTimedOutException if the deadline of the promise has passed
+     */
+    public void throwIfCancellationRequested() {
+        if (cancelled) {
+            throw new PromiseCancelledException();
+        }
+        if (isDeadlineExceeded()) {
+            throw new PromiseTimedOutException();
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+        this.hasDeadline = true;
+    }
+
+    static CancellationToken enter(CancellationToken token) {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(token);
+        return previous;
+    }
+
+    static void exit(CancellationToken previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.surajkumar.concurrency.promise;
+
+/**
+ * The HedgeOptions class represents the options configuration for a {@link Hedger}. It specifies
+ * which percentile of recent latencies a call may take before it is hedged, how many latencies are
+ * kept, and how much extra load hedging may add.
+ */
+public class HedgeOptions {
+    private double percentile = 0.95;
+    private int windowSize = 1000;
+    private long initialDelayMillis = 100;
+    private long minDelayMillis = 1;
+    private double maxHedgeRatio = 0.1;
+
+    /**
+     * Creates HedgeOptions that hedge calls slower than the 95th percentile of the last 1000
+     * latencies, start with a delay of 100 milliseconds until enough latencies are known, and hedge
+     * at most 10% of calls.
+     */
+    public HedgeOptions() {}
+
+    /**
+     * Retrieves the percentile of recent latencies after which a call is hedged.
+     *
+     * @return the percentile, between 0 and 1
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Sets the percentile of recent latencies after which a call is hedged. With 0.95, a duplicate
+     * is launched for a call that is slower than 95% of recent calls.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the HedgeOptions instance
+     */
+    public HedgeOptions setPercentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of recent latencies the percentile is computed from.
+     *
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of recent latencies the percentile is computed from.
+     *
+     * @param windowSize the window size
+     * @return the HedgeOptions instance
+     */
+    public HedgeOptions setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * Retrieves the delay used before enough latencies are known.
+     *
+     * @return the initial delay in milliseconds
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * Sets the delay used before enough latencies are known to compute the percentile.
+     *
+     * @param initialDelayMillis the initial delay in milliseconds
+     * @return the HedgeOptions instance
+     */
+    public HedgeOptions setInitialDelayMillis(long initialDelayMillis) {
+        this.initialDelayMillis = initialDelayMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves the shortest delay before a call is hedged.
+     *
+     * @return the minimum delay in milliseconds
+     */
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * Sets the shortest delay before a call is hedged, however fast recent calls were.
+     *
+     * @param minDelayMillis the minimum delay in milliseconds
+     * @return the HedgeOptions instance
+     */
+    public HedgeOptions setMinDelayMillis(long minDelayMillis) {
+        this.minDelayMillis = minDelayMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves the largest fraction of calls that may be hedged.
+     *
+     * @return the maximum hedge ratio
+     */
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    /**
+     * Sets the largest fraction of calls that may be hedged, which bounds the extra load hedging
+     * adds when a dependency is slow across the board. Calls over the budget are not hedged.
+     *
+     * @param maxHedgeRatio the maximum hedge ratio, between 0 and 1
+     * @return the HedgeOptions instance
+     */
+    public HedgeOptions setMaxHedgeRatio(double maxHedgeRatio) {
+        this.maxHedgeRatio = maxHedgeRatio;
+        return this;
+    }
+}
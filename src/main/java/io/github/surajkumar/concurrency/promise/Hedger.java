@@ -0,0 +1,284 @@
+package io.github.surajkumar.concurrency.promise;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.context.ContextSnapshot;
+import io.github.surajkumar.concurrency.metrics.HedgeMetrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Hedger class cuts the tail latency of idempotent calls by hedging them. A call is run on the
+ * primary Executor, and if it has not finished after a percentile of recent latencies, a duplicate
+ * attempt is launched on the hedge Executor. The first attempt to finish successfully provides the
+ * result and the other attempt is cancelled. The call only fails if every attempt fails.
+ *
+ * <p>The delay adapts to the latencies of recent calls, and the share of calls that are hedged is
+ * capped by {@link HedgeOptions#getMaxHedgeRatio()}, so hedging adds a bounded amount of load even
+ * when every call is slow. A latency runs from {@link #hedge(Task)} until the call settles, so a
+ * call won by its hedge still counts the time its first attempt had taken when it lost. Delays are
+ * tracked by a single daemon thread owned by the Hedger, started by its first call.
+ *
+ * <pre>{@code
+ * Hedger hedger = new Hedger(replicaA, replicaB, new HedgeOptions().setPercentile(0.95));
+ * Promise<Row> row = hedger.hedge(() -> readRow(id));
+ * }</pre>
+ *
+ * <p>Because the task may run twice, possibly at the same time, it must be idempotent and
+ * thread-safe. Long-running tasks should poll {@link CancellationToken#current()} so the losing
+ * attempt stops early.
+ */
+public final class Hedger implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(Hedger.class);
+    private static final int MIN_SAMPLES = 20;
+    private final Executor executor;
+    private final Executor hedgeExecutor;
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private final long minDelayNanos;
+    private final long[] samples;
+    private final int recomputeInterval;
+    private final DelayQueue<Call<?>> timers = new DelayQueue<>();
+    private final HedgeMetrics metrics = new HedgeMetrics();
+    private final AtomicBoolean schedulerStarted = new AtomicBoolean();
+    private volatile Thread scheduler;
+    private volatile boolean closed;
+    private long sampleCount;
+    private volatile long delayNanos;
+
+    /**
+     * Creates a Hedger that runs both attempts on the same Executor.
+     *
+     * @param executor the Executor that runs every attempt
+     * @param options the options of the Hedger
+     */
+    public Hedger(Executor executor, HedgeOptions options) {
+        this(executor, executor, options);
+    }
+
+    /**
+     * Creates a Hedger.
+     *
+     * @param executor the Executor that runs the first attempt of each call
+     * @param hedgeExecutor the Executor that runs duplicate attempts
+     * @param options the options of the Hedger
+     * @throws IllegalArgumentException if the window size is less than 1
+     */
+    public Hedger(Executor executor, Executor hedgeExecutor, HedgeOptions options) {
+        if (options.getWindowSize() < 1) {
+            throw new IllegalArgumentException("Window size must be >= 1");
+        }
+        this.executor = executor;
+        this.hedgeExecutor = hedgeExecutor;
+        this.percentile = options.getPercentile();
+        this.maxHedgeRatio = options.getMaxHedgeRatio();
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(options.getMinDelayMillis());
+        this.samples = new long[options.getWindowSize()];
+        this.recomputeInterval = Math.max(1, samples.length / 16);
+        this.delayNanos =
+                Math.max(
+                        minDelayNanos,
+                        TimeUnit.MILLISECONDS.toNanos(options.getInitialDelayMillis()));
+        metrics.setDelayNanos(delayNanos);
+    }
+
+    /**
+     * Runs a call, hedging it if it is slow.
+     *
+     * @param task the idempotent task to run
+     * @return a Promise of the result of the first attempt that finishes successfully
+     * @param <T> the type of the result
+     */
+    public <T> Promise<T> hedge(Task<T> task) {
+        long start = System.nanoTime();
+        Call<T> call = new Call<>(task, start + delayNanos);
+        metrics.incrementCalls();
+        call.result.whenSettled(
+                () -> {
+                    record(System.nanoTime() - start);
+                    if (call.result.isCancelled() || call.result.isTimedOut()) {
+                        call.settled.set(true);
+                        call.cancelAttempts();
+                    }
+                });
+        call.launch(executor, false);
+        if (!closed) {
+            timers.add(call);
+            startScheduler();
+        }
+        return call.result;
+    }
+
+    /**
+     * Retrieves the metrics of the Hedger.
+     *
+     * @return the metrics
+     */
+    public HedgeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops launching duplicate attempts. Calls already made still complete with their first
+     * attempt.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread running = scheduler;
+        if (running != null) {
+            running.interrupt();
+        }
+        timers.clear();
+    }
+
+    private void startScheduler() {
+        if (!schedulerStarted.compareAndSet(false, true)) {
+            return;
+        }
+        // A platform thread, so busy virtual threads cannot delay the hedges.
+        Thread started = Thread.ofPlatform().daemon().name("HedgeScheduler").start(this::schedule);
+        scheduler = started;
+        // Closed before the thread was published, so close could not stop it.
+        if (closed) {
+            started.interrupt();
+        }
+    }
+
+    private void schedule() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Call<?> call = timers.take();
+                if (call.settled.get()) {
+                    continue;
+                }
+                if (metrics.getHedges() >= maxHedgeRatio * metrics.getCalls()) {
+                    continue;
+                }
+                metrics.incrementHedges();
+                ContextSnapshot previous = call.context.attach();
+                try {
+                    call.launch(hedgeExecutor, true);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not launch a hedged attempt", e);
+                } finally {
+                    previous.attach();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void record(long latencyNanos) {
+        samples[(int) (sampleCount++ % samples.length)] = latencyNanos;
+        long known = Math.min(sampleCount, samples.length);
+        if (known < Math.min(MIN_SAMPLES, samples.length) || sampleCount % recomputeInterval != 0) {
+            return;
+        }
+        long[] sorted = Arrays.copyOf(samples, (int) known);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(known - 1, Math.max(0, Math.ceil(percentile * known) - 1));
+        delayNanos = Math.max(minDelayNanos, sorted[index]);
+        metrics.setDelayNanos(delayNanos);
+    }
+
+    /** One call, with the Promise handed to the caller and the attempts that may provide it. */
+    private final class Call<T> implements Task<T>, Delayed {
+        private final Task<T> task;
+        private final long hedgeAt;
+        private final ContextSnapshot context = ContextSnapshot.capture();
+        private final Promise<T> result = new Promise<>(this);
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile Promise<T> primary;
+        private volatile Promise<T> hedge;
+        private volatile T value;
+        private volatile boolean succeeded;
+        private volatile Exception failure;
+
+        private Call(Task<T> task, long hedgeAt) {
+            this.task = task;
+            this.hedgeAt = hedgeAt;
+        }
+
+        private void launch(Executor target, boolean hedged) {
+            Promise<T> attempt = new Promise<>(task, null, exception -> failure = exception);
+            if (hedged) {
+                hedge = attempt;
+            } else {
+                primary = attempt;
+            }
+            outstanding.incrementAndGet();
+            attempt.whenSettled(() -> onAttemptSettled(attempt, hedged));
+            try {
+                target.run(attempt);
+            } catch (RuntimeException e) {
+                outstanding.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private void onAttemptSettled(Promise<T> attempt, boolean hedged) {
+            int remaining = outstanding.decrementAndGet();
+            if (attempt.isFinished()) {
+                if (!settled.compareAndSet(false, true)) {
+                    return;
+                }
+                if (hedged) {
+                    metrics.incrementHedgeWins();
+                } else {
+                    metrics.incrementPrimaryWins();
+                }
+                value = attempt.get();
+                succeeded = true;
+                cancelAttempts();
+                result.complete();
+            } else if (remaining == 0 && settled.compareAndSet(false, true)) {
+                // Every attempt launched so far has failed. Hedging is for slow calls, not
+                // failed ones, so the call fails without waiting for its hedge.
+                metrics.incrementFailures();
+                result.complete();
+            }
+        }
+
+        private void cancelAttempts() {
+            Promise<T> first = primary;
+            Promise<T> second = hedge;
+            if (first != null) {
+                first.cancel();
+            }
+            if (second != null) {
+                second.cancel();
+            }
+        }
+
+        @Override
+        public T run() {
+            if (!succeeded) {
+                throw failure instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException(failure);
+            }
+            return value;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(hedgeAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(hedgeAt, ((Call<?>) other).hedgeAt);
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package io.github.surajkumar.concurrency.promise;
 
 import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.context.ContextSnapshot;
+import io.github.surajkumar.concurrency.exceptions.CircuitBreakerOpenException;
+import io.github.surajkumar.concurrency.exceptions.PromiseCancelledException;
+import io.github.surajkumar.concurrency.exceptions.PromiseTimedOutException;
 import io.github.surajkumar.concurrency.metrics.PromiseMetrics;
+import io.github.surajkumar.concurrency.resilience.CircuitBreaker;
+import io.github.surajkumar.concurrency.resilience.RetryPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 /**
  * The Promise class represents a promise that encapsulates a task and its result. It provides
@@ -14,8 +24,16 @@ public class Promise<T> {
     private PromiseHandler<T> resultHandler;
     private PromiseHandler<Exception> exceptionHandler;
     private final PromiseMetrics metrics;
-    private Status status;
-    private T result;
+    private final AtomicReference<Status> status;
+    private final CancellationToken cancellationToken = new CancellationToken();
+    private final AtomicReference<Runnable> settledListener = new AtomicReference<>();
+    private volatile ContextSnapshot context = ContextSnapshot.empty();
+    private volatile T result;
+    private volatile RetryPolicy retryPolicy;
+    private volatile Runnable resubmit;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile int attempts;
+    private volatile boolean repeating;
 
     /**
      * The Promise class represents a promise of a task execution. It allows you to define a task to
@@ -45,7 +63,7 @@ public class Promise<T> {
         this.resultHandler = resultHandler;
         this.exceptionHandler = exceptionHandler;
         this.metrics = new PromiseMetrics();
-        this.status = Status.NOT_STARTED;
+        this.status = new AtomicReference<>(Status.NOT_STARTED);
     }
 
     /**
@@ -73,6 +91,134 @@ public class Promise<T> {
         return this;
     }
 
+    /**
+     * Sets a deadline for the Promise, measured from now. If the deadline passes before the Promise
+     * is started it is skipped, and if it passes while the task is running the task is asked to
+     * stop through its {@link CancellationToken}. Either way the Promise ends with the status
+     * {@link Status#TIMED_OUT} and its exception handler receives a {@link
+     * PromiseTimedOutException}.
+     *
+     * @param timeout the time allowed for the Promise
+     * @param unit the unit of the timeout
+     * @return the current Promise instance
+     */
+    public Promise<T> setTimeout(long timeout, TimeUnit unit) {
+        cancellationToken.setDeadline(System.nanoTime() + unit.toNanos(timeout));
+        return this;
+    }
+
+    /**
+     * Captures the context of the current thread, such as the logging ThreadContext, with every
+     * registered {@link io.github.surajkumar.concurrency.context.ContextPropagator}. The context is
+     * installed on the thread that runs the Promise while its task and handlers run, and removed
+     * afterwards. {@link io.github.surajkumar.concurrency.Executor} calls this when a Promise is
+     * submitted.
+     *
+     * @return the current Promise instance
+     */
+    public Promise<T> captureContext() {
+        context = ContextSnapshot.capture();
+        return this;
+    }
+
+    /**
+     * Sets the policy for trying the Promise again when its task fails. Instead of failing, the
+     * Promise goes back to {@link Status#NOT_STARTED}, waits for the backoff on a virtual thread
+     * rather than on the thread that ran it, and then calls the given action to be queued again.
+     * Handlers are only called once the Promise succeeds or stops retrying. {@link
+     * io.github.surajkumar.concurrency.Executor} calls this for a Promise submitted with {@link
+     * io.github.surajkumar.concurrency.threads.ExecutionSettings#setRetryPolicy(RetryPolicy)}.
+     *
+     * @param retryPolicy the retry policy
+     * @param resubmit the action that hands the Promise back to the machine that runs it
+     * @return the current Promise instance
+     */
+    public Promise<T> setRetryPolicy(RetryPolicy retryPolicy, Runnable resubmit) {
+        this.retryPolicy = retryPolicy;
+        this.resubmit = resubmit;
+        return this;
+    }
+
+    /**
+     * Sets the circuit breaker that guards the task. Every attempt asks the breaker first, and
+     * fails with a {@link CircuitBreakerOpenException} without running the task while the breaker
+     * is open. The outcome of every attempt that does run is reported to the breaker.
+     *
+     * @param circuitBreaker the circuit breaker
+     * @return the current Promise instance
+     */
+    public Promise<T> setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    /**
+     * Checks if a deadline has been set for the Promise with {@link #setTimeout(long, TimeUnit)}.
+     *
+     * @return true if the Promise has a deadline, false otherwise
+     */
+    public boolean hasTimeout() {
+        return cancellationToken.hasDeadline();
+    }
+
+    /**
+     * Retrieves the number of times the task has been started, including retries.
+     *
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Checks if the Promise has failed an attempt and is waiting to be tried again under its retry
+     * policy. A Promise handed back to a machine while this is true is a retry of a Promise the
+     * machine has already accepted, so the machine should not admit it a second time.
+     *
+     * @return true if the Promise is waiting for a retry, false otherwise
+     */
+    public boolean isRetrying() {
+        return attempts > 0 && status.get() == Status.NOT_STARTED;
+    }
+
+    /**
+     * Cancels the Promise. A Promise that has not started yet is cancelled immediately and will be
+     * skipped by the thread that would have run it. A Promise that is running is asked to stop
+     * through its {@link CancellationToken}, and a repeating Promise is not run again. Either way
+     * the Promise ends with the status {@link Status#CANCELLED} and its exception handler receives
+     * a {@link PromiseCancelledException}.
+     *
+     * <p>A Promise that has already finished or failed, and is not going to be repeated, keeps its
+     * status and is not cancelled.
+     *
+     * @return true if this call requested the cancellation, false if the Promise had already been
+     *     cancelled, had timed out, or had finished or failed without a repetition to come
+     */
+    public boolean cancel() {
+        Status current = status.get();
+        if (cancellationToken.isCancelled()
+                || current == Status.TIMED_OUT
+                || (!repeating && (current == Status.FINISHED || current == Status.ERROR))) {
+            return false;
+        }
+        cancellationToken.cancel();
+        if (status.compareAndSet(Status.NOT_STARTED, Status.CANCELLED)) {
+            reject(new PromiseCancelledException());
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the token that tasks can poll to find out if this Promise has been cancelled or has
+     * timed out. While the task is running the same token is returned by {@link
+     * CancellationToken#current()}.
+     *
+     * @return the cancellation token of the Promise
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
     /**
      * Retrieves the metrics of the Promise execution.
      *
@@ -90,17 +236,55 @@ public class Promise<T> {
      * result of the execution. If an exception handler is provided, it is called with any exception
      * encountered during the execution.
      *
+     * <p>If the Promise has been cancelled or its deadline has passed, the task is not run. If that
+     * happens while the task is running, its result is discarded. In both cases the exception
+     * handler is called with a {@link PromiseCancelledException} or a {@link
+     * PromiseTimedOutException}.
+     *
      * <p>This method should ideally not be called manually as it will execute the promise on the
      * current thread. Instead, you should use an Executor.
      */
     public void complete() {
-        status = Status.RUNNING;
+        Status previous = status.get();
+        if (previous == Status.RUNNING
+                || previous == Status.CANCELLED
+                || previous == Status.TIMED_OUT) {
+            return;
+        }
+        if (cancellationToken.isCancellationRequested()) {
+            settleCancelled(previous);
+            return;
+        }
+        if (!status.compareAndSet(previous, Status.RUNNING)) {
+            return;
+        }
         metrics.clear();
+        attempts++;
+        CircuitBreaker breaker = circuitBreaker;
+        boolean acquired = false;
+        CancellationToken outer = CancellationToken.enter(cancellationToken);
+        ContextSnapshot previousContext = context.attach();
         try {
+            if (breaker != null) {
+                acquired = breaker.tryAcquire();
+                if (!acquired) {
+                    throw new CircuitBreakerOpenException();
+                }
+            }
             long startMemory =
                     Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-            result = task.run();
-            status = Status.FINISHED;
+            T value = task.run();
+            if (acquired) {
+                // Reported here, so a failing result handler is not also reported as a failure.
+                acquired = false;
+                breaker.onSuccess();
+            }
+            if (cancellationToken.isCancellationRequested()) {
+                settleCancelled(Status.RUNNING);
+                return;
+            }
+            result = value;
+            status.set(Status.FINISHED);
             long endMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
             metrics.setStart(System.nanoTime());
             metrics.setEnd(System.nanoTime());
@@ -110,36 +294,168 @@ public class Promise<T> {
                 resultHandler.handle(result);
             }
         } catch (Exception ex) {
-            status = Status.ERROR;
+            if (cancellationToken.isCancellationRequested()
+                    || ex instanceof PromiseCancelledException
+                    || ex instanceof PromiseTimedOutException) {
+                settleCancelled(Status.RUNNING);
+                return;
+            }
+            if (acquired) {
+                breaker.onFailure();
+            }
+            RetryPolicy policy = retryPolicy;
+            if (policy != null
+                    && policy.shouldRetry(attempts, ex)
+                    && status.compareAndSet(Status.RUNNING, Status.NOT_STARTED)) {
+                scheduleRetry(policy.getBackoffMillis(attempts), ex);
+                return;
+            }
+            status.set(Status.ERROR);
             metrics.setSuccess(false);
             metrics.setStackTrace(ex);
             metrics.setErrorDetails(ex.getMessage());
             if (exceptionHandler != null) {
                 exceptionHandler.handle(ex);
             }
+        } finally {
+            previousContext.attach();
+            CancellationToken.exit(outer);
+            synchronized (this) {
+                notifyAll();
+            }
+            fireSettled();
+        }
+    }
+
+    /**
+     * Completes the Promise repeatedly on the current thread, as {@link #complete()} does for a
+     * single run. The Promise is run {@code repeat + 1} times, or until it is cancelled or times
+     * out if it repeats indefinitely. Between runs the Promise counts as going to be run again, so
+     * {@link #cancel()} can still stop it.
+     *
+     * @param repeat the number of times to run the Promise after its first run
+     * @param indefinitely true to run the Promise until it is cancelled or times out
+     * @param beforeEachRun called before every run, for example to wait for a delay, and returns
+     *     false to stop repeating
+     */
+    public void completeRepeatedly(
+            int repeat, boolean indefinitely, BooleanSupplier beforeEachRun) {
+        try {
+            while (!isCancelled()
+                    && !isTimedOut()
+                    && (repeat >= 0 || indefinitely)
+                    && beforeEachRun.getAsBoolean()) {
+                complete();
+                if (!indefinitely) {
+                    repeat--;
+                }
+                repeating = indefinitely || repeat >= 0;
+            }
+        } finally {
+            repeating = false;
+        }
+    }
+
+    private void settleCancelled(Status expected) {
+        if (cancellationToken.isCancelled()) {
+            if (status.compareAndSet(expected, Status.CANCELLED)) {
+                reject(new PromiseCancelledException());
+            }
+        } else if (status.compareAndSet(expected, Status.TIMED_OUT)) {
+            reject(new PromiseTimedOutException());
+        }
+    }
+
+    private void scheduleRetry(long backoffMillis, Exception failure) {
+        Thread.ofVirtual()
+                .name("PromiseRetry")
+                .start(
+                        () -> {
+                            try {
+                                Thread.sleep(backoffMillis);
+                                if (status.get() == Status.NOT_STARTED) {
+                                    resubmit.run();
+                                }
+                            } catch (InterruptedException | RuntimeException e) {
+                                // The Promise cannot be queued again, so it fails with the
+                                // exception of its last attempt.
+                                failure.addSuppressed(e);
+                                if (status.compareAndSet(Status.NOT_STARTED, Status.ERROR)) {
+                                    reject(failure);
+                                }
+                            }
+                        });
+    }
+
+    private void reject(Exception exception) {
+        metrics.setSuccess(false);
+        metrics.setStackTrace(exception);
+        metrics.setErrorDetails(exception.getMessage());
+        try {
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(exception);
+            }
         } finally {
             synchronized (this) {
-                notify();
+                notifyAll();
+            }
+            fireSettled();
+        }
+    }
+
+    /**
+     * Registers a listener that is run once, on the thread that settles the Promise, when it
+     * finishes, fails, is cancelled or times out. If the Promise has already settled, the listener
+     * is run immediately. Unlike the result and exception handlers, listeners never replace each
+     * other, so the library and decorating machines can each observe the Promise without taking the
+     * handlers set by the caller.
+     *
+     * @param listener the listener to run
+     */
+    public void whenSettled(Runnable listener) {
+        for (; ; ) {
+            Runnable previous = settledListener.get();
+            Runnable combined =
+                    previous == null
+                            ? listener
+                            : () -> {
+                                previous.run();
+                                listener.run();
+                            };
+            if (settledListener.compareAndSet(previous, combined)) {
+                break;
             }
         }
+        fireSettled();
+    }
+
+    private void fireSettled() {
+        Status current = status.get();
+        if (current == Status.NOT_STARTED || current == Status.RUNNING) {
+            return;
+        }
+        Runnable listener = settledListener.getAndSet(null);
+        if (listener != null) {
+            listener.run();
+        }
     }
 
     /**
-     * The get() method retrieves the result of the Promise. It first checks if the result has
-     * already been set and returns it if it is not null. If the result is null, the method enters a
-     * synchronized block and waits until another thread notifies it. Once notified, it returns the
-     * result.
+     * The get() method retrieves the result of the Promise. If the Promise has not finished yet,
+     * the method waits until it finishes, fails, is cancelled or times out. The result is null if
+     * the Promise did not finish successfully.
      *
      * @return The result of the Promise execution.
      */
     public T get() {
-        if (status == Status.FINISHED || status == Status.ERROR) {
-            return result;
-        }
         synchronized (this) {
-            try {
-                wait();
-            } catch (InterruptedException ignore) {
+            while (status.get() == Status.NOT_STARTED || status.get() == Status.RUNNING) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
         return result;
@@ -151,7 +467,7 @@ public class Promise<T> {
      * @return true if the Promise execution is finished, false otherwise
      */
     public boolean isFinished() {
-        return status == Status.FINISHED;
+        return status.get() == Status.FINISHED;
     }
 
     /**
@@ -160,7 +476,7 @@ public class Promise<T> {
      * @return true if the Promise execution finished exceptionally, false otherwise
      */
     public boolean isFinishedExceptionally() {
-        return status == Status.ERROR;
+        return status.get() == Status.ERROR;
     }
 
     /**
@@ -169,6 +485,24 @@ public class Promise<T> {
      * @return The status of the Promise.
      */
     public Status getStatus() {
-        return status;
+        return status.get();
+    }
+
+    /**
+     * Checks if the Promise was cancelled.
+     *
+     * @return true if the Promise was cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return status.get() == Status.CANCELLED;
+    }
+
+    /**
+     * Checks if the deadline of the Promise passed before it finished.
+     *
+     * @return true if the Promise timed out, false otherwise
+     */
+    public boolean isTimedOut() {
+        return status.get() == Status.TIMED_OUT;
     }
 }
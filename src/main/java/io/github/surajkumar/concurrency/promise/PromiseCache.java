@@ -0,0 +1,288 @@
+package io.github.surajkumar.concurrency.promise;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.metrics.CacheMetrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The PromiseCache class caches the results of an expensive load per key, handing out promises so
+ * callers never block on the cache itself. While a key is loading, every request for it gets the
+ * same in-flight Promise, so a burst of requests for a hot key runs the load once. Loaded values
+ * are kept until they expire or are evicted, and failed loads are not kept, so the next request
+ * tries again.
+ *
+ * <p>The cache holds at most {@link CacheOptions#getMaximumSize()} keys and evicts the least
+ * recently used key to make room. Hits only reorder keys when the order is not being updated by
+ * another thread, so under contention the order is approximate and reads never wait for each other.
+ * With a refresh interval, the first request after it gets the current value at once and starts a
+ * reload in the background, which replaces the value when it finishes.
+ *
+ * <pre>{@code
+ * PromiseCache<String, Quote> quotes = new PromiseCache<>(executor, this::fetchQuote,
+ *         new CacheOptions().setMaximumSize(1000).setExpireAfterWriteMillis(5000)
+ *                 .setRefreshAfterWriteMillis(4000));
+ * Quote quote = quotes.get("ACME").get();
+ * }</pre>
+ *
+ * <p>The promises are shared between callers, so cancelling one cancels the load for everybody; the
+ * next request then starts a new load.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PromiseCache<K, V> {
+    private static final Logger LOGGER = LogManager.getLogger(PromiseCache.class);
+    private final Executor executor;
+    private final Function<K, V> loader;
+    private final int maximumSize;
+    private final long expireAfterNanos;
+    private final long refreshAfterNanos;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LinkedHashMap<K, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock orderLock = new ReentrantLock();
+    private final CacheMetrics metrics = new CacheMetrics();
+
+    /**
+     * Creates a PromiseCache with the default {@link CacheOptions}.
+     *
+     * @param executor the Executor that runs the loads
+     * @param loader the function that loads the value of a key
+     */
+    public PromiseCache(Executor executor, Function<K, V> loader) {
+        this(executor, loader, new CacheOptions());
+    }
+
+    /**
+     * Creates a PromiseCache.
+     *
+     * @param executor the Executor that runs the loads
+     * @param loader the function that loads the value of a key
+     * @param options the options of the cache
+     * @throws IllegalArgumentException if the maximum size is less than 1
+     */
+    public PromiseCache(Executor executor, Function<K, V> loader, CacheOptions options) {
+        if (options.getMaximumSize() < 1) {
+            throw new IllegalArgumentException("Maximum size must be >= 1");
+        }
+        this.executor = executor;
+        this.loader = loader;
+        this.maximumSize = options.getMaximumSize();
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(options.getExpireAfterWriteMillis());
+        this.refreshAfterNanos =
+                TimeUnit.MILLISECONDS.toNanos(options.getRefreshAfterWriteMillis());
+    }
+
+    /**
+     * Retrieves a Promise of the value of the given key. If the value is cached, the returned
+     * Promise has already finished. If the key is loading, the Promise of that load is returned.
+     * Otherwise a load is started on the Executor.
+     *
+     * @param key the key
+     * @return a Promise of the value
+     * @throws io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException if a
+     *     load is needed and the Executor is shut down
+     */
+    public Promise<V> get(K key) {
+        for (; ; ) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                Entry<V> loading = new Entry<>(new Promise<>(() -> loader.apply(key)));
+                if (entries.putIfAbsent(key, loading) != null) {
+                    continue;
+                }
+                metrics.incrementMisses();
+                admit(key);
+                load(key, loading);
+                return loading.promise;
+            }
+            Status status = entry.promise.getStatus();
+            if (status == Status.NOT_STARTED || status == Status.RUNNING) {
+                metrics.incrementCoalesced();
+                return entry.promise;
+            }
+            long now = System.nanoTime();
+            if (status != Status.FINISHED || isExpired(entry, now)) {
+                remove(key, entry);
+                continue;
+            }
+            metrics.incrementHits();
+            touch(key);
+            if (refreshAfterNanos > 0
+                    && entry.loaded
+                    && now - entry.loadedAt >= refreshAfterNanos
+                    && entry.refreshing.compareAndSet(false, true)) {
+                refresh(key, entry);
+            }
+            return entry.promise;
+        }
+    }
+
+    /**
+     * Retrieves the cached value of the given key without loading it.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached, still loading or expired
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !entry.promise.isFinished() || isExpired(entry, System.nanoTime())) {
+            return null;
+        }
+        return entry.promise.get();
+    }
+
+    /**
+     * Removes the given key from the cache. A load in flight for it still completes, but its value
+     * is not kept.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        orderLock.lock();
+        try {
+            entries.remove(key);
+            order.remove(key);
+        } finally {
+            orderLock.unlock();
+        }
+    }
+
+    /** Removes every key from the cache. */
+    public void invalidateAll() {
+        orderLock.lock();
+        try {
+            entries.clear();
+            order.clear();
+        } finally {
+            orderLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of keys in the cache, including keys that are still loading.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the metrics of the cache.
+     *
+     * @return the metrics
+     */
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return expireAfterNanos > 0 && entry.loaded && now - entry.loadedAt >= expireAfterNanos;
+    }
+
+    private void load(K key, Entry<V> entry) {
+        try {
+            executor.run(entry.promise);
+        } catch (RuntimeException e) {
+            remove(key, entry);
+            throw e;
+        }
+        entry.promise.whenSettled(
+                () -> {
+                    if (entry.promise.isFinished()) {
+                        entry.markLoaded();
+                    } else {
+                        metrics.incrementLoadFailures();
+                        remove(key, entry);
+                    }
+                });
+    }
+
+    private void refresh(K key, Entry<V> stale) {
+        metrics.incrementRefreshes();
+        Entry<V> fresh = new Entry<>(new Promise<>(() -> loader.apply(key)));
+        try {
+            executor.run(fresh.promise);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not refresh {}, keeping the current value", key, e);
+            stale.refreshing.set(false);
+            return;
+        }
+        fresh.promise.whenSettled(
+                () -> {
+                    if (fresh.promise.isFinished()) {
+                        fresh.markLoaded();
+                        // The key may have been invalidated or evicted while it was refreshing.
+                        entries.replace(key, stale, fresh);
+                    } else {
+                        metrics.incrementLoadFailures();
+                        stale.refreshing.set(false);
+                    }
+                });
+    }
+
+    private void admit(K key) {
+        orderLock.lock();
+        try {
+            order.put(key, Boolean.TRUE);
+            Iterator<K> eldest = order.keySet().iterator();
+            while (order.size() > maximumSize) {
+                K evicted = eldest.next();
+                eldest.remove();
+                entries.remove(evicted);
+                metrics.incrementEvictions();
+            }
+        } finally {
+            orderLock.unlock();
+        }
+    }
+
+    private void touch(K key) {
+        if (orderLock.tryLock()) {
+            try {
+                order.get(key);
+            } finally {
+                orderLock.unlock();
+            }
+        }
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        orderLock.lock();
+        try {
+            if (entries.remove(key, entry)) {
+                order.remove(key);
+            }
+        } finally {
+            orderLock.unlock();
+        }
+    }
+
+    /** A cached Promise together with the time its value was loaded. */
+    private static final class Entry<V> {
+        private final Promise<V> promise;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long loadedAt;
+        private volatile boolean loaded;
+
+        private Entry(Promise<V> promise) {
+            this.promise = promise;
+        }
+
+        private void markLoaded() {
+            loadedAt = System.nanoTime();
+            loaded = true;
+        }
+    }
+}
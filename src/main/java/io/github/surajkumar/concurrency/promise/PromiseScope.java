@@ -0,0 +1,389 @@
+package io.github.surajkumar.concurrency.promise;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.Task;
+import io.github.surajkumar.concurrency.exceptions.PromiseScopeFailedException;
+import io.github.surajkumar.concurrency.exceptions.PromiseTimedOutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The PromiseScope class groups promises that are forked together, in the style of structured
+ * concurrency. Promises are forked into the scope, the owner joins the scope to wait for them, and
+ * closing the scope makes sure none of them outlives it.
+ *
+ * <p>A scope follows one of two policies. With {@link Policy#SHUTDOWN_ON_FAILURE} the first promise
+ * that fails or times out shuts the scope down, for when every result is needed. With {@link
+ * Policy#SHUTDOWN_ON_SUCCESS} the first promise that finishes shuts it down, for when any one
+ * result will do. Shutting down cancels every promise that has not settled, so promises that have
+ * not started are skipped and running ones are asked to stop through their {@link
+ * CancellationToken}.
+ *
+ * <pre>{@code
+ * try (PromiseScope<Quote> scope = PromiseScope.shutdownOnFailure(executor)) {
+ *     Promise<Quote> a = scope.fork(() -> fetch("a"));
+ *     Promise<Quote> b = scope.fork(() -> fetch("b"));
+ *     scope.join().throwIfFailed();
+ *     return merge(a.get(), b.get());
+ * }
+ * }</pre>
+ *
+ * <p>A scope is meant to be used by the thread that created it. Handlers set on a forked promise
+ * with {@link Promise#onResolve} or {@link Promise#onReject} still run as usual.
+ *
+ * @param <T> the type of result returned by the forked promises
+ */
+public final class PromiseScope<T> implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(PromiseScope.class);
+    private final Executor executor;
+    private final Policy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition settled = lock.newCondition();
+    private final List<Promise<T>> forked = new ArrayList<>();
+    private final List<Exception> exceptions = new ArrayList<>();
+    private int unsettled;
+    private boolean shutdown;
+    private boolean joined;
+    private boolean closed;
+    private boolean hasResult;
+    private T result;
+
+    /** The PromiseScope.Policy enum represents what makes a scope shut down early. */
+    public enum Policy {
+        /** The scope shuts down as soon as a promise fails or times out. */
+        SHUTDOWN_ON_FAILURE,
+        /** The scope shuts down as soon as a promise finishes successfully. */
+        SHUTDOWN_ON_SUCCESS
+    }
+
+    /**
+     * Creates a PromiseScope that runs its promises on the given Executor.
+     *
+     * @param executor the Executor that runs forked promises
+     * @param policy the policy that decides when the scope shuts down early
+     */
+    public PromiseScope(Executor executor, Policy policy) {
+        this.executor = executor;
+        this.policy = policy;
+    }
+
+    /**
+     * Creates a PromiseScope that shuts down as soon as a promise fails or times out.
+     *
+     * @param executor the Executor that runs forked promises
+     * @param <T> the type of result returned by the forked promises
+     * @return the scope
+     */
+    public static <T> PromiseScope<T> shutdownOnFailure(Executor executor) {
+        return new PromiseScope<>(executor, Policy.SHUTDOWN_ON_FAILURE);
+    }
+
+    /**
+     * Creates a PromiseScope that shuts down as soon as a promise finishes successfully.
+     *
+     * @param executor the Executor that runs forked promises
+     * @param <T> the type of result returned by the forked promises
+     * @return the scope
+     */
+    public static <T> PromiseScope<T> shutdownOnSuccess(Executor executor) {
+        return new PromiseScope<>(executor, Policy.SHUTDOWN_ON_SUCCESS);
+    }
+
+    /**
+     * Forks a task into the scope and runs it on the Executor. If the scope has already been shut
+     * down, the returned promise is cancelled and the task is not run.
+     *
+     * @param task the task to run
+     * @return the promise of the task
+     * @throws IllegalStateException if the scope has been closed
+     */
+    public Promise<T> fork(Task<? extends T> task) {
+        Failure failure = new Failure();
+        Promise<T> promise =
+                new Promise<>(
+                        () -> {
+                            try {
+                                return task.run();
+                            } catch (RuntimeException e) {
+                                failure.exception = e;
+                                throw e;
+                            }
+                        });
+        boolean cancelled;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Scope is closed");
+            }
+            forked.add(promise);
+            unsettled++;
+            cancelled = shutdown;
+        } finally {
+            lock.unlock();
+        }
+        promise.whenSettled(() -> onSettled(promise, failure));
+        if (cancelled) {
+            promise.cancel();
+            return promise;
+        }
+        try {
+            executor.run(promise);
+        } catch (RuntimeException e) {
+            promise.cancel();
+            throw e;
+        }
+        return promise;
+    }
+
+    /**
+     * Waits until every forked promise has settled or the scope has shut down.
+     *
+     * @return the current PromiseScope instance
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public PromiseScope<T> join() throws InterruptedException {
+        lock.lock();
+        try {
+            while (unsettled > 0 && !shutdown) {
+                settled.await();
+            }
+            joined = true;
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Waits until every forked promise has settled or the scope has shut down, for at most the
+     * given time. If the time runs out first, the scope is shut down.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the scope settled or shut down in time, false if it timed out
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean join(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (unsettled > 0 && !shutdown) {
+                if (remaining <= 0) {
+                    break;
+                }
+                remaining = settled.awaitNanos(remaining);
+            }
+            joined = true;
+            if (unsettled == 0 || shutdown) {
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.debug("Scope timed out, shutting down");
+        shutdown();
+        return false;
+    }
+
+    /**
+     * Shuts the scope down. Every promise that has not settled is cancelled, and promises forked
+     * afterwards are cancelled without being run. If the scope has already been shut down, calling
+     * this method has no effect.
+     */
+    public void shutdown() {
+        List<Promise<T>> toCancel;
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            toCancel = new ArrayList<>(forked);
+            settled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // Cancel outside the lock, cancelling runs the caller's exception handlers.
+        for (Promise<T> promise : toCancel) {
+            promise.cancel();
+        }
+    }
+
+    /**
+     * Checks if the scope has been shut down.
+     *
+     * @return true if the scope has been shut down, false otherwise
+     */
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Throws if any promise in the scope failed or timed out, before it was cancelled.
+     *
+     * @throws PromiseScopeFailedException if a promise failed, with the first failure as its cause
+     * @throws IllegalStateException if the scope has not been joined
+     */
+    public void throwIfFailed() {
+        lock.lock();
+        try {
+            ensureJoined();
+            if (!exceptions.isEmpty()) {
+                throw failure();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the result of the first promise that finished successfully. This is mainly meant
+     * for scopes created with {@link Policy#SHUTDOWN_ON_SUCCESS}.
+     *
+     * @return the first successful result
+     * @throws PromiseScopeFailedException if no promise finished and at least one failed
+     * @throws IllegalStateException if the scope has not been joined, or no promise finished
+     */
+    public T result() {
+        lock.lock();
+        try {
+            ensureJoined();
+            if (hasResult) {
+                return result;
+            }
+            if (!exceptions.isEmpty()) {
+                throw failure();
+            }
+            throw new IllegalStateException("No promise in the scope finished");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the results of the promises that finished successfully, in the order they were
+     * forked.
+     *
+     * @return the successful results
+     * @throws IllegalStateException if the scope has not been joined
+     */
+    public List<T> results() {
+        lock.lock();
+        try {
+            ensureJoined();
+            List<T> results = new ArrayList<>();
+            for (Promise<T> promise : forked) {
+                if (promise.isFinished()) {
+                    results.add(promise.get());
+                }
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the exceptions of the promises that failed or timed out, in the order they settled.
+     * Promises cancelled by the scope are not included.
+     *
+     * @return the failures
+     */
+    public List<Exception> exceptions() {
+        lock.lock();
+        try {
+            return List.copyOf(exceptions);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Shuts the scope down and waits for every forked promise to settle, so none of them outlives
+     * the scope. A running promise settles once its task returns, so tasks that run for long should
+     * poll {@link CancellationToken#current()}. If the thread is interrupted while waiting, it
+     * stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        lock.lock();
+        try {
+            joined = true;
+            closed = true;
+            while (unsettled > 0) {
+                settled.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSettled(Promise<T> promise, Failure failure) {
+        boolean shutdownNow = false;
+        lock.lock();
+        try {
+            unsettled--;
+            switch (promise.getStatus()) {
+                case FINISHED -> {
+                    if (!hasResult && !shutdown) {
+                        hasResult = true;
+                        result = promise.get();
+                        shutdownNow = policy == Policy.SHUTDOWN_ON_SUCCESS;
+                    }
+                }
+                case ERROR, TIMED_OUT -> {
+                    if (!shutdown) {
+                        exceptions.add(
+                                failure.exception != null
+                                        ? failure.exception
+                                        : new PromiseTimedOutException());
+                        shutdownNow = policy == Policy.SHUTDOWN_ON_FAILURE;
+                    }
+                }
+                default -> {
+                    // Cancelled promises are neither results nor failures.
+                }
+            }
+            settled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (shutdownNow) {
+            shutdown();
+        }
+    }
+
+    private void ensureJoined() {
+        if (!joined) {
+            throw new IllegalStateException("Scope has not been joined");
+        }
+    }
+
+    private PromiseScopeFailedException failure() {
+        PromiseScopeFailedException exception = new PromiseScopeFailedException(exceptions.get(0));
+        for (int i = 1; i < exceptions.size(); i++) {
+            exception.addSuppressed(exceptions.get(i));
+        }
+        return exception;
+    }
+
+    /** Holds the exception thrown by a forked task, so the scope can report it. */
+    private static final class Failure {
+        private volatile RuntimeException exception;
+    }
+}
@@ -12,5 +12,12 @@ public enum Status {
      * The ERROR constant represents the status of a promise that encountered an error while
      * running.
      */
-    ERROR
+    ERROR,
+    /** The CANCELLED constant represents the status of a promise that was cancelled. */
+    CANCELLED,
+    /**
+     * The TIMED_OUT constant represents the status of a promise whose deadline passed before it
+     * finished.
+     */
+    TIMED_OUT
 }
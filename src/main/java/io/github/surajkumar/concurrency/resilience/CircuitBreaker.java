@@ -0,0 +1,160 @@
+package io.github.surajkumar.concurrency.resilience;
+
+import io.github.surajkumar.concurrency.exceptions.CircuitBreakerOpenException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CircuitBreaker class stops promises from calling a dependency that keeps failing. While the
+ * breaker is closed, promises run as usual and consecutive failures are counted. Once they reach
+ * the threshold the breaker opens, and promises fail at once with a {@link
+ * CircuitBreakerOpenException} without running their task. After the open time one promise is let
+ * through as a trial: if it succeeds the breaker closes, and if it fails the breaker opens again.
+ *
+ * <p>Breakers are usually shared by every promise that calls the same dependency, which is what
+ * {@link #forCategory(String)} is for:
+ *
+ * <pre>{@code
+ * executor.run(new ExecutionSettings().setCircuitBreaker(CircuitBreaker.forCategory("payments")),
+ *         promise);
+ * }</pre>
+ */
+public class CircuitBreaker {
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_MILLIS = 30_000;
+    private static final Map<String, CircuitBreaker> CATEGORIES = new ConcurrentHashMap<>();
+    private final String category;
+    private final int failureThreshold;
+    private final long openNanos;
+    private volatile State state = State.CLOSED;
+    private volatile int failures;
+    private long openedAt;
+    private long trialStartedAt;
+    private boolean trialRunning;
+
+    /** The CircuitBreaker.State enum represents whether a breaker lets promises through. */
+    public enum State {
+        /** Promises run as usual. */
+        CLOSED,
+        /** Promises fail without running. */
+        OPEN,
+        /** One trial promise is let through to find out if the dependency has recovered. */
+        HALF_OPEN
+    }
+
+    /**
+     * Creates a CircuitBreaker.
+     *
+     * @param category the name of the dependency the breaker protects
+     * @param failureThreshold the number of consecutive failures that opens the breaker
+     * @param openMillis how long the breaker stays open before a trial promise is let through
+     * @throws IllegalArgumentException if the threshold is less than 1
+     */
+    public CircuitBreaker(String category, int failureThreshold, long openMillis) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be >= 1");
+        }
+        this.category = category;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * Retrieves the shared breaker of a category, creating one that opens after 5 consecutive
+     * failures for 30 seconds if the category has none yet.
+     *
+     * @param category the name of the dependency
+     * @return the breaker of the category
+     */
+    public static CircuitBreaker forCategory(String category) {
+        return CATEGORIES.computeIfAbsent(
+                category,
+                name -> new CircuitBreaker(name, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS));
+    }
+
+    /**
+     * Makes the given breaker the shared breaker of its category, replacing any breaker the
+     * category had.
+     *
+     * @param circuitBreaker the breaker to share
+     */
+    public static void register(CircuitBreaker circuitBreaker) {
+        CATEGORIES.put(circuitBreaker.getCategory(), circuitBreaker);
+    }
+
+    /**
+     * Retrieves the name of the dependency the breaker protects.
+     *
+     * @return the category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Retrieves the state of the breaker. An open breaker whose open time has passed reports {@link
+     * State#OPEN} until the next promise asks to run.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Asks if a promise may run. In the half-open state only one trial promise is let through at a
+     * time; if the trial has not reported back within the open time another one is allowed.
+     *
+     * @return true if the promise may run
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && now - openedAt < openNanos) {
+                return false;
+            }
+            if (state == State.HALF_OPEN && trialRunning && now - trialStartedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialRunning = true;
+            trialStartedAt = now;
+            return true;
+        }
+    }
+
+    /** Records that a promise let through by {@link #tryAcquire()} finished successfully. */
+    public void onSuccess() {
+        if (state == State.CLOSED && failures == 0) {
+            return;
+        }
+        synchronized (this) {
+            failures = 0;
+            trialRunning = false;
+            state = State.CLOSED;
+        }
+    }
+
+    /** Records that a promise let through by {@link #tryAcquire()} failed. */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialRunning = false;
+            failures = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{category='" + category + "', state=" + state + '}';
+    }
+}
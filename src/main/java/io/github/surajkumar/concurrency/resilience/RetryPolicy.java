@@ -0,0 +1,173 @@
+package io.github.surajkumar.concurrency.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * The RetryPolicy class describes how a promise whose task fails is tried again. Each retry waits
+ * for an exponentially growing backoff, reduced by a random jitter so that promises that failed
+ * together do not retry together. The wait happens off the worker threads: the promise is handed
+ * back to its machine once the backoff has passed, so a failing dependency does not hold threads
+ * while it recovers.
+ *
+ * <pre>{@code
+ * executor.run(new ExecutionSettings().setRetryPolicy(new RetryPolicy()
+ *         .setMaxAttempts(5)
+ *         .setInitialBackoffMillis(50)
+ *         .setRetryOn(e -> e instanceof IOException)), promise);
+ * }</pre>
+ */
+public class RetryPolicy {
+    private int maxAttempts = 3;
+    private long initialBackoffMillis = 100;
+    private long maxBackoffMillis = 10_000;
+    private double multiplier = 2;
+    private double jitter = 0.5;
+    private Predicate<Exception> retryOn = exception -> true;
+
+    /**
+     * Creates a RetryPolicy that makes up to 3 attempts, backing off from 100 milliseconds up to 10
+     * seconds by a factor of 2 with 50% jitter, and retries every exception.
+     */
+    public RetryPolicy() {}
+
+    /**
+     * Retrieves the maximum number of attempts, including the first.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the maximum number of attempts, including the first. A value of 1 disables retries.
+     *
+     * @param maxAttempts the maximum number of attempts
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Retrieves the backoff before the first retry.
+     *
+     * @return the initial backoff in milliseconds
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    /**
+     * Sets the backoff before the first retry.
+     *
+     * @param initialBackoffMillis the initial backoff in milliseconds
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves the longest backoff between two attempts.
+     *
+     * @return the maximum backoff in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Sets the longest backoff between two attempts.
+     *
+     * @param maxBackoffMillis the maximum backoff in milliseconds
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+        return this;
+    }
+
+    /**
+     * Retrieves the factor the backoff grows by after each retry.
+     *
+     * @return the backoff multiplier
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Sets the factor the backoff grows by after each retry.
+     *
+     * @param multiplier the backoff multiplier
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    /**
+     * Retrieves the fraction of each backoff that is randomized.
+     *
+     * @return the jitter, between 0 and 1
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the fraction of each backoff that is randomized. A backoff of {@code b} becomes a random
+     * wait between {@code b * (1 - jitter)} and {@code b}. A jitter of 0 makes the backoff exact,
+     * and a jitter of 1 spreads retries evenly between 0 and {@code b}.
+     *
+     * @param jitter the jitter, between 0 and 1
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setJitter(double jitter) {
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Sets which exceptions are retried. Exceptions the predicate rejects fail the promise at once.
+     * By default every exception is retried.
+     *
+     * @param retryOn the predicate that accepts exceptions worth retrying
+     * @return the RetryPolicy instance
+     */
+    public RetryPolicy setRetryOn(Predicate<Exception> retryOn) {
+        this.retryOn = retryOn;
+        return this;
+    }
+
+    /**
+     * Decides if a promise should be tried again.
+     *
+     * @param attempts the number of attempts made so far
+     * @param exception the exception the last attempt failed with
+     * @return true if another attempt should be made
+     */
+    public boolean shouldRetry(int attempts, Exception exception) {
+        return attempts < maxAttempts && retryOn.test(exception);
+    }
+
+    /**
+     * Computes the wait before the next attempt, including jitter.
+     *
+     * @param attempts the number of attempts made so far, starting at 1
+     * @return the backoff in milliseconds
+     */
+    public long getBackoffMillis(int attempts) {
+        double backoff = initialBackoffMillis * Math.pow(multiplier, Math.max(0, attempts - 1));
+        backoff = Math.min(backoff, maxBackoffMillis);
+        if (jitter > 0) {
+            backoff *= 1 - jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.max(0, (long) backoff);
+    }
+}
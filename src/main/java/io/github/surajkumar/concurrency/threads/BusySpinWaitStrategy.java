@@ -0,0 +1,22 @@
+package io.github.surajkumar.concurrency.threads;
+
+/**
+ * The BusySpinWaitStrategy class is a {@link WaitStrategy} that never gives up the CPU. It has the
+ * lowest latency of all strategies but keeps a core fully busy, so it should only be used when
+ * there is a core available for every waiting thread.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    /** Creates a BusySpinWaitStrategy. */
+    public BusySpinWaitStrategy() {}
+
+    @Override
+    public void idle(int attempt) {
+        Thread.onSpinWait();
+    }
+
+    @Override
+    public String toString() {
+        return "BusySpinWaitStrategy{}";
+    }
+}
@@ -4,9 +4,23 @@ import io.github.surajkumar.concurrency.promise.Promise;
 
 /**
  * The ExecutionPair class represents a pair of a Promise and its corresponding ExecutionSettings.
- * It provides methods to retrieve the Promise and ExecutionSettings.
+ * It provides methods to retrieve the Promise and ExecutionSettings, and the watcher that is told
+ * about this promise only.
  *
  * @param promise The promise being executed
  * @param executionSettings The execution settings
+ * @param watcher The watcher notified when this promise starts and completes, or null
  */
-public record ExecutionPair(Promise<?> promise, ExecutionSettings executionSettings) {}
+public record ExecutionPair(
+        Promise<?> promise, ExecutionSettings executionSettings, ExecutionThreadWatcher watcher) {
+
+    /**
+     * Creates an ExecutionPair without a watcher of its own.
+     *
+     * @param promise The promise being executed
+     * @param executionSettings The execution settings
+     */
+    public ExecutionPair(Promise<?> promise, ExecutionSettings executionSettings) {
+        this(promise, executionSettings, null);
+    }
+}
@@ -1,5 +1,8 @@
 package io.github.surajkumar.concurrency.threads;
 
+import io.github.surajkumar.concurrency.resilience.CircuitBreaker;
+import io.github.surajkumar.concurrency.resilience.RetryPolicy;
+
 /**
  * The ExecutionSettings class represents the settings for executing a task. It specifies the
  * initial start delay of the task, the delay between successive executions, the number of times the
@@ -11,6 +14,11 @@ public class ExecutionSettings {
     private int delayBetween;
     private int repeat;
     private boolean repeatIndefinitely;
+    private int priority;
+    private int timeout;
+    private Object key;
+    private RetryPolicy retryPolicy;
+    private CircuitBreaker circuitBreaker;
 
     /**
      * Creates an instance of ExecutionSettings with default values. The initial start delay, delay
@@ -22,6 +30,8 @@ public class ExecutionSettings {
         delayBetween = 0;
         repeat = 0;
         repeatIndefinitely = false;
+        priority = 0;
+        timeout = 0;
     }
 
     /**
@@ -123,4 +133,117 @@ public class ExecutionSettings {
         this.name = name;
         return this;
     }
+
+    /**
+     * Retrieves the priority of the task.
+     *
+     * @return the priority of the task
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of the task. Priority-aware machines such as {@link
+     * io.github.surajkumar.concurrency.machines.PriorityExecutionMachine} run tasks with a higher
+     * priority first, other machines ignore it. The default priority is 0.
+     *
+     * @param priority the priority of the task
+     * @return the modified ExecutionSettings instance
+     */
+    public ExecutionSettings setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Retrieves the time allowed for each promise, in milliseconds.
+     *
+     * @return the time allowed for each promise, or 0 if there is no deadline
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the time allowed for each promise, in milliseconds, measured from when the promise is
+     * submitted to an {@link io.github.surajkumar.concurrency.Executor}. A promise whose deadline
+     * passes is skipped or asked to stop, and ends with the status {@link
+     * io.github.surajkumar.concurrency.promise.Status#TIMED_OUT}. A promise that already has a
+     * timeout of its own keeps it. The default of 0 means there is no deadline.
+     *
+     * @param timeout the time allowed for each promise in milliseconds
+     * @return the modified ExecutionSettings instance
+     */
+    public ExecutionSettings setTimeout(int timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Retrieves the key the task is ordered by.
+     *
+     * @return the key of the task, or null if it has none
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Sets the key the task is ordered by. {@link
+     * io.github.surajkumar.concurrency.machines.KeyedSerialExecutionMachine} runs tasks with equal
+     * keys one at a time in the order they were submitted, other machines ignore it. The default of
+     * null means the task is not ordered.
+     *
+     * @param key the key of the task, compared with equals
+     * @return the modified ExecutionSettings instance
+     */
+    public ExecutionSettings setKey(Object key) {
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Retrieves the policy for retrying failed tasks.
+     *
+     * @return the retry policy, or null if failed tasks are not retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the policy for retrying failed tasks. A failed task waits for its backoff without
+     * holding a thread and is then queued again on the same machine. Retries are not applied to
+     * repeating tasks. The default of null means failed tasks are not retried.
+     *
+     * @param retryPolicy the retry policy
+     * @return the modified ExecutionSettings instance
+     */
+    public ExecutionSettings setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Retrieves the circuit breaker that guards the tasks.
+     *
+     * @return the circuit breaker, or null if there is none
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets the circuit breaker that guards the tasks, usually one shared by a category of tasks
+     * through {@link CircuitBreaker#forCategory(String)}. While it is open, tasks fail without
+     * running. The default of null means there is no circuit breaker.
+     *
+     * @param circuitBreaker the circuit breaker
+     * @return the modified ExecutionSettings instance
+     */
+    public ExecutionSettings setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
 }
@@ -3,27 +3,41 @@ package io.github.surajkumar.concurrency.threads;
 import io.github.surajkumar.concurrency.exceptions.ExecutionThreadRetiredException;
 import io.github.surajkumar.concurrency.metrics.ExecutionThreadMetrics;
 import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.tracing.PromiseExecutionEvent;
+import io.github.surajkumar.concurrency.tracing.Tracing;
+import io.github.surajkumar.concurrency.utils.CpuAffinity;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * The ExecutionThread class represents a thread that executes promises. It implements the Runnable
  * interface and provides methods to manage the execution and lifecycle of the thread.
+ *
+ * <p>Watchers are told when a promise starts, when it completes and when the thread retires. A
+ * watcher can be registered once with {@link #addWatcher}, or passed with a single promise to
+ * {@link #queuePromise(Promise, ExecutionSettings, ExecutionThreadWatcher)}. Registered watchers
+ * are kept in a copy-on-write array, so notifying them takes no lock and allocates nothing.
  */
 public class ExecutionThread implements Runnable {
     private static final Logger LOGGER = LogManager.getLogger(ExecutionThread.class);
     private final AtomicBoolean running = new AtomicBoolean(true);
-    private final BlockingQueue<ExecutionPair> queue = new LinkedBlockingQueue<>();
-    private final List<ExecutionThreadWatcher> watchers = new CopyOnWriteArrayList<>();
+    private final Queue<ExecutionPair> queue = new ConcurrentLinkedQueue<>();
+    private static final ExecutionThreadWatcher[] NO_WATCHERS = new ExecutionThreadWatcher[0];
+    private final Object watcherLock = new Object();
+    private volatile ExecutionThreadWatcher[] watchers = NO_WATCHERS;
     private final ExecutionThreadMetrics metrics = new ExecutionThreadMetrics();
     private Thread thread;
+    private BitSet affinity;
+    private static final WaitStrategy PARK = new ParkingWaitStrategy(0, 0);
+    private WaitStrategy waitStrategy = PARK;
+    private volatile Thread runner;
+    private volatile boolean parked;
 
     /**
      * The ExecutionThread class represents a thread that is responsible for executing promises. It
@@ -37,46 +51,104 @@ public class ExecutionThread implements Runnable {
      * This method represents the execution logic of the ExecutionThread. It runs the thread until
      * it is interrupted or the running flag is set to false. It retrieves ExecutionPair objects
      * from the queue, executes the associated Promise, and updates the execution metrics
-     * accordingly.
+     * accordingly. While the queue is empty the thread waits according to its {@link WaitStrategy}.
      */
     @Override
     public void run() {
         LOGGER.trace("{} running", this);
+        runner = Thread.currentThread();
+        if (affinity != null) {
+            CpuAffinity.pinCurrentThread(affinity);
+        }
         while (running.get() && !thread.isInterrupted()) {
-            ExecutionPair executionPair;
-            try {
-                executionPair = queue.take();
-            } catch (InterruptedException e) {
-                LOGGER.trace("Thread was interrupted");
-                running.set(false);
-                return;
+            ExecutionPair executionPair = nextPair();
+            if (executionPair == null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    LOGGER.trace("Thread was interrupted");
+                    running.set(false);
+                    return;
+                }
+                break;
             }
             Promise<?> promise = executionPair.promise();
             ExecutionSettings executionSettings = executionPair.executionSettings();
             metrics.incrementTotalPromises();
-            LOGGER.trace("Running promise {}", promise);
-            notifyWatcherOfRunning(promise);
-            if (executionSettings != null) {
+            notifyWatcherOfRunning(promise, executionPair.watcher());
+            PromiseExecutionEvent event = Tracing.promiseStarted(promise, executionSettings);
+            if (promise.getCancellationToken().isCancellationRequested()) {
+                promise.complete();
+            } else if (executionSettings != null) {
                 sleep(executionSettings.getInitialStartDelay());
-                int repeat = executionSettings.getRepeat();
-                while (isRunning() && (repeat >= 0 || executionSettings.isRepeatIndefinitely())) {
-                    sleep(executionSettings.getDelayBetween());
-                    promise.complete();
-                    if (!executionSettings.isRepeatIndefinitely()) {
-                        repeat--;
-                    }
-                }
+                promise.completeRepeatedly(
+                        executionSettings.getRepeat(),
+                        executionSettings.isRepeatIndefinitely(),
+                        () -> {
+                            if (!isRunning()) {
+                                return false;
+                            }
+                            sleep(executionSettings.getDelayBetween());
+                            return true;
+                        });
             } else {
                 promise.complete();
             }
-            notifyWatcherOfComplete(promise);
-            if (promise.getMetrics().isSuccess()) {
-                metrics.incrementCompletedPromises();
+            Tracing.promiseEnded(event, promise);
+            notifyWatcherOfComplete(promise, executionPair.watcher());
+            recordOutcome(metrics, promise);
+        }
+        notifyWatcherOfRetirement();
+    }
+
+    private ExecutionPair nextPair() {
+        int attempt = 0;
+        for (; ; ) {
+            ExecutionPair executionPair = queue.poll();
+            if (executionPair != null) {
+                return executionPair;
+            }
+            if (!running.get() || Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            if (waitStrategy.shouldPark(attempt)) {
+                parked = true;
+                // Check again after publishing the flag, so a promise queued meanwhile is not
+                // missed
+                if (queue.isEmpty() && running.get()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
             } else {
-                metrics.incrementFailedPromises();
+                waitStrategy.idle(attempt);
+            }
+            if (attempt < Integer.MAX_VALUE) {
+                attempt++;
             }
         }
-        notifyWatcherOfRetirement();
+    }
+
+    private void wakeUp() {
+        Thread waiting = runner;
+        if (parked && waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    /**
+     * Updates the given metrics with the outcome of a promise that has just been run.
+     *
+     * @param metrics the metrics to update
+     * @param promise the promise that has been run
+     */
+    static void recordOutcome(ExecutionThreadMetrics metrics, Promise<?> promise) {
+        if (promise.isCancelled()) {
+            metrics.incrementCancelledPromises();
+        } else if (promise.isTimedOut()) {
+            metrics.incrementTimedOutPromises();
+        } else if (promise.getMetrics().isSuccess()) {
+            metrics.incrementCompletedPromises();
+        } else {
+            metrics.incrementFailedPromises();
+        }
     }
 
     private void sleep(int milliseconds) {
@@ -87,33 +159,50 @@ public class ExecutionThread implements Runnable {
         }
     }
 
-    private void notifyWatcherOfComplete(Promise<?> promise) {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onPromiseComplete(promise, this);
-            }
+    /**
+     * Notifies the registered watchers, and then the watcher of the promise, that the promise has
+     * completed.
+     *
+     * @param promise the promise that has completed
+     * @param watcher the watcher passed with the promise, or null
+     */
+    void notifyWatcherOfComplete(Promise<?> promise, ExecutionThreadWatcher watcher) {
+        for (ExecutionThreadWatcher registered : watchers) {
+            registered.onPromiseComplete(promise, this);
+        }
+        if (watcher != null) {
+            watcher.onPromiseComplete(promise, this);
         }
     }
 
-    private void notifyWatcherOfRunning(Promise<?> promise) {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onPromiseRunning(promise, this);
-            }
+    /**
+     * Notifies the registered watchers, and then the watcher of the promise, that the promise is
+     * running.
+     *
+     * @param promise the promise that is running
+     * @param watcher the watcher passed with the promise, or null
+     */
+    void notifyWatcherOfRunning(Promise<?> promise, ExecutionThreadWatcher watcher) {
+        for (ExecutionThreadWatcher registered : watchers) {
+            registered.onPromiseRunning(promise, this);
+        }
+        if (watcher != null) {
+            watcher.onPromiseRunning(promise, this);
         }
     }
 
-    private void notifyWatcherOfRetirement() {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onExecutionThreadRetirement(this);
-            }
+    /** Notifies the registered watchers that the thread is retiring. */
+    void notifyWatcherOfRetirement() {
+        for (ExecutionThreadWatcher registered : watchers) {
+            registered.onExecutionThreadRetirement(this);
         }
     }
 
     /**
-     * Adds a {@link ExecutionThreadWatcher} to the list of registered watchers. If the execution
-     * thread is not running, it throws an {@link ExecutionThreadRetiredException}.
+     * Adds a {@link ExecutionThreadWatcher} to the registered watchers. A watcher is meant to be
+     * registered once for the life of the thread; to watch a single promise, pass the watcher to
+     * {@link #queuePromise(Promise, ExecutionSettings, ExecutionThreadWatcher)} instead. If the
+     * execution thread is not running, it throws an {@link ExecutionThreadRetiredException}.
      *
      * @param watcher the {@link ExecutionThreadWatcher} to add
      * @throws ExecutionThreadRetiredException if the execution thread is not running
@@ -122,22 +211,33 @@ public class ExecutionThread implements Runnable {
         if (!isRunning()) {
             throw new ExecutionThreadRetiredException();
         }
-        synchronized (watchers) {
+        synchronized (watcherLock) {
+            ExecutionThreadWatcher[] current = watchers;
+            ExecutionThreadWatcher[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = watcher;
+            watchers = updated;
             LOGGER.trace("{} registered watcher {}", this, watcher);
-            watchers.add(watcher);
         }
     }
 
     /**
-     * Removes a {@link ExecutionThreadWatcher} from the list of registered watchers.
+     * Removes a {@link ExecutionThreadWatcher} from the registered watchers.
      *
      * @param watcher the {@link ExecutionThreadWatcher} to remove
      */
     public void removeWatcher(ExecutionThreadWatcher watcher) {
-        synchronized (watchers) {
-            boolean removed = watchers.remove(watcher);
-            if (removed) {
-                LOGGER.trace("{} removed watcher {}", this, watcher);
+        synchronized (watcherLock) {
+            ExecutionThreadWatcher[] current = watchers;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(watcher)) {
+                    ExecutionThreadWatcher[] updated =
+                            new ExecutionThreadWatcher[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    watchers = updated.length == 0 ? NO_WATCHERS : updated;
+                    LOGGER.trace("{} removed watcher {}", this, watcher);
+                    return;
+                }
             }
         }
     }
@@ -151,10 +251,31 @@ public class ExecutionThread implements Runnable {
      * @throws ExecutionThreadRetiredException if the execution thread is not running
      */
     public void queuePromise(Promise<?> promise, ExecutionSettings executionSettings) {
+        queuePromise(promise, executionSettings, null);
+    }
+
+    /**
+     * Adds a promise to the execution queue with the specified execution settings and a watcher
+     * that is notified when this promise starts and completes, in addition to the registered
+     * watchers. Machines that borrow a thread for one promise use this instead of adding and
+     * removing a watcher around it. If the execution thread is not running, it throws an
+     * ExecutionThreadRetiredException.
+     *
+     * @param promise the promise to add to the queue
+     * @param executionSettings the execution settings for the promise
+     * @param watcher the watcher of this promise, or null
+     * @throws ExecutionThreadRetiredException if the execution thread is not running
+     */
+    public void queuePromise(
+            Promise<?> promise,
+            ExecutionSettings executionSettings,
+            ExecutionThreadWatcher watcher) {
         if (!isRunning()) {
             throw new ExecutionThreadRetiredException();
         }
-        queue.add(new ExecutionPair(promise, executionSettings));
+        queue.add(new ExecutionPair(promise, executionSettings, watcher));
+        Tracing.promiseQueued(promise, thread);
+        wakeUp();
     }
 
     /**
@@ -182,6 +303,18 @@ public class ExecutionThread implements Runnable {
      */
     public void setRunning(boolean running) {
         this.running.set(running);
+        if (!running) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Retrieves the strategy the thread uses while its queue is empty.
+     *
+     * @return the wait strategy
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
     }
 
     /**
@@ -209,10 +342,57 @@ public class ExecutionThread implements Runnable {
      * @return the created ExecutionThread
      */
     public static ExecutionThread createStarted(String name) {
+        return createStarted(name, null);
+    }
+
+    /**
+     * This method creates and starts an ExecutionThread with the given name that is a daemon thread
+     * or not, see {@link Thread#setDaemon(boolean)}. By default a thread is a daemon thread if the
+     * thread that creates it is one.
+     *
+     * @param name the name of the ExecutionThread
+     * @param daemon true if the thread must not keep the JVM alive
+     * @return the created ExecutionThread
+     */
+    public static ExecutionThread createStarted(String name, boolean daemon) {
+        return createStarted(name, null, PARK, daemon);
+    }
+
+    /**
+     * This method creates and starts an ExecutionThread with the given name that is pinned to the
+     * given CPUs, see {@link CpuAffinity}.
+     *
+     * @param name the name of the ExecutionThread
+     * @param cpus the CPUs the thread may run on, or null to leave it unpinned
+     * @return the created ExecutionThread
+     */
+    public static ExecutionThread createStarted(String name, BitSet cpus) {
+        return createStarted(name, cpus, PARK);
+    }
+
+    /**
+     * This method creates and starts an ExecutionThread with the given name, CPU affinity and wait
+     * strategy.
+     *
+     * @param name the name of the ExecutionThread
+     * @param cpus the CPUs the thread may run on, or null to leave it unpinned
+     * @param waitStrategy the strategy the thread uses while its queue is empty
+     * @return the created ExecutionThread
+     */
+    public static ExecutionThread createStarted(
+            String name, BitSet cpus, WaitStrategy waitStrategy) {
+        return createStarted(name, cpus, waitStrategy, Thread.currentThread().isDaemon());
+    }
+
+    private static ExecutionThread createStarted(
+            String name, BitSet cpus, WaitStrategy waitStrategy, boolean daemon) {
         ExecutionThread executionThread = new ExecutionThread();
         executionThread.setRunning(true);
+        executionThread.affinity = cpus;
+        executionThread.waitStrategy = waitStrategy;
         executionThread.thread = new Thread(executionThread);
         executionThread.thread.setName(name);
+        executionThread.thread.setDaemon(daemon);
         executionThread.thread.start();
         return executionThread;
     }
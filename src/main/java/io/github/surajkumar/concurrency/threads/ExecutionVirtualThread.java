@@ -2,13 +2,12 @@ package io.github.surajkumar.concurrency.threads;
 
 import io.github.surajkumar.concurrency.metrics.ExecutionThreadMetrics;
 import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.tracing.PromiseExecutionEvent;
+import io.github.surajkumar.concurrency.tracing.Tracing;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-
 /**
  * The ExecutionVirtualThread class represents a virtual thread that executes promises. It extends
  * the ExecutionThread class and provides methods to manage the execution and lifecycle of the
@@ -16,7 +15,6 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class ExecutionVirtualThread extends ExecutionThread {
     private static final Logger LOGGER = LogManager.getLogger(ExecutionVirtualThread.class);
-    private final List<ExecutionThreadWatcher> watchers = new CopyOnWriteArrayList<>();
     private final ExecutionThreadMetrics metrics = new ExecutionThreadMetrics();
     private final ExecutionPair executionPair;
 
@@ -41,12 +39,11 @@ public class ExecutionVirtualThread extends ExecutionThread {
      */
     @Override
     public void run() {
-        LOGGER.trace(this + " running");
         Promise<?> promise = executionPair.promise();
         ExecutionSettings executionSettings = executionPair.executionSettings();
         metrics.incrementTotalPromises();
-        LOGGER.trace("Running promise {}", promise);
-        notifyWatcherOfRunning(promise);
+        notifyWatcherOfRunning(promise, executionPair.watcher());
+        PromiseExecutionEvent event = Tracing.promiseStarted(promise, executionSettings);
         if (executionSettings != null) {
             if (executionSettings.getInitialStartDelay() > 0
                     || executionSettings.getDelayBetween() > 0) {
@@ -54,74 +51,16 @@ public class ExecutionVirtualThread extends ExecutionThread {
                         "Delays are not allowed within a ExecutionVirtualThread and will be"
                                 + " ignored");
             }
-            int repeat = executionSettings.getRepeat();
-            while (repeat >= 0 || executionSettings.isRepeatIndefinitely()) {
-                promise.complete();
-                if (!executionSettings.isRepeatIndefinitely()) {
-                    repeat--;
-                }
-            }
+            promise.completeRepeatedly(
+                    executionSettings.getRepeat(),
+                    executionSettings.isRepeatIndefinitely(),
+                    () -> true);
         } else {
             promise.complete();
         }
-        notifyWatcherOfComplete(promise);
-        if (promise.getMetrics().isSuccess()) {
-            metrics.incrementCompletedPromises();
-        } else {
-            metrics.incrementFailedPromises();
-        }
+        Tracing.promiseEnded(event, promise);
+        notifyWatcherOfComplete(promise, executionPair.watcher());
+        recordOutcome(metrics, promise);
         notifyWatcherOfRetirement();
     }
-
-    private void notifyWatcherOfComplete(Promise<?> promise) {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onPromiseComplete(promise, this);
-            }
-        }
-    }
-
-    private void notifyWatcherOfRunning(Promise<?> promise) {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onPromiseRunning(promise, this);
-            }
-        }
-    }
-
-    private void notifyWatcherOfRetirement() {
-        synchronized (watchers) {
-            for (ExecutionThreadWatcher watcher : watchers) {
-                watcher.onExecutionThreadRetirement(this);
-            }
-        }
-    }
-
-    /**
-     * Adds a {@link ExecutionThreadWatcher} to the list of registered watchers.
-     *
-     * @param watcher the {@link ExecutionThreadWatcher} to add
-     */
-    @Override
-    public void addWatcher(ExecutionThreadWatcher watcher) {
-        synchronized (watchers) {
-            LOGGER.trace("{} registered watcher {}", this, watcher);
-            watchers.add(watcher);
-        }
-    }
-
-    /**
-     * Removes the specified {@link ExecutionThreadWatcher} from the list of registered watchers.
-     *
-     * @param watcher the {@link ExecutionThreadWatcher} to remove
-     */
-    @Override
-    public void removeWatcher(ExecutionThreadWatcher watcher) {
-        synchronized (watchers) {
-            boolean removed = watchers.remove(watcher);
-            if (removed) {
-                LOGGER.trace("{} removed watcher {}", this, watcher);
-            }
-        }
-    }
 }
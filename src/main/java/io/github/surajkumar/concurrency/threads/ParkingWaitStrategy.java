@@ -0,0 +1,87 @@
+package io.github.surajkumar.concurrency.threads;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The ParkingWaitStrategy class is a {@link WaitStrategy} that spins briefly, then yields, and then
+ * parks the thread. It uses the least CPU of all strategies. Threads that are woken up when work
+ * arrives park until then, other threads park for a short period between checks, at the cost of up
+ * to one park period of extra latency.
+ *
+ * <p>With no spins and no yields the thread parks straight away, which is what an {@link
+ * ExecutionThread} does by default.
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+    private static final int DEFAULT_SPIN_TRIES = 100;
+    private static final int DEFAULT_YIELD_TRIES = 100;
+    private static final long DEFAULT_PARK_NANOS = 50_000;
+    private final int spinTries;
+    private final int yieldTries;
+    private final long parkNanos;
+
+    /** Creates a ParkingWaitStrategy that spins and yields 100 times each before parking. */
+    public ParkingWaitStrategy() {
+        this(DEFAULT_PARK_NANOS);
+    }
+
+    /**
+     * Creates a ParkingWaitStrategy that spins and yields 100 times each before parking for the
+     * given period at a time.
+     *
+     * @param parkNanos the period to park for in nanoseconds
+     */
+    public ParkingWaitStrategy(long parkNanos) {
+        this(DEFAULT_SPIN_TRIES, DEFAULT_YIELD_TRIES, parkNanos);
+    }
+
+    /**
+     * Creates a ParkingWaitStrategy that spins and yields the given number of times before parking.
+     *
+     * @param spinTries the number of attempts to spin before yielding
+     * @param yieldTries the number of attempts to yield before parking
+     */
+    public ParkingWaitStrategy(int spinTries, int yieldTries) {
+        this(spinTries, yieldTries, DEFAULT_PARK_NANOS);
+    }
+
+    /**
+     * Creates a ParkingWaitStrategy that spins and yields the given number of times before parking
+     * for the given period at a time.
+     *
+     * @param spinTries the number of attempts to spin before yielding
+     * @param yieldTries the number of attempts to yield before parking
+     * @param parkNanos the period to park for in nanoseconds
+     */
+    public ParkingWaitStrategy(int spinTries, int yieldTries, long parkNanos) {
+        this.spinTries = spinTries;
+        this.yieldTries = yieldTries;
+        this.parkNanos = parkNanos;
+    }
+
+    @Override
+    public void idle(int attempt) {
+        if (attempt < spinTries) {
+            Thread.onSpinWait();
+        } else if (attempt < (long) spinTries + yieldTries) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, parkNanos);
+        }
+    }
+
+    @Override
+    public boolean shouldPark(int attempt) {
+        return attempt >= (long) spinTries + yieldTries;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingWaitStrategy{spinTries="
+                + spinTries
+                + ", yieldTries="
+                + yieldTries
+                + ", parkNanos="
+                + parkNanos
+                + '}';
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.surajkumar.concurrency.threads;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PriorityExecutionQueue class is a queue of ExecutionPairs that hands out the most urgent pair
+ * first. It keeps one lock-free FIFO lane per priority level, so pairs of the same priority keep
+ * their order.
+ *
+ * <p>To prevent starvation, a waiting pair ages: for every aging interval it has waited, its
+ * priority is raised by one level. When choosing the next pair, only the oldest pair of each lane
+ * needs to be compared, so polling costs one comparison per level.
+ */
+public class PriorityExecutionQueue {
+    private final Queue<Entry>[] lanes;
+    private final long agingNanos;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a PriorityExecutionQueue with the given number of priority levels.
+     *
+     * @param levels the number of priority levels, priorities are clamped to 0 to levels - 1
+     * @param agingMillis the time after which a waiting pair is raised by one level, or 0 to
+     *     disable aging
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityExecutionQueue(int levels, long agingMillis) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("At least one priority level is required");
+        }
+        this.lanes = new Queue[levels];
+        for (int i = 0; i < levels; i++) {
+            lanes[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.agingNanos = agingMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(agingMillis) : 0;
+    }
+
+    /**
+     * Adds an ExecutionPair to the lane of its priority.
+     *
+     * @param executionPair the ExecutionPair to add
+     */
+    public void offer(ExecutionPair executionPair) {
+        int priority = executionPair.executionSettings().getPriority();
+        int lane = Math.max(0, Math.min(lanes.length - 1, priority));
+        lanes[lane].add(new Entry(executionPair, System.nanoTime()));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Removes the most urgent ExecutionPair, taking aging into account.
+     *
+     * @return the most urgent ExecutionPair, or null if the queue is empty
+     */
+    public ExecutionPair poll() {
+        while (size.get() > 0) {
+            long now = System.nanoTime();
+            int bestLane = -1;
+            long bestPriority = Long.MIN_VALUE;
+            for (int lane = lanes.length - 1; lane >= 0; lane--) {
+                Entry head = lanes[lane].peek();
+                if (head == null) {
+                    continue;
+                }
+                long priority = lane;
+                if (agingNanos > 0) {
+                    priority += (now - head.enqueuedAt) / agingNanos;
+                }
+                if (priority > bestPriority) {
+                    bestPriority = priority;
+                    bestLane = lane;
+                }
+            }
+            if (bestLane < 0) {
+                return null;
+            }
+            Entry entry = lanes[bestLane].poll();
+            if (entry != null) {
+                size.decrementAndGet();
+                return entry.executionPair;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the number of queued ExecutionPairs.
+     *
+     * @return the number of queued ExecutionPairs
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return true if there are no queued ExecutionPairs, false otherwise
+     */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    private record Entry(ExecutionPair executionPair, long enqueuedAt) {}
+}
@@ -0,0 +1,36 @@
+package io.github.surajkumar.concurrency.threads;
+
+/**
+ * The WaitStrategy interface decides what a thread does while it waits for work, such as an {@link
+ * ExecutionThread} waiting for a promise to be queued, or a consumer or producer waiting on a
+ * {@link io.github.surajkumar.concurrency.channel.RingBufferChannel}. Strategies trade CPU usage
+ * for latency.
+ *
+ * <p>A waiting thread calls {@link #idle(int)} each time it checks for work and finds none. Threads
+ * that are woken up when work arrives, like an ExecutionThread, first ask {@link #shouldPark(int)}
+ * and park until they are woken up when it returns true, so an idle thread costs no CPU. Threads
+ * that are never woken up, like the consumers of a ring, only call idle.
+ *
+ * @see BusySpinWaitStrategy
+ * @see YieldingWaitStrategy
+ * @see ParkingWaitStrategy
+ */
+public interface WaitStrategy {
+    /**
+     * Called each time a waiting thread checks for progress and finds none.
+     *
+     * @param attempt the number of consecutive checks that found no progress, starting at 0
+     */
+    void idle(int attempt);
+
+    /**
+     * Checks if a thread that is woken up when work arrives should park until then, instead of
+     * calling {@link #idle(int)}. The default implementation never parks.
+     *
+     * @param attempt the number of consecutive checks that found no progress, starting at 0
+     * @return true if the thread should park, false otherwise
+     */
+    default boolean shouldPark(int attempt) {
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.surajkumar.concurrency.threads;
+
+/**
+ * The YieldingWaitStrategy class is a {@link WaitStrategy} that spins for a number of attempts and
+ * then yields the CPU to other threads between checks. It is a good compromise between latency and
+ * CPU usage when there are more threads than cores.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int DEFAULT_SPIN_TRIES = 100;
+    private final int spinTries;
+
+    /** Creates a YieldingWaitStrategy that spins 100 times before yielding. */
+    public YieldingWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES);
+    }
+
+    /**
+     * Creates a YieldingWaitStrategy that spins the given number of times before yielding.
+     *
+     * @param spinTries the number of attempts to spin before yielding
+     */
+    public YieldingWaitStrategy(int spinTries) {
+        this.spinTries = spinTries;
+    }
+
+    @Override
+    public void idle(int attempt) {
+        if (attempt < spinTries) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "YieldingWaitStrategy{spinTries=" + spinTries + '}';
+    }
+}
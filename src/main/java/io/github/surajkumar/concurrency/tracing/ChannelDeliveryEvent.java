@@ -0,0 +1,22 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The ChannelDeliveryEvent class spans the delivery of one message to one observer. */
+@Name("io.github.surajkumar.concurrency.ChannelDelivery")
+@Label("Channel Delivery")
+@Category({"Concurrency Library", "Channel"})
+@Description("A message was delivered to a channel observer")
+@StackTrace(false)
+public final class ChannelDeliveryEvent extends Event {
+    @Label("Channel")
+    Class<?> channel;
+
+    @Label("Observer")
+    Class<?> observer;
+}
@@ -0,0 +1,22 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The ChannelSendEvent class is recorded when a message is sent on a Channel. */
+@Name("io.github.surajkumar.concurrency.ChannelSend")
+@Label("Channel Send")
+@Category({"Concurrency Library", "Channel"})
+@Description("A message was sent on a channel")
+@StackTrace(false)
+public final class ChannelSendEvent extends Event {
+    @Label("Channel")
+    Class<?> channel;
+
+    @Label("Content Type")
+    Class<?> contentType;
+}
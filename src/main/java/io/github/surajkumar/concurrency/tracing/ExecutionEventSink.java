@@ -0,0 +1,47 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+/**
+ * The ExecutionEventSink interface receives the lifecycle events of promises and execution threads,
+ * for logging, metrics or tracing backends. Sinks are registered with {@link
+ * Tracing#addSink(ExecutionEventSink)} or discovered through {@link java.util.ServiceLoader}. While
+ * no sink is registered, emitting an event costs a single array read.
+ *
+ * <p>Methods are called on the thread that submits or runs the promise, so they should return
+ * quickly. Every method does nothing by default.
+ */
+public interface ExecutionEventSink {
+    /**
+     * Called when an Executor submits a promise to an ExecutionMachine.
+     *
+     * @param promise the submitted promise
+     * @param executionMachine the machine the promise was submitted to
+     */
+    default void onPromiseSubmitted(Promise<?> promise, ExecutionMachine executionMachine) {}
+
+    /**
+     * Called when an ExecutionMachine learns that a promise has started running.
+     *
+     * @param promise the promise that is running
+     * @param executionThread the thread running the promise
+     */
+    default void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {}
+
+    /**
+     * Called when an ExecutionMachine learns that a promise has completed.
+     *
+     * @param promise the promise that has completed
+     * @param executionThread the thread that ran the promise
+     */
+    default void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {}
+
+    /**
+     * Called when an ExecutionMachine learns that one of its threads has retired.
+     *
+     * @param executionThread the thread that has retired
+     */
+    default void onExecutionThreadRetirement(ExecutionThread executionThread) {}
+}
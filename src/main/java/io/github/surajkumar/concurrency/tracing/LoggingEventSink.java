@@ -0,0 +1,51 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The LoggingEventSink class is an {@link ExecutionEventSink} that writes every event to the Log4j
+ * API at debug level, including the promise and thread metrics. It needs a Log4j backend such as
+ * log4j-core on the class path to produce output, and is not registered by default:
+ *
+ * <pre>{@code
+ * Tracing.addSink(new LoggingEventSink());
+ * }</pre>
+ */
+public class LoggingEventSink implements ExecutionEventSink {
+    private static final Logger LOGGER = LogManager.getLogger(LoggingEventSink.class);
+
+    /** Creates a LoggingEventSink that logs to the LoggingEventSink logger. */
+    public LoggingEventSink() {}
+
+    @Override
+    public void onPromiseSubmitted(Promise<?> promise, ExecutionMachine executionMachine) {
+        LOGGER.debug("Executing promise {} on {}", promise, executionMachine);
+    }
+
+    @Override
+    public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Promise started on {}: {}", executionThread, promise.getMetrics());
+        }
+    }
+
+    @Override
+    public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Promised Completed, Execution Metrics: {}", executionThread.getMetrics());
+        }
+    }
+
+    @Override
+    public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "ExecutionThread Retired, Execution Metrics: {}", executionThread.getMetrics());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The PoolScaledEvent class is recorded when a Pool adds or removes threads. */
+@Name("io.github.surajkumar.concurrency.PoolScaled")
+@Label("Pool Scaled")
+@Category({"Concurrency Library", "Pool"})
+@Description("A thread pool scaled up or down")
+@StackTrace(false)
+public final class PoolScaledEvent extends Event {
+    @Label("Change")
+    @Description("Number of threads added, negative when threads were removed")
+    int change;
+
+    @Label("Capacity")
+    @Description("Capacity of the pool after scaling")
+    int capacity;
+}
@@ -0,0 +1,30 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The PromiseExecutionEvent class spans a promise from the moment its thread starts it until it
+ * ends.
+ */
+@Name("io.github.surajkumar.concurrency.PromiseExecution")
+@Label("Promise Execution")
+@Category({"Concurrency Library", "Promise"})
+@Description("A promise was run by an ExecutionThread")
+@StackTrace(false)
+public final class PromiseExecutionEvent extends Event {
+    @Label("Promise Id")
+    @Description("Identity hash code of the promise")
+    int promiseId;
+
+    @Label("Name")
+    @Description("Name from the ExecutionSettings of the promise")
+    String name;
+
+    @Label("Status")
+    String status;
+}
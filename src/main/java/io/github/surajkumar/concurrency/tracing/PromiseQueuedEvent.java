@@ -0,0 +1,26 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The PromiseQueuedEvent class is recorded when a promise is added to the queue of an
+ * ExecutionThread.
+ */
+@Name("io.github.surajkumar.concurrency.PromiseQueued")
+@Label("Promise Queued")
+@Category({"Concurrency Library", "Promise"})
+@Description("A promise was queued on an ExecutionThread")
+@StackTrace(false)
+public final class PromiseQueuedEvent extends Event {
+    @Label("Promise Id")
+    @Description("Identity hash code of the promise")
+    int promiseId;
+
+    @Label("Execution Thread")
+    Thread executionThread;
+}
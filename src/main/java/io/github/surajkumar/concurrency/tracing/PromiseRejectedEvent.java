@@ -0,0 +1,26 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The PromiseRejectedEvent class is recorded when a promise ends without a result. */
+@Name("io.github.surajkumar.concurrency.PromiseRejected")
+@Label("Promise Rejected")
+@Category({"Concurrency Library", "Promise"})
+@Description("A promise failed, was cancelled or timed out")
+@StackTrace(false)
+public final class PromiseRejectedEvent extends Event {
+    @Label("Promise Id")
+    @Description("Identity hash code of the promise")
+    int promiseId;
+
+    @Label("Status")
+    String status;
+
+    @Label("Error Details")
+    String errorDetails;
+}
@@ -0,0 +1,23 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The PromiseSubmittedEvent class is recorded when an Executor hands a promise to its machine. */
+@Name("io.github.surajkumar.concurrency.PromiseSubmitted")
+@Label("Promise Submitted")
+@Category({"Concurrency Library", "Promise"})
+@Description("A promise was submitted to an ExecutionMachine")
+@StackTrace(false)
+public final class PromiseSubmittedEvent extends Event {
+    @Label("Promise Id")
+    @Description("Identity hash code of the promise")
+    int promiseId;
+
+    @Label("Machine")
+    Class<?> machine;
+}
@@ -0,0 +1,249 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The Tracing class is the single place where the library records Java Flight Recorder events for
+ * promises, pools and channels. Record them with, for example, {@code java
+ * -XX:StartFlightRecording:filename=app.jfr ...} and open the recording in JDK Mission Control,
+ * where the events are listed under "Concurrency Library".
+ *
+ * <p>Every method checks whether its event is enabled before collecting any data, so while no
+ * recording is running the calls cost next to nothing: no strings are built and the event objects
+ * do not escape, so the JIT removes them.
+ *
+ * <p>The same methods also hand lifecycle events to the registered {@link ExecutionEventSink}
+ * instances, which is how logging and other backends observe the library. No sink is registered by
+ * default except those found with {@link ServiceLoader}, so the hot path does no logging work.
+ */
+public final class Tracing {
+    private static volatile ExecutionEventSink[] sinks = loadSinks();
+
+    private Tracing() {}
+
+    /**
+     * Registers an event sink.
+     *
+     * @param sink the sink to register
+     */
+    public static synchronized void addSink(ExecutionEventSink sink) {
+        ExecutionEventSink[] current = sinks;
+        ExecutionEventSink[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = sink;
+        sinks = updated;
+    }
+
+    /**
+     * Removes an event sink.
+     *
+     * @param sink the sink to remove
+     */
+    public static synchronized void removeSink(ExecutionEventSink sink) {
+        List<ExecutionEventSink> updated = new ArrayList<>(Arrays.asList(sinks));
+        if (updated.remove(sink)) {
+            sinks = updated.toArray(new ExecutionEventSink[0]);
+        }
+    }
+
+    /**
+     * Retrieves the registered event sinks.
+     *
+     * @return the registered sinks
+     */
+    public static List<ExecutionEventSink> getSinks() {
+        return List.of(sinks);
+    }
+
+    /**
+     * Records that a promise has been submitted to an ExecutionMachine.
+     *
+     * @param promise the submitted promise
+     * @param machine the machine the promise was submitted to
+     */
+    public static void promiseSubmitted(Promise<?> promise, ExecutionMachine machine) {
+        for (ExecutionEventSink sink : sinks) {
+            sink.onPromiseSubmitted(promise, machine);
+        }
+        PromiseSubmittedEvent event = new PromiseSubmittedEvent();
+        if (event.shouldCommit()) {
+            event.promiseId = System.identityHashCode(promise);
+            event.machine = machine.getClass();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that a promise has been queued on an ExecutionThread.
+     *
+     * @param promise the queued promise
+     * @param executionThread the thread of the ExecutionThread, may be null if it has not started
+     */
+    public static void promiseQueued(Promise<?> promise, Thread executionThread) {
+        PromiseQueuedEvent event = new PromiseQueuedEvent();
+        if (event.shouldCommit()) {
+            event.promiseId = System.identityHashCode(promise);
+            event.executionThread = executionThread;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing the execution of a promise. Pass the returned event to {@link
+     * #promiseEnded(PromiseExecutionEvent, Promise)} once the promise has ended.
+     *
+     * @param promise the promise that is starting
+     * @param executionSettings the settings of the promise, may be null
+     * @return the event to end
+     */
+    public static PromiseExecutionEvent promiseStarted(
+            Promise<?> promise, ExecutionSettings executionSettings) {
+        PromiseExecutionEvent event = new PromiseExecutionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.promiseId = System.identityHashCode(promise);
+            event.name = executionSettings != null ? executionSettings.getName() : null;
+        }
+        return event;
+    }
+
+    /**
+     * Records the end of a promise started with {@link #promiseStarted(Promise,
+     * ExecutionSettings)}, and records that it was rejected if it ended without a result.
+     *
+     * @param event the event returned when the promise started
+     * @param promise the promise that has ended
+     */
+    public static void promiseEnded(PromiseExecutionEvent event, Promise<?> promise) {
+        if (event.isEnabled()) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.status = promise.getStatus().name();
+                event.commit();
+            }
+        }
+        Status status = promise.getStatus();
+        if (status != Status.FINISHED) {
+            PromiseRejectedEvent rejected = new PromiseRejectedEvent();
+            if (rejected.shouldCommit()) {
+                rejected.promiseId = System.identityHashCode(promise);
+                rejected.status = status.name();
+                rejected.errorDetails = promise.getMetrics().getErrorDetails();
+                rejected.commit();
+            }
+        }
+    }
+
+    /**
+     * Tells the event sinks that a promise has started running.
+     *
+     * @param promise the promise that is running
+     * @param executionThread the thread running the promise
+     */
+    public static void promiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+        for (ExecutionEventSink sink : sinks) {
+            sink.onPromiseRunning(promise, executionThread);
+        }
+    }
+
+    /**
+     * Tells the event sinks that a promise has completed.
+     *
+     * @param promise the promise that has completed
+     * @param executionThread the thread that ran the promise
+     */
+    public static void promiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+        for (ExecutionEventSink sink : sinks) {
+            sink.onPromiseComplete(promise, executionThread);
+        }
+    }
+
+    /**
+     * Tells the event sinks that an execution thread has retired.
+     *
+     * @param executionThread the thread that has retired
+     */
+    public static void executionThreadRetired(ExecutionThread executionThread) {
+        for (ExecutionEventSink sink : sinks) {
+            sink.onExecutionThreadRetirement(executionThread);
+        }
+    }
+
+    /**
+     * Records that a pool has added or removed threads.
+     *
+     * @param change the number of threads added, negative when threads were removed
+     * @param capacity the capacity of the pool after scaling
+     */
+    public static void poolScaled(int change, int capacity) {
+        PoolScaledEvent event = new PoolScaledEvent();
+        if (event.shouldCommit()) {
+            event.change = change;
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that a message has been sent on a channel.
+     *
+     * @param channel the channel the message was sent on
+     * @param content the content of the message, may be null
+     */
+    public static void channelSend(Object channel, Object content) {
+        ChannelSendEvent event = new ChannelSendEvent();
+        if (event.shouldCommit()) {
+            event.channel = channel.getClass();
+            event.contentType = content != null ? content.getClass() : null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing the delivery of a message to an observer. Pass the returned event to {@link
+     * #deliveryEnded(ChannelDeliveryEvent, Object, Object)} once the observer has returned.
+     *
+     * @return the event to end
+     */
+    public static ChannelDeliveryEvent deliveryStarted() {
+        ChannelDeliveryEvent event = new ChannelDeliveryEvent();
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records the delivery of a message started with {@link #deliveryStarted()}.
+     *
+     * @param event the event returned when the delivery started
+     * @param channel the channel the message was sent on
+     * @param observer the observer that received the message
+     */
+    public static void deliveryEnded(ChannelDeliveryEvent event, Object channel, Object observer) {
+        if (event.isEnabled()) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.channel = channel.getClass();
+                event.observer = observer.getClass();
+                event.commit();
+            }
+        }
+    }
+
+    private static ExecutionEventSink[] loadSinks() {
+        List<ExecutionEventSink> loaded = new ArrayList<>();
+        for (ExecutionEventSink sink : ServiceLoader.load(ExecutionEventSink.class)) {
+            loaded.add(sink);
+        }
+        return loaded.toArray(new ExecutionEventSink[0]);
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.surajkumar.concurrency.utils;
+
+import io.github.surajkumar.concurrency.pools.AffinityPolicy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The CpuAffinity class provides utility methods for pinning threads to CPUs on Linux.
+ *
+ * <p>The CPUs a thread may run on are read from {@code /proc/self/status} and the NUMA topology
+ * from {@code /sys/devices/system/node}. A thread is pinned by running {@code taskset} against its
+ * Linux thread id, which is read from {@code /proc/thread-self}. This costs a short-lived process
+ * per pinned thread, so it is meant for long-lived worker threads. On other platforms, or when
+ * {@code taskset} is not installed, pinning is skipped.
+ */
+public final class CpuAffinity {
+    private static final Logger LOGGER = LogManager.getLogger(CpuAffinity.class);
+    private static final Path TASKSET = Path.of("/usr/bin/taskset");
+    private static final Path THREAD_SELF = Path.of("/proc/thread-self");
+    private static final Path NODE_DIRECTORY = Path.of("/sys/devices/system/node");
+
+    private CpuAffinity() {}
+
+    /**
+     * Checks if threads can be pinned on this platform.
+     *
+     * @return true if threads can be pinned, false otherwise
+     */
+    public static boolean isSupported() {
+        return Topology.SUPPORTED;
+    }
+
+    /**
+     * Retrieves the CPUs this process is allowed to run on.
+     *
+     * @return the allowed CPUs
+     */
+    public static BitSet getAllowedCpus() {
+        return (BitSet) Topology.ALLOWED.clone();
+    }
+
+    /**
+     * Retrieves the allowed CPUs of each NUMA node. If the topology cannot be read, a single node
+     * holding every allowed CPU is returned.
+     *
+     * @return the allowed CPUs of each NUMA node
+     */
+    public static List<BitSet> getNumaNodes() {
+        List<BitSet> nodes = new ArrayList<>();
+        for (BitSet node : Topology.NODES) {
+            nodes.add((BitSet) node.clone());
+        }
+        return nodes;
+    }
+
+    /**
+     * Retrieves the CPUs the worker thread with the given index should be pinned to.
+     *
+     * @param policy the affinity policy of the pool
+     * @param workerIndex the index of the worker thread within the pool
+     * @return the CPUs to pin the worker to, or null if it should not be pinned
+     */
+    public static BitSet cpusFor(AffinityPolicy policy, int workerIndex) {
+        if (policy == null || policy == AffinityPolicy.NONE || !isSupported()) {
+            return null;
+        }
+        if (policy == AffinityPolicy.NUMA_NODE) {
+            return getNumaNodes().get(Math.floorMod(workerIndex, Topology.NODES.size()));
+        }
+        int target = Math.floorMod(workerIndex, Topology.ALLOWED.cardinality());
+        int cpu = Topology.ALLOWED.nextSetBit(0);
+        for (int i = 0; i < target; i++) {
+            cpu = Topology.ALLOWED.nextSetBit(cpu + 1);
+        }
+        BitSet cpus = new BitSet();
+        cpus.set(cpu);
+        return cpus;
+    }
+
+    /**
+     * Pins the current thread to the given CPUs.
+     *
+     * @param cpus the CPUs the current thread may run on
+     * @return true if the thread was pinned, false if pinning is not supported or failed
+     */
+    public static boolean pinCurrentThread(BitSet cpus) {
+        if (!isSupported() || cpus == null || cpus.isEmpty()) {
+            return false;
+        }
+        try {
+            String threadId = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+            Process process =
+                    new ProcessBuilder(TASKSET.toString(), "-p", "-c", toCpuList(cpus), threadId)
+                            .redirectErrorStream(true)
+                            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                            .start();
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                LOGGER.trace("Pinned {} to CPUs {}", Thread.currentThread(), toCpuList(cpus));
+                return true;
+            }
+            process.destroy();
+            LOGGER.warn("Failed to pin {} to CPUs {}", Thread.currentThread(), toCpuList(cpus));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to pin {}", Thread.currentThread(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Parses a Linux CPU list such as {@code 0-3,8,10-11}.
+     *
+     * @param cpuList the CPU list
+     * @return the CPUs in the list
+     */
+    public static BitSet parseCpuList(String cpuList) {
+        BitSet cpus = new BitSet();
+        for (String range : cpuList.trim().split(",")) {
+            if (range.isBlank()) {
+                continue;
+            }
+            String[] bounds = range.trim().split("-");
+            int from = Integer.parseInt(bounds[0]);
+            int to = bounds.length > 1 ? Integer.parseInt(bounds[1]) : from;
+            cpus.set(from, to + 1);
+        }
+        return cpus;
+    }
+
+    /**
+     * Formats CPUs as a Linux CPU list such as {@code 0-3,8,10-11}.
+     *
+     * @param cpus the CPUs
+     * @return the CPU list
+     */
+    public static String toCpuList(BitSet cpus) {
+        StringBuilder builder = new StringBuilder();
+        int from = cpus.nextSetBit(0);
+        while (from >= 0) {
+            int to = cpus.nextClearBit(from) - 1;
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(from);
+            if (to > from) {
+                builder.append('-').append(to);
+            }
+            from = cpus.nextSetBit(to + 1);
+        }
+        return builder.toString();
+    }
+
+    /** Reads the CPU topology once, the first time it is needed. */
+    private static final class Topology {
+        private static final BitSet ALLOWED = readAllowedCpus();
+        private static final List<BitSet> NODES = readNodes();
+        private static final boolean SUPPORTED =
+                System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("linux")
+                        && Files.isExecutable(TASKSET)
+                        && Files.exists(THREAD_SELF)
+                        && !ALLOWED.isEmpty();
+
+        private static BitSet readAllowedCpus() {
+            try (Stream<String> lines = Files.lines(Path.of("/proc/self/status"))) {
+                String list =
+                        lines.filter(line -> line.startsWith("Cpus_allowed_list:"))
+                                .map(line -> line.substring(line.indexOf(':') + 1))
+                                .findFirst()
+                                .orElse(null);
+                if (list != null) {
+                    return parseCpuList(list);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Cannot read the allowed CPUs", e);
+            }
+            BitSet cpus = new BitSet();
+            cpus.set(0, Runtime.getRuntime().availableProcessors());
+            return cpus;
+        }
+
+        private static List<BitSet> readNodes() {
+            List<BitSet> nodes = new ArrayList<>();
+            try (Stream<Path> files = Files.list(NODE_DIRECTORY)) {
+                List<Path> nodeDirectories =
+                        files.filter(file -> file.getFileName().toString().matches("node\\d+"))
+                                .sorted(
+                                        Comparator.comparingInt(
+                                                file ->
+                                                        Integer.parseInt(
+                                                                file.getFileName()
+                                                                        .toString()
+                                                                        .substring(4))))
+                                .toList();
+                for (Path node : nodeDirectories) {
+                    BitSet cpus = parseCpuList(Files.readString(node.resolve("cpulist")));
+                    cpus.and(ALLOWED);
+                    if (!cpus.isEmpty()) {
+                        nodes.add(cpus);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Cannot read the NUMA topology", e);
+            }
+            if (nodes.isEmpty()) {
+                nodes.add((BitSet) ALLOWED.clone());
+            }
+            return nodes;
+        }
+    }
+}
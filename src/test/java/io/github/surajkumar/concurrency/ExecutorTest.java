@@ -0,0 +1,86 @@
+package io.github.surajkumar.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.machines.PriorityExecutionMachine;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ExecutorTest {
+
+    @Test
+    void testShutdownDrainsQueuedPromises() throws InterruptedException {
+        PriorityExecutionMachine machine = new PriorityExecutionMachine(1);
+        Executor executor = new Executor(machine);
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.run(new Promise<>(() -> await(blocker)));
+        executor.run(new Promise<>(ran::incrementAndGet), new Promise<>(ran::incrementAndGet));
+        executor.shutdown();
+
+        assertTrue(executor.isShutdown());
+        assertThrows(
+                ExecutionMachineShutdownException.class,
+                () -> executor.run(new Promise<>(ran::incrementAndGet)));
+        assertFalse(executor.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        blocker.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, ran.get());
+        assertTrue(machine.threadPool().isShutdown());
+    }
+
+    @Test
+    void testShutdownNowReturnsUnstartedPromises() throws InterruptedException {
+        Executor executor = new Executor(new PriorityExecutionMachine(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        Promise<Boolean> running =
+                new Promise<>(
+                        () -> {
+                            started.countDown();
+                            return await(blocker);
+                        });
+        Promise<Integer> first = new Promise<>(() -> 1);
+        Promise<Integer> second = new Promise<>(() -> 2);
+
+        executor.run(running, first, second);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<Promise<?>> unstarted = executor.shutdown(50, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, unstarted.size());
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertTrue(running.getCancellationToken().isCancelled());
+        blocker.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownWithoutThreadPool() throws InterruptedException {
+        Executor executor = new Executor(new ThreadPerTaskExecutionMachine());
+        Promise<String> promise = new Promise<>(() -> "done");
+        executor.run(promise);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals("done", promise.get());
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.surajkumar.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+class GlobalExecutorTest {
+
+    @Test
+    void testConcurrentFirstCallsShareOneExecutor() throws InterruptedException {
+        Set<Executor> executors = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] =
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        try {
+                                            start.await();
+                                        } catch (InterruptedException e) {
+                                            Thread.currentThread().interrupt();
+                                        }
+                                        executors.add(GlobalExecutor.getPooledExecutor());
+                                    });
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, executors.size());
+        assertSame(GlobalExecutor.getPooledExecutor(), GlobalExecutor.getDefaultExecutor());
+    }
+
+    @Test
+    void testVirtualExecutorRunsPromises() {
+        Promise<String> promise = new Promise<>(() -> "ran");
+        GlobalExecutor.getVirtualExecutor().run(promise);
+        assertEquals("ran", promise.get());
+    }
+}
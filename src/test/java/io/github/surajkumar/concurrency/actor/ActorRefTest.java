@@ -0,0 +1,249 @@
+package io.github.surajkumar.concurrency.actor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.exceptions.ActorStoppedException;
+import io.github.surajkumar.concurrency.exceptions.MailboxFullException;
+import io.github.surajkumar.concurrency.machines.PooledExecutionMachine;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.machines.VirtualThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ActorRefTest {
+
+    @Test
+    void testActorHandlesMessagesOneAtATime() throws InterruptedException {
+        ActorSystem system =
+                new ActorSystem(
+                        new VirtualThreadPerTaskExecutionMachine(),
+                        new ActorOptions().setMailboxCapacity(10_000).setThroughput(4));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ActorRef<Integer, Integer> counter =
+                system.spawn(
+                        new Actor<>() {
+                            private int total;
+
+                            @Override
+                            public Integer receive(Integer amount) {
+                                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                total += amount;
+                                running.decrementAndGet();
+                                return total;
+                            }
+                        });
+
+        List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            senders.add(
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        for (int j = 0; j < 1000; j++) {
+                                            assertTrue(counter.tell(1));
+                                        }
+                                    }));
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        assertEquals(4000, counter.ask(0).get());
+        assertEquals(1, maxRunning.get());
+        assertEquals(0, counter.getMailboxSize());
+    }
+
+    @Test
+    void testFailedRequestDoesNotStopTheActor() {
+        ActorSystem system = new ActorSystem(new ThreadPerTaskExecutionMachine());
+        ActorRef<String, Integer> parser = system.spawn(Integer::parseInt);
+
+        Promise<Integer> failed = parser.ask("not a number");
+        Promise<Integer> parsed = parser.ask("42");
+
+        assertNull(failed.get());
+        assertEquals(Status.ERROR, failed.getStatus());
+        assertEquals(42, parsed.get());
+    }
+
+    @Test
+    void testFullMailboxRefusesMessages() {
+        ActorSystem system = new ActorSystem(new ThreadPerTaskExecutionMachine());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActorRef<String, Boolean> actor =
+                system.spawn(
+                        message -> {
+                            started.countDown();
+                            return await(release);
+                        },
+                        new ActorOptions().setMailboxCapacity(1));
+        Promise<Boolean> first = actor.ask("first");
+        assertTrue(await(started));
+        assertTrue(actor.tell("second"));
+
+        assertFalse(actor.tell("third"));
+        Promise<Boolean> refused = actor.ask("fourth");
+
+        assertEquals(Status.ERROR, refused.getStatus());
+        assertEquals(
+                new MailboxFullException().getMessage(), refused.getMetrics().getErrorDetails());
+        release.countDown();
+        assertTrue(first.get());
+    }
+
+    @Test
+    void testStoppedActorRefusesMessages() {
+        ActorSystem system = new ActorSystem(new ThreadPerTaskExecutionMachine());
+        ActorRef<String, String> echo = system.spawn(message -> message);
+        assertEquals("hello", echo.ask("hello").get());
+
+        echo.stop();
+
+        assertTrue(echo.isStopped());
+        assertFalse(echo.tell("ignored"));
+        Promise<String> refused = echo.ask("ignored");
+        assertEquals(Status.ERROR, refused.getStatus());
+        assertEquals(
+                new ActorStoppedException().getMessage(), refused.getMetrics().getErrorDetails());
+    }
+
+    @Test
+    void testRefusedScheduleStopsTheActor() throws InterruptedException {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine();
+        ActorSystem system = new ActorSystem(machine);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActorRef<String, Boolean> actor =
+                system.spawn(
+                        message -> {
+                            started.countDown();
+                            return await(release);
+                        },
+                        new ActorOptions().setThroughput(1));
+        Promise<Boolean> first = actor.ask("first");
+        assertTrue(await(started));
+        Promise<Boolean> queued = actor.ask("queued");
+
+        machine.shutdown();
+        release.countDown();
+
+        assertTrue(first.get());
+        assertNull(queued.get());
+        assertEquals(
+                new ActorStoppedException().getMessage(), queued.getMetrics().getErrorDetails());
+        assertTrue(actor.isStopped());
+        assertEquals(0, actor.getMailboxSize());
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMessageToAShutDownMachineIsRefused() {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine();
+        ActorSystem system = new ActorSystem(machine);
+        ActorRef<String, String> echo = system.spawn(message -> message);
+        machine.shutdown();
+
+        assertFalse(echo.tell("ignored"));
+        Promise<String> refused = echo.ask("ignored");
+
+        assertTrue(echo.isStopped());
+        assertEquals(0, echo.getMailboxSize());
+        assertEquals(Status.ERROR, refused.getStatus());
+        assertEquals(
+                new ActorStoppedException().getMessage(), refused.getMetrics().getErrorDetails());
+    }
+
+    @Test
+    void testMoreActorsThanThreadsAllFinishWhenWaitingForAThread() throws InterruptedException {
+        assertActorsShareABoundedPool(true);
+    }
+
+    @Test
+    void testMoreActorsThanThreadsAllFinishWhenNoThreadIsAvailable() throws InterruptedException {
+        assertActorsShareABoundedPool(false);
+    }
+
+    private static void assertActorsShareABoundedPool(boolean waitFor) throws InterruptedException {
+        PooledExecutionMachine machine =
+                new PooledExecutionMachine(
+                        new FixedThreadPool(new Pool(2, new PoolOptions().setWaitFor(waitFor))));
+        ActorSystem system = new ActorSystem(machine, new ActorOptions().setThroughput(1));
+        List<ActorRef<Integer, Integer>> actors = new ArrayList<>();
+        List<Promise<Integer>> replies = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            actors.add(
+                    system.spawn(
+                            new Actor<>() {
+                                private int total;
+
+                                @Override
+                                public Integer receive(Integer amount) {
+                                    // Slow enough that every mailbox backs up behind the threads.
+                                    sleep(5);
+                                    return total += amount;
+                                }
+                            }));
+        }
+
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> {
+                    List<Thread> senders = new ArrayList<>();
+                    for (ActorRef<Integer, Integer> actor : actors) {
+                        senders.add(
+                                Thread.ofVirtual()
+                                        .start(
+                                                () -> {
+                                                    for (int i = 0; i < 10; i++) {
+                                                        replies.add(actor.ask(1));
+                                                    }
+                                                }));
+                    }
+                    for (Thread sender : senders) {
+                        sender.join();
+                    }
+                    assertEquals(40, replies.size());
+                    for (Promise<Integer> reply : replies) {
+                        assertNotNull(reply.get());
+                    }
+                });
+        for (ActorRef<Integer, Integer> actor : actors) {
+            assertFalse(actor.isStopped());
+            assertEquals(10, actor.ask(0).get());
+        }
+        machine.shutdown();
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.surajkumar.concurrency.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BatchingChannelObserverTest {
+
+    @Test
+    void testDeliversFullBatches() {
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        Channel<Integer> channel = new Channel<>();
+        BatchingChannelObserver<Integer> observer =
+                new BatchingChannelObserver<>(
+                        (c, messages) -> sizes.add(messages.size()),
+                        new BatchOptions<Integer>().setMaxBatchSize(10).setLingerMillis(0));
+        channel.register(observer);
+        for (int i = 0; i < 25; i++) {
+            channel.sendMessage(Message.createMessage(i, null));
+        }
+        assertEquals(List.of(10, 10), sizes);
+        observer.close();
+        assertEquals(List.of(10, 10, 5), sizes);
+    }
+
+    @Test
+    void testDeliversPartialBatchAfterLinger() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Channel<String> channel = new Channel<>();
+        channel.register(
+                new BatchingChannelObserver<>(
+                        (c, messages) -> {
+                            assertEquals(2, messages.size());
+                            latch.countDown();
+                        },
+                        new BatchOptions<String>().setMaxBatchSize(100).setLingerMillis(20)));
+        channel.sendMessage(Message.createMessage("a", null));
+        channel.sendMessage(Message.createMessage("b", null));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCoalescesByKey() {
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        Channel<String> channel = new Channel<>();
+        BatchingChannelObserver<String> observer =
+                new BatchingChannelObserver<>(
+                        (c, messages) -> messages.forEach(m -> delivered.add(m.getContent())),
+                        new BatchOptions<String>()
+                                .setLingerMillis(0)
+                                .setCoalesceBy(content -> content.charAt(0)));
+        channel.register(observer);
+        channel.sendMessage(Message.createMessage("a1", null));
+        channel.sendMessage(Message.createMessage("b1", null));
+        channel.sendMessage(Message.createMessage("a2", null));
+        observer.flush();
+        assertEquals(List.of("a2", "b1"), delivered);
+    }
+
+    @Test
+    void testSlowBatchDoesNotBlockSenders() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(2);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        Channel<Integer> channel = new Channel<>();
+        BatchingChannelObserver<Integer> observer =
+                new BatchingChannelObserver<>(
+                        (c, messages) -> {
+                            delivering.countDown();
+                            await(release);
+                            messages.forEach(m -> order.add(m.getContent()));
+                            delivered.countDown();
+                        },
+                        new BatchOptions<Integer>().setMaxBatchSize(1).setLingerMillis(0));
+        Thread.ofPlatform()
+                .start(() -> observer.onMessageReceived(channel, Message.createMessage(1, null)));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(2),
+                () -> observer.onMessageReceived(channel, Message.createMessage(2, null)));
+        release.countDown();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2), order);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
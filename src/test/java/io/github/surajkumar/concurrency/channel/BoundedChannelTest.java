@@ -0,0 +1,165 @@
+package io.github.surajkumar.concurrency.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.exceptions.ChannelClosedException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class BoundedChannelTest {
+
+    @Test
+    void testTrySendAndTryReceive() {
+        BoundedChannel<String> channel = new BoundedChannel<>(2);
+        assertTrue(channel.trySend("a"));
+        assertTrue(channel.trySend("b"));
+        assertFalse(channel.trySend("c"));
+        assertEquals("a", channel.tryReceive());
+        assertEquals("b", channel.tryReceive());
+        assertNull(channel.tryReceive());
+        assertEquals(2, channel.getMetrics().getSentMessages());
+        assertEquals(2, channel.getMetrics().getReceivedMessages());
+    }
+
+    @Test
+    void testReceiveTimesOut() throws InterruptedException {
+        BoundedChannel<String> channel = new BoundedChannel<>(1);
+        assertNull(channel.receive(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testCloseDrainsBufferedValues() throws InterruptedException {
+        BoundedChannel<String> channel = new BoundedChannel<>(4);
+        channel.send("a");
+        channel.close();
+        assertThrows(ChannelClosedException.class, () -> channel.send("b"));
+        assertEquals("a", channel.receive());
+        assertTrue(channel.isDrained());
+        assertThrows(ChannelClosedException.class, channel::receive);
+    }
+
+    @Test
+    void testCloseWakesBlockedReceiver() throws InterruptedException {
+        BoundedChannel<String> channel = new BoundedChannel<>(1);
+        List<Exception> errors = new ArrayList<>();
+        Thread receiver =
+                Thread.ofVirtual()
+                        .start(
+                                () -> {
+                                    try {
+                                        channel.receive();
+                                    } catch (Exception e) {
+                                        errors.add(e);
+                                    }
+                                });
+        Thread.sleep(50);
+        channel.close();
+        receiver.join();
+        assertEquals(1, errors.size());
+        assertInstanceOf(ChannelClosedException.class, errors.get(0));
+    }
+
+    @Test
+    void testCloseDoesNotStrandValuesOfRacingSends() throws InterruptedException {
+        for (int round = 0; round < 500; round++) {
+            BoundedChannel<Integer> channel = new BoundedChannel<>(64);
+            AtomicLong sent = new AtomicLong();
+            Thread producer =
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        try {
+                                            for (int i = 0; i < 64; i++) {
+                                                channel.trySend(i);
+                                                sent.incrementAndGet();
+                                            }
+                                        } catch (ChannelClosedException e) {
+                                            // Closed
+                                        }
+                                    });
+            channel.close();
+            long received = 0;
+            try {
+                for (; ; ) {
+                    channel.receive();
+                    received++;
+                }
+            } catch (ChannelClosedException e) {
+                // Drained
+            }
+            producer.join();
+            assertEquals(sent.get(), received);
+        }
+    }
+
+    @Test
+    void testProducersAndConsumersWithBackpressure() throws InterruptedException {
+        BoundedChannel<Long> channel = new BoundedChannel<>(8);
+        int producers = 4;
+        int perProducer = 10_000;
+        AtomicLong sum = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(
+                    Thread.ofVirtual()
+                            .start(
+                                    () -> {
+                                        try {
+                                            for (long i = 1; i <= perProducer; i++) {
+                                                channel.send(i);
+                                            }
+                                        } catch (InterruptedException e) {
+                                            Thread.currentThread().interrupt();
+                                        }
+                                    }));
+        }
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            consumers.add(
+                    Thread.ofVirtual()
+                            .start(
+                                    () -> {
+                                        try {
+                                            for (; ; ) {
+                                                sum.addAndGet(channel.receive());
+                                            }
+                                        } catch (ChannelClosedException | InterruptedException e) {
+                                            // Drained
+                                        }
+                                    }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        channel.close();
+        for (Thread thread : consumers) {
+            thread.join();
+        }
+        long expected = (long) producers * perProducer * (perProducer + 1) / 2;
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    void testSelectReceivesFromReadyChannel() throws InterruptedException {
+        BoundedChannel<String> first = new BoundedChannel<>(1);
+        BoundedChannel<String> second = new BoundedChannel<>(1);
+        Thread.ofVirtual()
+                .start(
+                        () -> {
+                            try {
+                                Thread.sleep(20);
+                                second.send("hello");
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        BoundedChannel.Selection<String> selection = BoundedChannel.select(first, second);
+        assertSame(second, selection.channel());
+        assertEquals("hello", selection.value());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.surajkumar.concurrency.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class PersistentChannelTest {
+
+    @TempDir Path directory;
+
+    @Test
+    void testResumesFromOffsetAfterReopen() throws IOException {
+        try (PersistentChannel<String> channel =
+                new PersistentChannel<>(directory, new StringMessageCodec())) {
+            for (String content : List.of("a", "b", "", "c")) {
+                channel.sendMessage(Message.createMessage(content, null));
+            }
+        }
+
+        List<String> received = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        try (PersistentChannel<String> channel =
+                new PersistentChannel<>(directory, new StringMessageCodec())) {
+            assertEquals(4, channel.getNextOffset());
+            channel.register(
+                    (c, message) -> {
+                        received.add(message.getContent());
+                        offsets.add(message.getOffset());
+                    },
+                    1);
+            channel.sendMessage(Message.createMessage("d", null));
+        }
+
+        assertEquals(List.of("b", "", "c", "d"), received);
+        assertEquals(List.of(1L, 2L, 3L, 4L), offsets);
+    }
+
+    @Test
+    void testDirectedMessagesAreNotReplayedToOtherObservers() throws IOException {
+        try (PersistentChannel<String> channel =
+                new PersistentChannel<>(directory, new StringMessageCodec())) {
+            List<String> recipientReceived = new ArrayList<>();
+            ChannelObserver<String> recipient =
+                    (c, message) -> recipientReceived.add(message.getContent());
+            channel.register(recipient);
+            Message<String> broadcast = Message.createMessage("everyone", null);
+            channel.sendMessage(broadcast);
+            channel.sendMessage(Message.createMessage("private", null), recipient);
+
+            List<String> replayed = new ArrayList<>();
+            channel.register((c, message) -> replayed.add(message.getContent()), 0);
+
+            assertEquals(List.of("everyone", "private"), recipientReceived);
+            assertEquals(List.of("everyone"), replayed);
+            assertEquals(1, channel.getNextOffset());
+            assertEquals(-1, broadcast.getOffset());
+        }
+    }
+
+    @Test
+    void testRetentionDeletesOldSegments() throws IOException {
+        JournalOptions options = new JournalOptions().setSegmentSize(64).setMaxSegments(2);
+        try (PersistentChannel<String> channel =
+                new PersistentChannel<>(directory, new StringMessageCodec(), options)) {
+            for (int i = 0; i < 20; i++) {
+                channel.sendMessage(Message.createMessage("message-" + i, null));
+            }
+            assertTrue(channel.getFirstOffset() > 0);
+            List<String> replayed = new ArrayList<>();
+            channel.replay((c, message) -> replayed.add(message.getContent()), 0);
+            assertEquals("message-19", replayed.get(replayed.size() - 1));
+            assertEquals(20 - channel.getFirstOffset(), replayed.size());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+}
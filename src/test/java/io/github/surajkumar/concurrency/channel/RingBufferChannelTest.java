@@ -0,0 +1,98 @@
+package io.github.surajkumar.concurrency.channel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.threads.BusySpinWaitStrategy;
+import io.github.surajkumar.concurrency.threads.ParkingWaitStrategy;
+import io.github.surajkumar.concurrency.threads.WaitStrategy;
+import io.github.surajkumar.concurrency.threads.YieldingWaitStrategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class RingBufferChannelTest {
+
+    @Test
+    void testDeliversInOrderAcrossWraps() throws InterruptedException {
+        testDelivery(new BusySpinWaitStrategy());
+        testDelivery(new YieldingWaitStrategy());
+        testDelivery(new ParkingWaitStrategy());
+    }
+
+    @Test
+    void testSenderDoesNotReceiveOwnMessage() throws InterruptedException {
+        RingBufferChannel<String> channel = new RingBufferChannel<>(4, new YieldingWaitStrategy());
+        List<String> senderReceived = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        ChannelObserver<String> sender = (c, message) -> senderReceived.add(message.getContent());
+        channel.register(sender);
+        channel.register((c, message) -> latch.countDown());
+        channel.publish("hello", sender);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        channel.close();
+        assertTrue(senderReceived.isEmpty());
+    }
+
+    @Test
+    void testConsumersRunOnThreadsOfTheGivenFactory() throws InterruptedException {
+        RingBufferChannel<String> channel =
+                new RingBufferChannel<>(
+                        4,
+                        new ParkingWaitStrategy(),
+                        Thread.ofVirtual().name("consumer").factory());
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        channel.register(
+                (c, message) -> {
+                    threads.add(Thread.currentThread());
+                    latch.countDown();
+                });
+        channel.publish("hello", null);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        channel.close();
+        assertTrue(threads.get(0).isVirtual());
+        assertEquals("consumer", threads.get(0).getName());
+    }
+
+    @Test
+    void testRejectsNonPowerOfTwoBufferSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RingBufferChannel<String>(3, new BusySpinWaitStrategy()));
+    }
+
+    private void testDelivery(WaitStrategy waitStrategy) throws InterruptedException {
+        RingBufferChannel<Long> channel = new RingBufferChannel<>(16, waitStrategy);
+        int messages = 10_000;
+        CountDownLatch latch = new CountDownLatch(2);
+        List<AtomicLong> sums = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            AtomicLong sum = new AtomicLong();
+            AtomicLong last = new AtomicLong();
+            sums.add(sum);
+            channel.register(
+                    (c, message) -> {
+                        long value = message.getContent();
+                        assertEquals(last.get() + 1, value);
+                        last.set(value);
+                        sum.addAndGet(value);
+                        if (value == messages) {
+                            latch.countDown();
+                        }
+                    });
+        }
+        for (long i = 1; i <= messages; i++) {
+            channel.publish(i, null);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        channel.close();
+        long expected = (long) messages * (messages + 1) / 2;
+        sums.forEach(sum -> assertEquals(expected, sum.get()));
+        assertEquals(messages, channel.getMetrics().getSentMessages());
+    }
+}
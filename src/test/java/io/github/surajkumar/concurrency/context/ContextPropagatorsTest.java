@@ -0,0 +1,86 @@
+package io.github.surajkumar.concurrency.context;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
+import io.github.surajkumar.concurrency.machines.VirtualThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ContextPropagatorsTest {
+
+    @AfterEach
+    void tearDown() {
+        ThreadContext.clearAll();
+    }
+
+    @Test
+    void testThreadContextFollowsPromise() {
+        Executor executor = new Executor(new SingleThreadedExecutionMachine());
+        ThreadContext.put("requestId", "42");
+        ThreadContext.push("checkout");
+        Promise<String> promise =
+                new Promise<>(() -> ThreadContext.get("requestId") + "/" + ThreadContext.peek());
+        executor.run(promise);
+        assertEquals("42/checkout", promise.get());
+
+        ThreadContext.clearAll();
+        Promise<Boolean> next = new Promise<>(ThreadContext::isEmpty);
+        executor.run(next);
+        assertTrue(next.get(), "context leaked into the next promise on the same thread");
+        executor.shutdown();
+    }
+
+    @Test
+    void testThreadContextFollowsPromiseOntoVirtualThread() {
+        Executor executor = new Executor(new VirtualThreadPerTaskExecutionMachine());
+        ThreadContext.put("requestId", "7");
+        Promise<String> promise = new Promise<>(() -> ThreadContext.get("requestId"));
+        executor.run(promise);
+        assertEquals("7", promise.get());
+    }
+
+    @Test
+    void testEmptyContextIsNotAllocated() {
+        assertSame(ContextSnapshot.empty(), ContextSnapshot.capture());
+        assertSame(ContextSnapshot.empty(), ContextSnapshot.empty().attach());
+    }
+
+    @Test
+    void testCustomPropagatorIsRestored() {
+        ThreadLocal<String> span = new ThreadLocal<>();
+        ContextPropagator<String> propagator =
+                new ContextPropagator<>() {
+                    @Override
+                    public String capture() {
+                        return span.get();
+                    }
+
+                    @Override
+                    public String restore(String snapshot) {
+                        String previous = span.get();
+                        span.set(snapshot);
+                        return previous;
+                    }
+                };
+        ContextPropagators.register(propagator);
+        try {
+            assertTrue(ContextPropagators.getPropagators().contains(propagator));
+            span.set("span-1");
+            ContextSnapshot snapshot = ContextSnapshot.capture();
+            span.set("worker");
+
+            ContextSnapshot previous = snapshot.attach();
+            assertEquals("span-1", span.get());
+            previous.attach();
+            assertEquals("worker", span.get());
+        } finally {
+            ContextPropagators.unregister(propagator);
+        }
+        assertFalse(ContextPropagators.getPropagators().contains(propagator));
+    }
+}
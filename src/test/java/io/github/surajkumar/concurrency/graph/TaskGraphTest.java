@@ -0,0 +1,245 @@
+package io.github.surajkumar.concurrency.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.metrics.TaskGraphMetrics;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.CancellationToken;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class TaskGraphTest {
+    private final ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine();
+
+    @Test
+    void testNodesRunAfterTheirDependencies() {
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Integer> source = graph.add("source", () -> 1);
+        TaskNode<Integer> left = graph.add("left", () -> source.get() + 1, source);
+        TaskNode<Integer> right = graph.add("right", () -> source.get() * 10, source);
+        TaskNode<Integer> sink = graph.add("sink", () -> left.get() + right.get(), left, right);
+
+        TaskGraphMetrics metrics = graph.run(machine).get();
+
+        assertEquals(12, sink.get());
+        assertEquals(4, metrics.getSucceeded());
+        assertEquals(TaskNode.State.SUCCEEDED, sink.getState());
+    }
+
+    @Test
+    void testIndependentBranchesRunInParallel() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        TaskGraph graph = new TaskGraph(new GraphOptions().setMaxParallelism(2));
+        TaskNode<Boolean> a = graph.add("a", () -> meet(bothRunning));
+        TaskNode<Boolean> b = graph.add("b", () -> meet(bothRunning));
+
+        graph.run(machine).get();
+
+        assertTrue(a.get());
+        assertTrue(b.get());
+    }
+
+    @Test
+    void testCriticalPathStartsFirst() {
+        List<String> order = new CopyOnWriteArrayList<>();
+        TaskGraph graph = new TaskGraph(new GraphOptions().setMaxParallelism(1));
+        graph.add("leaf", () -> order.add("leaf"));
+        TaskNode<Boolean> head = graph.add("head", () -> order.add("head"));
+        graph.add("tail", () -> order.add("tail"), head).setCost(5);
+
+        assertEquals(
+                List.of("head", "tail"),
+                graph.getCriticalPath().stream().map(TaskNode::getName).toList());
+        graph.run(machine).get();
+
+        assertEquals("head", order.get(0));
+        assertEquals(3, order.size());
+        assertEquals(6, head.getRank());
+    }
+
+    @Test
+    void testFailureSkipsOnlyDependents() {
+        IllegalStateException boom = new IllegalStateException("boom");
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Integer> failing =
+                graph.add(
+                        "failing",
+                        () -> {
+                            throw boom;
+                        });
+        TaskNode<Integer> dependent = graph.add("dependent", () -> failing.get() + 1, failing);
+        TaskNode<Integer> downstream = graph.add("downstream", () -> 1, dependent);
+        TaskNode<Integer> independent = graph.add("independent", () -> 2);
+
+        Promise<TaskGraphMetrics> result = graph.run(machine);
+        result.get();
+
+        assertEquals(Status.ERROR, result.getStatus());
+        assertSame(boom, failing.getException());
+        assertEquals(TaskNode.State.SKIPPED, dependent.getState());
+        assertEquals(TaskNode.State.SKIPPED, downstream.getState());
+        assertEquals(2, independent.get());
+        assertEquals(2, graph.getMetrics().getSkipped());
+        assertEquals(1, graph.getMetrics().getFailed());
+        assertThrows(IllegalStateException.class, dependent::get);
+    }
+
+    @Test
+    void testFailFastCancelsTheRestOfTheGraph() {
+        CountDownLatch started = new CountDownLatch(1);
+        TaskGraph graph = new TaskGraph(new GraphOptions().setFailFast(true).setMaxParallelism(2));
+        TaskNode<Boolean> slow = graph.add("slow", () -> runUntilCancelled(started));
+        graph.add("after", () -> true, slow);
+        graph.add(
+                "failing",
+                () -> {
+                    await(started);
+                    throw new IllegalStateException("boom");
+                });
+
+        Promise<TaskGraphMetrics> result = graph.run(machine);
+        result.get();
+
+        assertEquals(Status.ERROR, result.getStatus());
+        assertEquals(TaskNode.State.CANCELLED, slow.getState());
+        assertEquals(1, graph.getMetrics().getFailed());
+    }
+
+    @Test
+    void testCancelStopsTheGraph() {
+        CountDownLatch started = new CountDownLatch(1);
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Boolean> slow = graph.add("slow", () -> runUntilCancelled(started));
+        TaskNode<Boolean> after = graph.add("after", () -> true, slow);
+
+        Promise<TaskGraphMetrics> result = graph.run(machine);
+        await(started);
+        graph.cancel();
+        result.get();
+
+        assertTrue(result.isCancelled());
+        assertEquals(TaskNode.State.CANCELLED, slow.getState());
+        assertEquals(TaskNode.State.CANCELLED, after.getState());
+    }
+
+    @Test
+    void testNodesReportTimings() {
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Boolean> sleeper = graph.add("sleeper", () -> sleep(20));
+
+        TaskGraphMetrics metrics = graph.run(machine).get();
+
+        assertTrue(sleeper.getRunNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(sleeper.getQueuedNanos() >= 0);
+        assertTrue(metrics.getBusyNanos() >= sleeper.getRunNanos());
+        assertTrue(metrics.getWallNanos() >= sleeper.getRunNanos());
+        assertTrue(metrics.getParallelism() > 0);
+    }
+
+    @Test
+    void testGraphIsValidatedAndRunsOnce() {
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Integer> node = graph.add("node", () -> 1);
+        TaskNode<Integer> foreign = new TaskGraph().add("foreign", () -> 2);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.add("node", () -> 3));
+        assertThrows(IllegalArgumentException.class, () -> graph.add("other", () -> 3, foreign));
+        graph.run(machine).get();
+        assertThrows(IllegalStateException.class, () -> graph.add("late", () -> 4));
+        assertThrows(IllegalStateException.class, () -> graph.run(machine));
+        assertThrows(IllegalStateException.class, () -> node.setCost(2));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new TaskGraph(new GraphOptions().setMaxParallelism(0)));
+    }
+
+    @Test
+    void testEmptyGraphFinishesAtOnce() {
+        Promise<TaskGraphMetrics> result = new TaskGraph().run(machine);
+
+        assertTrue(result.isFinished());
+        assertEquals(0, result.get().getSucceeded());
+    }
+
+    @Test
+    void testLongChainRunInlineDoesNotOverflowTheStack() {
+        TaskGraph graph = new TaskGraph();
+        TaskNode<Integer> previous = graph.add("node-0", () -> 0);
+        for (int i = 1; i < 20_000; i++) {
+            TaskNode<Integer> dependency = previous;
+            previous = graph.add("node-" + i, () -> dependency.get() + 1, dependency);
+        }
+
+        TaskGraphMetrics metrics = graph.run(new CallerRunsExecutionMachine()).get();
+
+        assertEquals(19_999, previous.get());
+        assertEquals(20_000, metrics.getSucceeded());
+    }
+
+    private static boolean meet(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private static boolean runUntilCancelled(CountDownLatch started) {
+        started.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!CancellationToken.current().isCancellationRequested()
+                && System.nanoTime() < deadline) {
+            sleep(1);
+        }
+        return true;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Runs every promise on the calling thread, so each node settles inside execute. */
+    private static final class CallerRunsExecutionMachine implements ExecutionMachine {
+        @Override
+        public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+            promise.complete();
+        }
+
+        @Override
+        public ThreadPool threadPool() {
+            return null;
+        }
+
+        @Override
+        public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onExecutionThreadRetirement(ExecutionThread executionThread) {}
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.ConcurrencyLimitExceededException;
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class AdaptiveConcurrencyExecutionMachineTest {
+
+    @Test
+    void testLimitCapsPromisesInFlight() throws InterruptedException {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new ThreadPerTaskExecutionMachine(),
+                        new AimdLimit(2, 1, 2, 0.5, 5000),
+                        Integer.MAX_VALUE);
+        Executor executor = new Executor(machine);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Promise<Boolean>> promises = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Promise<Boolean> promise = new Promise<>(() -> await(release));
+            promises.add(promise);
+            executor.run(promise);
+        }
+
+        assertEquals(2, machine.getMetrics().getInFlight());
+        assertEquals(3, machine.getQueuedPromises());
+        assertEquals(3, machine.getMetrics().getQueued());
+
+        release.countDown();
+        for (Promise<Boolean> promise : promises) {
+            assertTrue(promise.get());
+        }
+        machine.shutdown();
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, machine.getQueuedPromises());
+        assertEquals(0, machine.getMetrics().getInFlight());
+        assertTrue(machine.getMetrics().getMinRttNanos() > 0);
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new ThreadPerTaskExecutionMachine(), new AimdLimit(1, 1, 1, 0.5, 5000), 1);
+        Executor executor = new Executor(machine);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.run(new Promise<>(() -> await(release)));
+        executor.run(new Promise<>(() -> 1));
+
+        assertThrows(
+                ConcurrencyLimitExceededException.class,
+                () -> machine.execute(new Promise<>(() -> 2), null));
+        assertEquals(1, machine.getMetrics().getRejected());
+        assertEquals(1, machine.getQueuedPromises());
+        release.countDown();
+    }
+
+    @Test
+    void testFailuresShrinkTheLimit() {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new ThreadPerTaskExecutionMachine(),
+                        new AimdLimit(10, 1, 100, 0.5, 5000),
+                        Integer.MAX_VALUE);
+        Executor executor = new Executor(machine);
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            throw new IllegalStateException("downstream overloaded");
+                        });
+        executor.run(promise);
+        promise.get();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (machine.getMetrics().getLimit() != 5 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(5, machine.getMetrics().getLimit());
+        assertEquals(1, machine.getMetrics().getDropped());
+    }
+
+    @Test
+    void testShutdownDrainsWaitingPromises() throws InterruptedException {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new ThreadPerTaskExecutionMachine(),
+                        new AimdLimit(1, 1, 1, 0.5, 5000),
+                        Integer.MAX_VALUE);
+        Executor executor = new Executor(machine);
+        List<Promise<Integer>> promises = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Promise<Integer> promise = new Promise<>(() -> 1);
+            promises.add(promise);
+            executor.run(promise);
+        }
+
+        machine.shutdown();
+        assertThrows(
+                ExecutionMachineShutdownException.class,
+                () -> machine.execute(new Promise<>(() -> 1), null));
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(machine.isTerminated());
+        for (Promise<Integer> promise : promises) {
+            assertTrue(promise.isFinished());
+        }
+    }
+
+    @Test
+    void testLongQueueOfPromisesRunInlineDoesNotOverflowTheStack() {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new CallerRunsExecutionMachine(),
+                        new AimdLimit(1, 1, 1, 0.5, 5000),
+                        Integer.MAX_VALUE);
+        CountDownLatch release = new CountDownLatch(1);
+        machine.execute(new Promise<>(() -> await(release)), null);
+        Promise<Integer> last = null;
+        for (int i = 0; i < 20_000; i++) {
+            last = new Promise<>(() -> 1);
+            machine.execute(last, null);
+        }
+        assertEquals(20_000, machine.getQueuedPromises());
+
+        release.countDown();
+
+        Promise<Integer> lastPromise = last;
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertEquals(1, lastPromise.get()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (machine.getMetrics().getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, machine.getMetrics().getInFlight());
+        assertEquals(0, machine.getQueuedPromises());
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs the first promise on a virtual thread and every later one on the calling thread, so the
+     * promises queued behind the first all settle inside execute.
+     */
+    private static final class CallerRunsExecutionMachine implements ExecutionMachine {
+        private final AtomicBoolean first = new AtomicBoolean(true);
+
+        @Override
+        public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+            if (first.compareAndSet(true, false)) {
+                Thread.ofVirtual().start(promise::complete);
+            } else {
+                promise.complete();
+            }
+        }
+
+        @Override
+        public ThreadPool threadPool() {
+            return null;
+        }
+
+        @Override
+        public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onExecutionThreadRetirement(ExecutionThread executionThread) {}
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BulkheadTest {
+    private final CountDownLatch blocker = new CountDownLatch(1);
+
+    @AfterEach
+    void release() {
+        blocker.countDown();
+    }
+
+    @Test
+    void testMaxConcurrencyIsEnforced() throws InterruptedException {
+        BulkheadManager manager = new BulkheadManager(4);
+        Bulkhead bulkhead = manager.createPartition("reports", 0, 2);
+        for (int i = 0; i < 4; i++) {
+            bulkhead.execute(blockingPromise(), new ExecutionSettings());
+        }
+
+        assertEquals(2, bulkhead.getMetrics().getActiveThreads());
+        assertEquals(0, bulkhead.getMetrics().getAvailableThreads());
+        assertEquals(2, bulkhead.getQueuedPromises());
+
+        blocker.countDown();
+        bulkhead.shutdown();
+        assertTrue(bulkhead.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getMetrics().getActiveThreads());
+    }
+
+    @Test
+    void testReservedCapacityIsolatesPartitions() throws InterruptedException {
+        BulkheadManager manager = new BulkheadManager(2, false);
+        Bulkhead noisy = manager.createPartition("noisy", 1, 2);
+        Bulkhead quiet = manager.createPartition("quiet", 1, 1);
+        for (int i = 0; i < 5; i++) {
+            noisy.execute(blockingPromise(), new ExecutionSettings());
+        }
+        assertEquals(1, noisy.getMetrics().getActiveThreads());
+
+        Promise<String> promise = new Promise<>(() -> "served");
+        quiet.execute(promise, new ExecutionSettings());
+        assertEquals("served", promise.get());
+    }
+
+    @Test
+    void testIdleCapacityIsLent() {
+        BulkheadManager manager = new BulkheadManager(2, true);
+        Bulkhead busy = manager.createPartition("busy", 1, 2);
+        manager.createPartition("idle", 1, 1);
+        for (int i = 0; i < 3; i++) {
+            busy.execute(blockingPromise(), new ExecutionSettings());
+        }
+        assertEquals(2, busy.getMetrics().getActiveThreads());
+        assertEquals(1, busy.getQueuedPromises());
+    }
+
+    @Test
+    void testBackloggedPartitionsGetTheirMinimumBack() throws InterruptedException {
+        BulkheadManager manager = new BulkheadManager(4, true);
+        Bulkhead large = manager.createPartition("large", 3, 4);
+        Bulkhead small = manager.createPartition("small", 1, 4);
+        CountDownLatch borrowed = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            small.execute(blockingPromise(borrowed), new ExecutionSettings());
+        }
+        assertEquals(4, small.getMetrics().getActiveThreads());
+
+        for (int i = 0; i < 4; i++) {
+            large.execute(blockingPromise(), new ExecutionSettings());
+            small.execute(blockingPromise(), new ExecutionSettings());
+        }
+        borrowed.countDown();
+
+        assertTrue(awaitActive(large, 3));
+        assertTrue(awaitActive(small, 1));
+        assertEquals(3, large.getMetrics().getActiveThreads());
+        assertEquals(1, small.getMetrics().getActiveThreads());
+    }
+
+    @Test
+    void testCannotReserveMoreThanBudget() {
+        BulkheadManager manager = new BulkheadManager(2);
+        manager.createPartition("first", 2, 2);
+        assertThrows(IllegalArgumentException.class, () -> manager.createPartition("second", 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> manager.createPartition("first", 0, 1));
+    }
+
+    private Promise<Boolean> blockingPromise() {
+        return blockingPromise(blocker);
+    }
+
+    private static Promise<Boolean> blockingPromise(CountDownLatch latch) {
+        return new Promise<>(
+                () -> {
+                    try {
+                        return latch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    private static boolean awaitActive(Bulkhead bulkhead, int active) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getMetrics().getActiveThreads() != active) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
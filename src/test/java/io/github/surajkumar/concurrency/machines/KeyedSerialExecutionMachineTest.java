@@ -0,0 +1,188 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.pools.ThreadPool;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class KeyedSerialExecutionMachineTest {
+
+    @Test
+    void testSameKeyRunsInOrderOneAtATime() {
+        KeyedSerialExecutionMachine machine =
+                new KeyedSerialExecutionMachine(new ThreadPerTaskExecutionMachine());
+        Executor executor = new Executor(machine);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<Promise<Integer>> promises = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            Promise<Integer> promise =
+                    new Promise<>(
+                            () -> {
+                                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                order.add(index);
+                                running.decrementAndGet();
+                                return index;
+                            });
+            promises.add(promise);
+            executor.run(new ExecutionSettings().setKey("account-1"), promise);
+        }
+
+        for (Promise<Integer> promise : promises) {
+            promise.get();
+        }
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, order.get(i));
+        }
+        awaitIdle(machine);
+    }
+
+    @Test
+    void testDifferentKeysRunConcurrently() {
+        KeyedSerialExecutionMachine machine =
+                new KeyedSerialExecutionMachine(new ThreadPerTaskExecutionMachine());
+        Executor executor = new Executor(machine);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Promise<Boolean> a = new Promise<>(() -> meet(barrier));
+        Promise<Boolean> b = new Promise<>(() -> meet(barrier));
+
+        executor.run(new ExecutionSettings().setKey("a"), a);
+        executor.run(new ExecutionSettings().setKey("b"), b);
+
+        assertTrue(a.get());
+        assertTrue(b.get());
+        awaitIdle(machine);
+    }
+
+    @Test
+    void testCancelledPromiseIsSkipped() {
+        KeyedSerialExecutionMachine machine =
+                new KeyedSerialExecutionMachine(new ThreadPerTaskExecutionMachine());
+        Executor executor = new Executor(machine);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Promise<Boolean> first = new Promise<>(() -> meet(barrier));
+        Promise<Integer> cancelled = new Promise<>(() -> 1);
+        Promise<Integer> last = new Promise<>(() -> 2);
+        ExecutionSettings settings = new ExecutionSettings().setKey(42);
+        executor.run(settings, first, cancelled, last);
+        assertEquals(2, machine.getQueuedPromises());
+
+        cancelled.cancel();
+        meet(barrier);
+
+        assertEquals(2, last.get());
+        assertTrue(cancelled.isCancelled());
+        awaitIdle(machine);
+    }
+
+    @Test
+    void testShutdownDrainsWaitingPromises() throws InterruptedException {
+        KeyedSerialExecutionMachine machine =
+                new KeyedSerialExecutionMachine(new ThreadPerTaskExecutionMachine());
+        Executor executor = new Executor(machine);
+        List<Promise<Integer>> promises = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Promise<Integer> promise = new Promise<>(() -> 1);
+            promises.add(promise);
+            executor.run(new ExecutionSettings().setKey("key"), promise);
+        }
+
+        machine.shutdown();
+        assertThrows(
+                ExecutionMachineShutdownException.class,
+                () -> machine.execute(new Promise<>(() -> 1), new ExecutionSettings()));
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(machine.isTerminated());
+        for (Promise<Integer> promise : promises) {
+            assertTrue(promise.isFinished());
+        }
+    }
+
+    @Test
+    void testLongLaneOfPromisesRunInlineDoesNotOverflowTheStack() {
+        KeyedSerialExecutionMachine machine =
+                new KeyedSerialExecutionMachine(new CallerRunsExecutionMachine());
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutionSettings settings = new ExecutionSettings().setKey("key");
+        machine.execute(new Promise<>(() -> meet(barrier)), settings);
+        Promise<Integer> last = null;
+        for (int i = 0; i < 20_000; i++) {
+            last = new Promise<>(() -> 1);
+            machine.execute(last, settings);
+        }
+
+        meet(barrier);
+
+        Promise<Integer> lastPromise = last;
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertEquals(1, lastPromise.get()));
+        awaitIdle(machine);
+    }
+
+    private static boolean meet(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void awaitIdle(KeyedSerialExecutionMachine machine) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (machine.getActiveKeys() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, machine.getActiveKeys());
+        assertEquals(0, machine.getQueuedPromises());
+    }
+
+    /**
+     * Runs the first promise on a virtual thread and every later one on the calling thread, so the
+     * promises queued behind the first all settle inside execute.
+     */
+    private static final class CallerRunsExecutionMachine implements ExecutionMachine {
+        private final AtomicBoolean first = new AtomicBoolean(true);
+
+        @Override
+        public void execute(Promise<?> promise, ExecutionSettings executionSettings) {
+            if (first.compareAndSet(true, false)) {
+                Thread.ofVirtual().start(promise::complete);
+            } else {
+                promise.complete();
+            }
+        }
+
+        @Override
+        public ThreadPool threadPool() {
+            return null;
+        }
+
+        @Override
+        public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {}
+
+        @Override
+        public void onExecutionThreadRetirement(ExecutionThread executionThread) {}
+    }
+}
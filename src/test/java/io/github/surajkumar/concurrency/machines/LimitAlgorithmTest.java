@@ -0,0 +1,87 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class LimitAlgorithmTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testAimdGrowsOnlyWhileUtilized() {
+        AimdLimit limit = new AimdLimit(10, 1, 100, 0.5, 1000);
+
+        limit.onSample(MILLI, 2, false);
+        assertEquals(10, limit.getLimit());
+
+        limit.onSample(MILLI, 5, false);
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    void testAimdBacksOffOnDropAndTimeout() {
+        AimdLimit limit = new AimdLimit(40, 1, 100, 0.5, 1000);
+
+        limit.onSample(MILLI, 40, true);
+        assertEquals(20, limit.getLimit());
+
+        limit.onSample(2000 * MILLI, 20, false);
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void testAimdStaysWithinBounds() {
+        AimdLimit limit = new AimdLimit(2, 2, 3, 0.5, 1000);
+
+        limit.onSample(MILLI, 2, true);
+        assertEquals(2, limit.getLimit());
+
+        limit.onSample(MILLI, 3, false);
+        limit.onSample(MILLI, 3, false);
+        assertEquals(3, limit.getLimit());
+    }
+
+    @Test
+    void testVegasGrowsWhileLatencyIsLow() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+
+        limit.onSample(10 * MILLI, 20, false);
+
+        assertEquals(10 * MILLI, limit.getRttNoLoadNanos());
+        assertEquals(0, limit.getEstimatedQueueSize());
+        assertEquals(26, limit.getLimit());
+    }
+
+    @Test
+    void testVegasShrinksWhenRequestsQueue() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+        limit.onSample(10 * MILLI, 20, false);
+
+        limit.onSample(100 * MILLI, 26, false);
+
+        assertEquals(24, limit.getEstimatedQueueSize());
+        assertEquals(25, limit.getLimit());
+    }
+
+    @Test
+    void testVegasIgnoresLatencyWhileUnderused() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+        limit.onSample(10 * MILLI, 20, false);
+
+        limit.onSample(100 * MILLI, 2, false);
+
+        assertEquals(26, limit.getLimit());
+    }
+
+    @Test
+    void testVegasShrinksOnDrop() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000);
+        limit.onSample(10 * MILLI, 20, false);
+
+        limit.onSample(10 * MILLI, 26, true);
+
+        assertEquals(25, limit.getLimit());
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.surajkumar.concurrency.machines;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,8 +30,9 @@ class PooledExecutionMachineTest {
 
         pooledExecutionMachine.execute(mockPromise, executionSettings);
 
-        verify(mockExecutionThread, times(1)).queuePromise(mockPromise, executionSettings);
-        verify(mockExecutionThread, times(1)).addWatcher(pooledExecutionMachine);
+        verify(mockExecutionThread, times(1))
+                .queuePromise(mockPromise, executionSettings, pooledExecutionMachine);
+        verify(mockExecutionThread, never()).addWatcher(any());
     }
 
     @Test
@@ -57,7 +60,7 @@ class PooledExecutionMachineTest {
 
         pooledMachine.onPromiseComplete(promiseMock, executionThreadMock);
 
-        Mockito.verify(executionThreadMock, times(1)).removeWatcher(pooledMachine);
+        Mockito.verify(executionThreadMock, never()).removeWatcher(any());
         Mockito.verify(threadPoolMock, times(1)).returnToPool(executionThreadMock);
     }
 
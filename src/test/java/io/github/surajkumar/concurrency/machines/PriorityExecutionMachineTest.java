@@ -0,0 +1,124 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.pools.FixedThreadPool;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PriorityExecutionMachineTest {
+
+    @Test
+    void testRunsHigherPriorityFirst() throws InterruptedException {
+        PriorityExecutionMachine machine = newMachine(0);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        machine.execute(new Promise<>(() -> await(blocker)), new ExecutionSettings());
+        machine.execute(record(order, "low", done), new ExecutionSettings().setPriority(0));
+        machine.execute(record(order, "medium", done), new ExecutionSettings().setPriority(1));
+        machine.execute(record(order, "high", done), new ExecutionSettings().setPriority(2));
+        assertEquals(3, machine.getQueuedPromises());
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("high", "medium", "low"), order);
+    }
+
+    @Test
+    void testAgingPreventsStarvation() throws InterruptedException {
+        PriorityExecutionMachine machine = newMachine(10);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        machine.execute(new Promise<>(() -> await(blocker)), new ExecutionSettings());
+        machine.execute(record(order, "old", done), new ExecutionSettings().setPriority(0));
+        Thread.sleep(100);
+        machine.execute(record(order, "new", done), new ExecutionSettings().setPriority(2));
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("old", "new"), order);
+    }
+
+    @Test
+    void testWaitsForAThreadOfASharedPool() throws InterruptedException {
+        PoolOptions options =
+                new PoolOptions().setWaitFor(false).setEnableScaling(false).setMaxCapacity(1);
+        FixedThreadPool pool = new FixedThreadPool(new Pool(1, options));
+        PriorityExecutionMachine machine = new PriorityExecutionMachine(pool, 1, 3, 0);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        ExecutionThread borrowed = pool.borrow();
+
+        machine.execute(record(order, "first", done), new ExecutionSettings());
+        machine.execute(record(order, "second", done), new ExecutionSettings());
+        assertEquals(2, machine.getQueuedPromises());
+
+        pool.returnToPool(borrowed);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    void testShutdownNowTerminatesWithCancelledPromisesQueued() throws InterruptedException {
+        PriorityExecutionMachine machine = newMachine(0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        Promise<Boolean> running =
+                new Promise<>(
+                        () -> {
+                            started.countDown();
+                            return await(blocker);
+                        });
+        Promise<Boolean> cancelled = new Promise<>(() -> true);
+        Promise<Boolean> waiting = new Promise<>(() -> true);
+
+        machine.execute(running, new ExecutionSettings());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        machine.execute(cancelled, new ExecutionSettings());
+        machine.execute(waiting, new ExecutionSettings());
+        assertTrue(cancelled.cancel());
+        List<Promise<?>> unstarted = machine.shutdownNow();
+        blocker.countDown();
+
+        assertEquals(List.of(waiting), unstarted);
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private PriorityExecutionMachine newMachine(long agingMillis) {
+        PoolOptions options =
+                new PoolOptions().setWaitFor(true).setEnableScaling(false).setMaxCapacity(1);
+        return new PriorityExecutionMachine(
+                new FixedThreadPool(new Pool(1, options)), 1, 3, agingMillis);
+    }
+
+    private Promise<String> record(List<String> order, String name, CountDownLatch done) {
+        return new Promise<>(
+                () -> {
+                    order.add(name);
+                    done.countDown();
+                    return name;
+                });
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
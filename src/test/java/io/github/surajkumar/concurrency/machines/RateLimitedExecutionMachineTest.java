@@ -0,0 +1,121 @@
+package io.github.surajkumar.concurrency.machines;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.ExecutionMachineShutdownException;
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class RateLimitedExecutionMachineTest {
+
+    @Test
+    void testBurstRunsImmediatelyAndTheRestIsPaced() {
+        RateLimitedExecutionMachine machine =
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 20, 5);
+        Executor executor = new Executor(machine);
+        List<Promise<Long>> promises = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 15; i++) {
+            Promise<Long> promise = new Promise<>(System::nanoTime);
+            promises.add(promise);
+            executor.run(promise);
+        }
+        assertEquals(10, machine.getQueuedPromises());
+
+        long last = 0;
+        for (Promise<Long> promise : promises) {
+            last = Math.max(last, promise.get() - start);
+        }
+        // Ten promises beyond the burst at 20 per second take about 500 milliseconds.
+        assertTrue(last >= TimeUnit.MILLISECONDS.toNanos(450), "finished too early: " + last);
+        assertTrue(last < TimeUnit.SECONDS.toNanos(5), "finished too late: " + last);
+        assertEquals(0, machine.getQueuedPromises());
+    }
+
+    @Test
+    void testShutdownDrainsWaitingPromises() throws InterruptedException {
+        RateLimitedExecutionMachine machine =
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 50, 1);
+        Executor executor = new Executor(machine);
+        List<Promise<Integer>> promises = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Promise<Integer> promise = new Promise<>(() -> 1);
+            promises.add(promise);
+            executor.run(promise);
+        }
+
+        machine.shutdown();
+        assertThrows(
+                ExecutionMachineShutdownException.class,
+                () -> machine.execute(new Promise<>(() -> 1), null));
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(machine.isTerminated());
+        for (Promise<Integer> promise : promises) {
+            assertTrue(promise.isFinished());
+        }
+    }
+
+    @Test
+    void testShutdownNowCancelsWaitingPromises() throws InterruptedException {
+        RateLimitedExecutionMachine machine =
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 1, 1);
+        Executor executor = new Executor(machine);
+        Promise<Integer> first = new Promise<>(() -> 1);
+        Promise<Integer> waiting = new Promise<>(() -> 2);
+        executor.run(first, waiting);
+
+        List<Promise<?>> unstarted = machine.shutdownNow();
+
+        assertTrue(unstarted.contains(waiting));
+        assertTrue(waiting.isCancelled());
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPromisesWaitAgainAfterTheQueueEmptied() {
+        RateLimitedExecutionMachine machine =
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 50, 1);
+        Executor executor = new Executor(machine);
+        for (int round = 0; round < 2; round++) {
+            List<Promise<Integer>> promises = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Promise<Integer> promise = new Promise<>(() -> 1);
+                promises.add(promise);
+                executor.run(promise);
+            }
+            for (Promise<Integer> promise : promises) {
+                assertEquals(1, promise.get());
+            }
+            assertEquals(0, machine.getQueuedPromises());
+        }
+    }
+
+    @Test
+    void testShutdownTerminatesAnIdleMachine() throws InterruptedException {
+        RateLimitedExecutionMachine machine =
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 50, 1);
+
+        machine.shutdown();
+
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(machine.isTerminated());
+    }
+
+    @Test
+    void testRejectsInvalidLimits() {
+        ExecutionMachine delegate = new ThreadPerTaskExecutionMachine();
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RateLimitedExecutionMachine(delegate, 0, 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RateLimitedExecutionMachine(delegate, 10, 0));
+    }
+}
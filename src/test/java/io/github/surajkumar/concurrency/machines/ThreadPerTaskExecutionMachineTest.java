@@ -8,7 +8,9 @@ import io.github.surajkumar.concurrency.utils.ThreadUtils;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 class ThreadPerTaskExecutionMachineTest {
 
@@ -69,4 +71,165 @@ class ThreadPerTaskExecutionMachineTest {
 
         assertEquals(count, count);
     }
+
+    @Test
+    void testFinishedThreadIsReused() {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 60_000);
+        Promise<Thread> first = new Promise<>(Thread::currentThread);
+        machine.execute(first, new ExecutionSettings());
+        Thread thread = first.get();
+        awaitCachedThreads(machine, 1);
+
+        Promise<Thread> second = new Promise<>(Thread::currentThread);
+        machine.execute(second, new ExecutionSettings());
+
+        assertSame(thread, second.get());
+    }
+
+    @Test
+    void testCacheCanBeDisabled() {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(0, 0);
+        Promise<Thread> first = new Promise<>(Thread::currentThread);
+        machine.execute(first, new ExecutionSettings());
+        Thread thread = first.get();
+
+        Promise<Thread> second = new Promise<>(Thread::currentThread);
+        machine.execute(second, new ExecutionSettings());
+
+        assertNotSame(thread, second.get());
+        assertEquals(0, machine.getCachedThreads());
+    }
+
+    @Test
+    void testIdleThreadsAreRetiredAfterTimeToLive() throws InterruptedException {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 50);
+        Promise<Thread> promise = new Promise<>(Thread::currentThread);
+        machine.execute(promise, new ExecutionSettings());
+        Thread thread = promise.get();
+
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(thread.isAlive());
+        assertEquals(0, machine.getCachedThreads());
+    }
+
+    @Test
+    void testIdleThreadsAreRetiredAfterTheCacheWasEmptied() throws InterruptedException {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 50);
+        for (int i = 0; i < 2; i++) {
+            Promise<Thread> promise = new Promise<>(Thread::currentThread);
+            machine.execute(promise, new ExecutionSettings());
+            Thread thread = promise.get();
+
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertFalse(thread.isAlive());
+            assertEquals(0, machine.getCachedThreads());
+        }
+    }
+
+    @Test
+    void testReusedThreadGetsItsNameBack() {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 60_000);
+        Promise<Thread> first =
+                new Promise<>(
+                        () -> {
+                            Thread.currentThread().setName("Renamed");
+                            return Thread.currentThread();
+                        });
+        machine.execute(first, new ExecutionSettings());
+        Thread thread = first.get();
+        awaitCachedThreads(machine, 1);
+
+        Promise<String> second = new Promise<>(() -> Thread.currentThread().getName());
+        machine.execute(second, new ExecutionSettings());
+
+        assertEquals("ExecutionThread", second.get());
+        assertEquals("ExecutionThread", thread.getName());
+    }
+
+    @Test
+    void testReusedThreadIsReset() {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 60_000);
+        Thread.UncaughtExceptionHandler handler = (thread, e) -> {};
+        ClassLoader loader = new ClassLoader() {};
+        Promise<Thread> first =
+                new Promise<>(
+                        () -> {
+                            Thread current = Thread.currentThread();
+                            current.setPriority(Thread.MIN_PRIORITY);
+                            current.setContextClassLoader(loader);
+                            current.setUncaughtExceptionHandler(handler);
+                            return current;
+                        });
+        machine.execute(first, new ExecutionSettings());
+        Thread thread = first.get();
+        awaitCachedThreads(machine, 1);
+
+        Promise<Thread> second = new Promise<>(Thread::currentThread);
+        machine.execute(second, new ExecutionSettings());
+
+        assertSame(thread, second.get());
+        assertTrue(thread.isDaemon());
+        assertEquals(Thread.currentThread().getPriority(), thread.getPriority());
+        assertSame(Thread.currentThread().getContextClassLoader(), thread.getContextClassLoader());
+        assertNotSame(handler, thread.getUncaughtExceptionHandler());
+    }
+
+    @Test
+    void testJvmExitsWhileThreadsAreCached() throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process =
+                new ProcessBuilder(
+                                java,
+                                "-cp",
+                                System.getProperty("java.class.path"),
+                                CachingMain.class.getName())
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+
+        boolean exited = process.waitFor(30, TimeUnit.SECONDS);
+        if (!exited) {
+            process.destroyForcibly();
+        }
+
+        assertTrue(exited, "The JVM was kept alive by a cached thread");
+        assertEquals(0, process.exitValue());
+    }
+
+    @Test
+    void testShutdownRetiresCachedThreads() throws InterruptedException {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 60_000);
+        Promise<Thread> promise = new Promise<>(Thread::currentThread);
+        machine.execute(promise, new ExecutionSettings());
+        Thread thread = promise.get();
+        awaitCachedThreads(machine, 1);
+
+        machine.shutdown();
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(thread.isAlive());
+        assertEquals(0, machine.getCachedThreads());
+    }
+
+    /** Runs one promise on a machine with a cache and returns while its thread is cached. */
+    static final class CachingMain {
+        public static void main(String[] args) {
+            ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine(4, 60_000);
+            Promise<Boolean> promise = new Promise<>(() -> true);
+            machine.execute(promise, new ExecutionSettings());
+            promise.get();
+            awaitCachedThreads(machine, 1);
+        }
+    }
+
+    private static void awaitCachedThreads(ThreadPerTaskExecutionMachine machine, int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (machine.getCachedThreads() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, machine.getCachedThreads());
+    }
 }
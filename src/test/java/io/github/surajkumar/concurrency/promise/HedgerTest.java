@@ -0,0 +1,188 @@
+package io.github.surajkumar.concurrency.promise;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.VirtualThreadPerTaskExecutionMachine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class HedgerTest {
+    private final Executor executor = new Executor(new VirtualThreadPerTaskExecutionMachine());
+
+    @Test
+    void testSlowCallIsHedgedAndTheLoserCancelled() {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch loserStopped = new CountDownLatch(1);
+        try (Hedger hedger =
+                new Hedger(
+                        executor,
+                        new HedgeOptions().setInitialDelayMillis(20).setMaxHedgeRatio(1))) {
+            long start = System.nanoTime();
+            Promise<String> promise =
+                    hedger.hedge(
+                            () -> {
+                                if (attempts.incrementAndGet() == 1) {
+                                    waitForCancellation(5000);
+                                    loserStopped.countDown();
+                                    return "slow";
+                                }
+                                return "fast";
+                            });
+
+            assertEquals("fast", promise.get());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertTrue(await(loserStopped));
+            assertEquals(1, hedger.getMetrics().getHedges());
+            assertEquals(1, hedger.getMetrics().getHedgeWins());
+            assertEquals(0, hedger.getMetrics().getPrimaryWins());
+        }
+    }
+
+    @Test
+    void testFastCallsAreNotHedged() {
+        try (Hedger hedger = new Hedger(executor, new HedgeOptions().setInitialDelayMillis(500))) {
+            for (int i = 0; i < 10; i++) {
+                int value = i;
+                assertEquals(value, hedger.hedge(() -> value).get());
+            }
+
+            assertEquals(10, hedger.getMetrics().getCalls());
+            assertEquals(0, hedger.getMetrics().getHedges());
+            assertEquals(10, hedger.getMetrics().getPrimaryWins());
+        }
+    }
+
+    @Test
+    void testHedgeBudgetIsRespected() {
+        try (Hedger hedger =
+                new Hedger(
+                        executor,
+                        new HedgeOptions().setInitialDelayMillis(5).setMaxHedgeRatio(0))) {
+            Promise<Integer> promise =
+                    hedger.hedge(
+                            () -> {
+                                waitForCancellation(100);
+                                return 1;
+                            });
+
+            assertEquals(1, promise.get());
+            assertEquals(0, hedger.getMetrics().getHedges());
+            assertEquals(0, hedger.getMetrics().getHedgeRate());
+        }
+    }
+
+    @Test
+    void testCallFailsWhenEveryAttemptFails() {
+        try (Hedger hedger = new Hedger(executor, new HedgeOptions())) {
+            Promise<Integer> promise =
+                    hedger.hedge(
+                            () -> {
+                                throw new IllegalStateException("replica down");
+                            });
+
+            assertNull(promise.get());
+            assertEquals(Status.ERROR, promise.getStatus());
+            assertEquals("replica down", promise.getMetrics().getErrorDetails());
+            assertEquals(1, hedger.getMetrics().getFailures());
+        }
+    }
+
+    @Test
+    void testDelayFollowsRecentLatencies() {
+        try (Hedger hedger =
+                new Hedger(
+                        executor,
+                        new HedgeOptions().setInitialDelayMillis(1000).setWindowSize(20))) {
+            for (int i = 0; i < 20; i++) {
+                hedger.hedge(() -> 1).get();
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (hedger.getMetrics().getDelayNanos() >= TimeUnit.SECONDS.toNanos(1)
+                    && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertTrue(hedger.getMetrics().getDelayNanos() < TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    @Test
+    void testHedgedCallsCountTheLatencyOfTheirFirstAttempt() {
+        try (Hedger hedger =
+                new Hedger(
+                        executor,
+                        new HedgeOptions()
+                                .setInitialDelayMillis(20)
+                                .setWindowSize(20)
+                                .setMaxHedgeRatio(1))) {
+            for (int i = 0; i < 20; i++) {
+                AtomicInteger attempts = new AtomicInteger();
+                hedger.hedge(
+                                () -> {
+                                    if (attempts.incrementAndGet() == 1) {
+                                        waitForCancellation(5000);
+                                    }
+                                    return 1;
+                                })
+                        .get();
+            }
+
+            // Only the fast hedges won, but the calls still took the hedge delay.
+            assertEquals(20, hedger.getMetrics().getHedgeWins());
+            assertTrue(hedger.getMetrics().getDelayNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        }
+    }
+
+    @Test
+    void testSchedulerStartsWithTheFirstCallAndStopsOnClose() throws InterruptedException {
+        Set<Thread> before = schedulers();
+        Hedger hedger = new Hedger(executor, new HedgeOptions());
+        assertTrue(before.containsAll(schedulers()));
+
+        assertEquals(1, hedger.hedge(() -> 1).get());
+        Thread scheduler =
+                schedulers().stream()
+                        .filter(thread -> !before.contains(thread))
+                        .findFirst()
+                        .orElseThrow();
+
+        hedger.close();
+        scheduler.join(5000);
+        assertFalse(scheduler.isAlive());
+    }
+
+    private static Set<Thread> schedulers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("HedgeScheduler"))
+                .collect(Collectors.toSet());
+    }
+
+    private static void waitForCancellation(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        CancellationToken token = CancellationToken.current();
+        while (!token.isCancellationRequested() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
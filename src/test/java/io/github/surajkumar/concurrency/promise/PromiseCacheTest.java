@@ -0,0 +1,160 @@
+package io.github.surajkumar.concurrency.promise;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.VirtualThreadPerTaskExecutionMachine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PromiseCacheTest {
+    private final Executor executor = new Executor(new VirtualThreadPerTaskExecutionMachine());
+
+    @Test
+    void testConcurrentRequestsShareOneLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PromiseCache<String, Integer> cache =
+                new PromiseCache<>(
+                        executor,
+                        key -> {
+                            loads.incrementAndGet();
+                            await(release);
+                            return key.length();
+                        });
+
+        List<Promise<Integer>> promises = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            promises.add(cache.get("hot"));
+        }
+        release.countDown();
+
+        for (Promise<Integer> promise : promises) {
+            assertEquals(3, promise.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMetrics().getMisses());
+        assertEquals(99, cache.getMetrics().getCoalesced());
+    }
+
+    @Test
+    void testLoadedValueIsReused() {
+        AtomicInteger loads = new AtomicInteger();
+        PromiseCache<String, Integer> cache =
+                new PromiseCache<>(executor, key -> loads.incrementAndGet());
+
+        assertEquals(1, cache.get("a").get());
+        awaitLoaded(cache, "a");
+        assertEquals(1, cache.get("a").get());
+        assertEquals(1, cache.getIfPresent("a"));
+
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.get("a").get());
+        assertEquals(1, cache.getMetrics().getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedKeyIsEvicted() {
+        PromiseCache<String, String> cache =
+                new PromiseCache<>(
+                        executor, String::toUpperCase, new CacheOptions().setMaximumSize(2));
+        cache.get("a").get();
+        cache.get("b").get();
+        awaitLoaded(cache, "a");
+        cache.get("a");
+
+        cache.get("c").get();
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.getMetrics().getEvictions());
+    }
+
+    @Test
+    void testExpiredValueIsLoadedAgain() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        PromiseCache<String, Integer> cache =
+                new PromiseCache<>(
+                        executor,
+                        key -> loads.incrementAndGet(),
+                        new CacheOptions().setExpireAfterWriteMillis(50));
+        assertEquals(1, cache.get("a").get());
+        awaitLoaded(cache, "a");
+
+        Thread.sleep(100);
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.get("a").get());
+    }
+
+    @Test
+    void testRefreshServesCurrentValueAndReplacesIt() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        PromiseCache<String, Integer> cache =
+                new PromiseCache<>(
+                        executor,
+                        key -> loads.incrementAndGet(),
+                        new CacheOptions().setRefreshAfterWriteMillis(50));
+        assertEquals(1, cache.get("a").get());
+        awaitLoaded(cache, "a");
+
+        Thread.sleep(100);
+
+        assertEquals(1, cache.get("a").get());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(2).equals(cache.getIfPresent("a"))
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2, cache.getIfPresent("a"));
+        assertEquals(1, cache.getMetrics().getRefreshes());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        PromiseCache<String, Integer> cache =
+                new PromiseCache<>(
+                        executor,
+                        key -> {
+                            if (loads.incrementAndGet() == 1) {
+                                throw new IllegalStateException("unavailable");
+                            }
+                            return 42;
+                        });
+
+        Promise<Integer> failed = cache.get("a");
+        assertNull(failed.get());
+        assertEquals(Status.ERROR, failed.getStatus());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.size() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(42, cache.get("a").get());
+        assertEquals(1, cache.getMetrics().getLoadFailures());
+    }
+
+    private static void awaitLoaded(PromiseCache<String, ?> cache, String key) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getIfPresent(key) == null && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
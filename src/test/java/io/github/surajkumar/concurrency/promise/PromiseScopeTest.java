@@ -0,0 +1,131 @@
+package io.github.surajkumar.concurrency.promise;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.PromiseScopeFailedException;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class PromiseScopeTest {
+    private final Executor executor = new Executor(new ThreadPerTaskExecutionMachine());
+
+    @Test
+    void testShutdownOnFailureCollectsResults() throws InterruptedException {
+        try (PromiseScope<Integer> scope = PromiseScope.shutdownOnFailure(executor)) {
+            Promise<Integer> a = scope.fork(() -> 1);
+            Promise<Integer> b = scope.fork(() -> 2);
+            scope.join().throwIfFailed();
+
+            assertEquals(1, a.get());
+            assertEquals(2, b.get());
+            assertEquals(List.of(1, 2), scope.results());
+            assertFalse(scope.isShutdown());
+        }
+    }
+
+    @Test
+    void testFailureCancelsSiblings() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean stoppedEarly = new AtomicBoolean();
+        IllegalStateException boom = new IllegalStateException("boom");
+        PromiseScope<Integer> scope = PromiseScope.shutdownOnFailure(executor);
+        Promise<Integer> slow =
+                scope.fork(
+                        () -> {
+                            started.countDown();
+                            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                            while (System.nanoTime() < deadline) {
+                                if (CancellationToken.current().isCancellationRequested()) {
+                                    stoppedEarly.set(true);
+                                    break;
+                                }
+                                Thread.onSpinWait();
+                            }
+                            return 1;
+                        });
+        started.await();
+        scope.fork(
+                () -> {
+                    throw boom;
+                });
+
+        scope.join();
+        scope.close();
+
+        assertTrue(scope.isShutdown());
+        assertTrue(stoppedEarly.get());
+        assertEquals(Status.CANCELLED, slow.getStatus());
+        assertEquals(List.of(boom), scope.exceptions());
+        PromiseScopeFailedException failure =
+                assertThrows(PromiseScopeFailedException.class, scope::throwIfFailed);
+        assertSame(boom, failure.getCause());
+    }
+
+    @Test
+    void testShutdownOnSuccessReturnsFirstResult() throws InterruptedException {
+        try (PromiseScope<String> scope = PromiseScope.shutdownOnSuccess(executor)) {
+            Promise<String> slow =
+                    scope.fork(
+                            () -> {
+                                CancellationToken token = CancellationToken.current();
+                                while (!token.isCancellationRequested()) {
+                                    Thread.onSpinWait();
+                                }
+                                return "slow";
+                            });
+            scope.fork(() -> "fast");
+
+            assertEquals("fast", scope.join().result());
+            scope.close();
+            assertEquals(Status.CANCELLED, slow.getStatus());
+        }
+    }
+
+    @Test
+    void testForkAfterShutdownIsCancelled() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        try (PromiseScope<Boolean> scope = PromiseScope.shutdownOnFailure(executor)) {
+            scope.shutdown();
+            Promise<Boolean> promise = scope.fork(() -> ran.getAndSet(true));
+            scope.join();
+
+            assertTrue(promise.isCancelled());
+            assertTrue(scope.results().isEmpty());
+        }
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void testJoinTimeoutShutsDownScope() throws InterruptedException {
+        PromiseScope<Integer> scope = PromiseScope.shutdownOnFailure(executor);
+        Promise<Integer> promise =
+                scope.fork(
+                        () -> {
+                            while (!CancellationToken.current().isCancellationRequested()) {
+                                Thread.onSpinWait();
+                            }
+                            return 1;
+                        });
+
+        assertFalse(scope.join(50, TimeUnit.MILLISECONDS));
+        scope.close();
+
+        assertTrue(scope.isShutdown());
+        assertEquals(Status.CANCELLED, promise.getStatus());
+    }
+
+    @Test
+    void testResultsRequireJoin() {
+        try (PromiseScope<Integer> scope = PromiseScope.shutdownOnFailure(executor)) {
+            scope.fork(() -> 1);
+            assertThrows(IllegalStateException.class, scope::results);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.surajkumar.concurrency.promise;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.PromiseCancelledException;
+import io.github.surajkumar.concurrency.exceptions.PromiseTimedOutException;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class PromiseTest {
+
+    @Test
+    void testCancelledBeforeStartIsSkipped() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        AtomicReference<Exception> rejected = new AtomicReference<>();
+        Promise<Boolean> promise = new Promise<>(() -> ran.getAndSet(true)).onReject(rejected::set);
+
+        assertTrue(promise.cancel());
+        assertFalse(promise.cancel());
+        assertEquals(Status.CANCELLED, promise.getStatus());
+        assertInstanceOf(PromiseCancelledException.class, rejected.get());
+
+        ExecutionThread executionThread = ExecutionThread.createStarted();
+        executionThread.queuePromise(promise, new ExecutionSettings());
+        assertNull(promise.get());
+        Thread.sleep(50);
+        executionThread.setRunning(false);
+
+        assertFalse(ran.get());
+        assertEquals(1, executionThread.getMetrics().getCancelledPromises());
+    }
+
+    @Test
+    void testCancelStopsRepeatingPromise() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(3);
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            started.countDown();
+                            return runs.incrementAndGet();
+                        });
+        Executor executor = new Executor(new ThreadPerTaskExecutionMachine());
+        executor.run(new ExecutionSettings().setRepeatIndefinitely(true), promise);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(promise.cancel());
+        promise.get();
+        int afterCancel = runs.get();
+        Thread.sleep(50);
+
+        assertTrue(promise.isCancelled());
+        assertEquals(afterCancel, runs.get());
+    }
+
+    @Test
+    void testDeadlineStopsCooperativeTask() {
+        AtomicReference<Exception> rejected = new AtomicReference<>();
+        Promise<Long> promise =
+                new Promise<>(
+                        () -> {
+                            long spins = 0;
+                            CancellationToken token = CancellationToken.current();
+                            while (!token.isCancellationRequested()) {
+                                spins++;
+                            }
+                            return spins;
+                        });
+        promise.onReject(rejected::set);
+        Executor executor = new Executor(new ThreadPerTaskExecutionMachine());
+        executor.run(new ExecutionSettings().setTimeout(20), promise);
+
+        assertNull(promise.get());
+        assertTrue(promise.isTimedOut());
+        assertInstanceOf(PromiseTimedOutException.class, rejected.get());
+    }
+
+    @Test
+    void testCancelAfterSettlingHasNoEffect() {
+        Promise<Integer> finished = new Promise<>(() -> 1);
+        finished.complete();
+        Promise<Integer> failed =
+                new Promise<>(
+                        () -> {
+                            throw new IllegalStateException("boom");
+                        });
+        failed.complete();
+
+        assertFalse(finished.cancel());
+        assertFalse(failed.cancel());
+        assertEquals(Status.FINISHED, finished.getStatus());
+        assertEquals(Status.ERROR, failed.getStatus());
+        assertFalse(finished.getCancellationToken().isCancellationRequested());
+    }
+
+    @Test
+    void testRunningPromiseIsNotRunAgain() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean release = new AtomicBoolean();
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            started.countDown();
+                            while (!release.get()) {
+                                Thread.onSpinWait();
+                            }
+                            return runs.incrementAndGet();
+                        });
+        Thread runner = Thread.ofVirtual().start(promise::complete);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        promise.complete();
+        release.set(true);
+        runner.join();
+
+        assertEquals(1, runs.get());
+        assertEquals(Status.FINISHED, promise.getStatus());
+    }
+
+    @Test
+    void testExecutorKeepsTheTimeoutOfThePromise() {
+        Promise<Boolean> promise =
+                new Promise<>(
+                        () -> {
+                            CancellationToken token = CancellationToken.current();
+                            while (!token.isCancellationRequested()) {
+                                Thread.onSpinWait();
+                            }
+                            return true;
+                        });
+        promise.setTimeout(20, TimeUnit.MILLISECONDS);
+        Executor executor = new Executor(new ThreadPerTaskExecutionMachine());
+        executor.run(new ExecutionSettings().setTimeout(60_000), promise);
+
+        promise.get();
+        assertTrue(promise.isTimedOut());
+    }
+
+    @Test
+    void testCurrentTokenOutsidePromiseIsNeverCancelled() {
+        CancellationToken token = CancellationToken.current();
+        assertFalse(token.isCancellationRequested());
+        assertDoesNotThrow(token::throwIfCancellationRequested);
+    }
+}
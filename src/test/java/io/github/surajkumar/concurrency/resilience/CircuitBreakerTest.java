@@ -0,0 +1,116 @@
+package io.github.surajkumar.concurrency.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.exceptions.CircuitBreakerOpenException;
+import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        breaker.onSuccess();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testTrialSuccessClosesTheBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 20);
+        breaker.onFailure();
+        Thread.sleep(50);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testTrialFailureOpensTheBreakerAgain() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 20);
+        breaker.onFailure();
+        Thread.sleep(50);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOpenBreakerFailsPromisesWithoutRunningThem() {
+        Executor executor = new Executor(new SingleThreadedExecutionMachine());
+        CircuitBreaker breaker = new CircuitBreaker("inventory", 1, 60_000);
+        ExecutionSettings settings = new ExecutionSettings().setCircuitBreaker(breaker);
+        AtomicInteger calls = new AtomicInteger();
+        Promise<Integer> failing =
+                new Promise<>(
+                        () -> {
+                            calls.incrementAndGet();
+                            throw new IllegalStateException("unavailable");
+                        });
+        Promise<Integer> rejected = new Promise<>(calls::incrementAndGet);
+
+        executor.run(settings, failing);
+        failing.get();
+        executor.run(settings, rejected);
+
+        assertNull(rejected.get());
+        assertEquals(Status.ERROR, rejected.getStatus());
+        assertEquals(
+                new CircuitBreakerOpenException().getMessage(),
+                rejected.getMetrics().getErrorDetails());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFailingResultHandlerIsNotReportedAsAFailure() {
+        CircuitBreaker breaker = new CircuitBreaker("handlers", 1, 60_000);
+        Promise<Integer> promise =
+                new Promise<Integer>(() -> 1)
+                        .setCircuitBreaker(breaker)
+                        .onResolve(
+                                result -> {
+                                    throw new IllegalStateException("handler failed");
+                                });
+
+        promise.complete();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testCategoriesShareOneBreaker() {
+        assertSame(CircuitBreaker.forCategory("payments"), CircuitBreaker.forCategory("payments"));
+        assertNotSame(CircuitBreaker.forCategory("payments"), CircuitBreaker.forCategory("search"));
+
+        CircuitBreaker custom = new CircuitBreaker("payments", 10, 1000);
+        CircuitBreaker.register(custom);
+        assertSame(custom, CircuitBreaker.forCategory("payments"));
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.surajkumar.concurrency.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.machines.AdaptiveConcurrencyExecutionMachine;
+import io.github.surajkumar.concurrency.machines.BulkheadManager;
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.machines.KeyedSerialExecutionMachine;
+import io.github.surajkumar.concurrency.machines.RateLimitedExecutionMachine;
+import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
+import io.github.surajkumar.concurrency.machines.ThreadPerTaskExecutionMachine;
+import io.github.surajkumar.concurrency.machines.VegasLimit;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.promise.Status;
+import io.github.surajkumar.concurrency.threads.ExecutionSettings;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RetryPolicyTest {
+    private final Executor executor = new Executor(new SingleThreadedExecutionMachine());
+
+    @Test
+    void testBackoffGrowsUpToTheMaximum() {
+        RetryPolicy policy =
+                new RetryPolicy()
+                        .setInitialBackoffMillis(100)
+                        .setMaxBackoffMillis(300)
+                        .setJitter(0);
+
+        assertEquals(100, policy.getBackoffMillis(1));
+        assertEquals(200, policy.getBackoffMillis(2));
+        assertEquals(300, policy.getBackoffMillis(3));
+    }
+
+    @Test
+    void testJitterShortensTheBackoff() {
+        RetryPolicy policy = new RetryPolicy().setInitialBackoffMillis(1000).setJitter(0.5);
+
+        for (int i = 0; i < 100; i++) {
+            long backoff = policy.getBackoffMillis(1);
+            assertTrue(backoff >= 500 && backoff <= 1000, "backoff out of range: " + backoff);
+        }
+    }
+
+    @Test
+    void testFailedTaskIsRetriedUntilItSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> results = new CopyOnWriteArrayList<>();
+        List<Exception> failures = new CopyOnWriteArrayList<>();
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            if (calls.incrementAndGet() < 3) {
+                                throw new IllegalStateException("unavailable");
+                            }
+                            return 42;
+                        },
+                        results::add,
+                        failures::add);
+
+        executor.run(new ExecutionSettings().setRetryPolicy(fastPolicy(3)), promise);
+
+        assertEquals(42, promise.get());
+        assertEquals(3, promise.getAttempts());
+        assertEquals(List.of(42), results);
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void testPromiseFailsOnceAttemptsAreUsedUp() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Exception> failures = new CopyOnWriteArrayList<>();
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            calls.incrementAndGet();
+                            throw new IllegalStateException("unavailable");
+                        },
+                        null,
+                        failures::add);
+
+        executor.run(new ExecutionSettings().setRetryPolicy(fastPolicy(2)), promise);
+
+        assertNull(promise.get());
+        assertEquals(Status.ERROR, promise.getStatus());
+        assertEquals(2, calls.get());
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    void testExceptionsRejectedByThePredicateAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        Promise<Integer> promise =
+                new Promise<>(
+                        () -> {
+                            calls.incrementAndGet();
+                            throw new IllegalArgumentException("bad input");
+                        });
+
+        executor.run(
+                new ExecutionSettings()
+                        .setRetryPolicy(
+                                fastPolicy(5).setRetryOn(e -> e instanceof IllegalStateException)),
+                promise);
+
+        assertNull(promise.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testBackoffDoesNotHoldTheWorker() {
+        Promise<Integer> failing =
+                new Promise<>(
+                        () -> {
+                            throw new IllegalStateException("unavailable");
+                        });
+        Promise<Long> other = new Promise<>(System::nanoTime);
+        RetryPolicy slow =
+                new RetryPolicy().setMaxAttempts(2).setInitialBackoffMillis(1000).setJitter(0);
+
+        long start = System.nanoTime();
+        executor.run(new ExecutionSettings().setRetryPolicy(slow), failing);
+        executor.run(other);
+
+        assertTrue(other.get() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(Status.NOT_STARTED, failing.getStatus());
+        failing.cancel();
+    }
+
+    @Test
+    void testRetryKeepsItsLaneInAKeyedSerialMachine() {
+        Executor keyed =
+                new Executor(new KeyedSerialExecutionMachine(new ThreadPerTaskExecutionMachine()));
+        List<String> order = new CopyOnWriteArrayList<>();
+        Promise<Integer> flaky = failingTwice(order);
+        Promise<Boolean> next = new Promise<>(() -> order.add("next"));
+        ExecutionSettings settings =
+                new ExecutionSettings().setKey("account").setRetryPolicy(fastPolicy(3));
+
+        keyed.run(settings, flaky, next);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(next.get()));
+        assertEquals(42, flaky.get());
+        assertEquals(List.of("attempt", "attempt", "attempt", "next"), order);
+    }
+
+    @Test
+    void testRetryKeepsItsPermitInAnAdaptiveConcurrencyMachine() {
+        AdaptiveConcurrencyExecutionMachine machine =
+                new AdaptiveConcurrencyExecutionMachine(
+                        new ThreadPerTaskExecutionMachine(), new VegasLimit(1, 1, 1), 10);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Promise<Integer> flaky = failingTwice(order);
+        Promise<Boolean> next = new Promise<>(() -> order.add("next"));
+
+        new Executor(machine)
+                .run(new ExecutionSettings().setRetryPolicy(fastPolicy(3)), flaky, next);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(next.get()));
+        assertEquals(42, flaky.get());
+        assertEquals(List.of("attempt", "attempt", "attempt", "next"), order);
+        // The permit is given back by a listener that may still be running.
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> {
+                    while (machine.getMetrics().getInFlight() != 0) {
+                        Thread.onSpinWait();
+                    }
+                });
+    }
+
+    @Test
+    void testRetryTakesATokenInARateLimitedMachine() {
+        assertRetriedOn(
+                new RateLimitedExecutionMachine(new ThreadPerTaskExecutionMachine(), 100, 1));
+    }
+
+    @Test
+    void testRetryRunsInItsBulkheadPartition() {
+        assertRetriedOn(new BulkheadManager(1).createPartition("inventory", 1, 1));
+    }
+
+    @Test
+    void testShutdownWaitsForAPromiseInBackoff() throws InterruptedException {
+        ThreadPerTaskExecutionMachine machine = new ThreadPerTaskExecutionMachine();
+        Promise<Integer> flaky = failingTwice(new CopyOnWriteArrayList<>());
+        RetryPolicy policy =
+                new RetryPolicy().setMaxAttempts(3).setInitialBackoffMillis(100).setJitter(0);
+
+        new Executor(machine).run(new ExecutionSettings().setRetryPolicy(policy), flaky);
+        awaitRetrying(flaky);
+        machine.shutdown();
+
+        assertFalse(machine.isTerminated());
+        assertEquals(42, flaky.get());
+        assertTrue(machine.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void assertRetriedOn(ExecutionMachine machine) {
+        Promise<Integer> flaky = failingTwice(new CopyOnWriteArrayList<>());
+
+        new Executor(machine).run(new ExecutionSettings().setRetryPolicy(fastPolicy(3)), flaky);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(42, flaky.get()));
+        assertEquals(3, flaky.getAttempts());
+    }
+
+    private static Promise<Integer> failingTwice(List<String> order) {
+        AtomicInteger calls = new AtomicInteger();
+        return new Promise<>(
+                () -> {
+                    order.add("attempt");
+                    if (calls.incrementAndGet() < 3) {
+                        throw new IllegalStateException("unavailable");
+                    }
+                    return 42;
+                });
+    }
+
+    private static void awaitRetrying(Promise<?> promise) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!promise.isRetrying() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(promise.isRetrying());
+    }
+
+    private static RetryPolicy fastPolicy(int maxAttempts) {
+        return new RetryPolicy().setMaxAttempts(maxAttempts).setInitialBackoffMillis(5);
+    }
+}
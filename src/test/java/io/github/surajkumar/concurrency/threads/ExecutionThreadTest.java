@@ -0,0 +1,99 @@
+package io.github.surajkumar.concurrency.threads;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.promise.Promise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+class ExecutionThreadTest {
+
+    @Test
+    void testEveryWaitStrategyHandsOffPromises() throws InterruptedException {
+        List<WaitStrategy> strategies =
+                List.of(
+                        new BusySpinWaitStrategy(),
+                        new YieldingWaitStrategy(100),
+                        new ParkingWaitStrategy(100, 10),
+                        new ParkingWaitStrategy(0, 0));
+        for (WaitStrategy strategy : strategies) {
+            ExecutionThread executionThread =
+                    ExecutionThread.createStarted("WaitStrategyTest", null, strategy);
+            for (int i = 0; i < 100; i++) {
+                Promise<Integer> promise = new Promise<>(() -> 42);
+                executionThread.queuePromise(promise, new ExecutionSettings());
+                assertEquals(42, promise.get(), strategy.toString());
+            }
+            executionThread.setRunning(false);
+            executionThread.getThread().join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(executionThread.getThread().isAlive(), strategy.toString());
+        }
+    }
+
+    @Test
+    void testParkedThreadWakesForLateWork() throws InterruptedException {
+        ExecutionThread executionThread =
+                ExecutionThread.createStarted(
+                        "WaitStrategyTest", null, new ParkingWaitStrategy(0, 0));
+        Thread.sleep(50);
+        assertEquals(Thread.State.WAITING, executionThread.getThread().getState());
+        Promise<String> promise = new Promise<>(() -> "woken");
+        executionThread.queuePromise(promise, new ExecutionSettings());
+        assertEquals("woken", promise.get());
+        executionThread.setRunning(false);
+    }
+
+    @Test
+    void testRegisteredAndPerPromiseWatchersAreNotified() throws InterruptedException {
+        List<String> events = new CopyOnWriteArrayList<>();
+        ExecutionThreadWatcher registered = new RecordingWatcher("registered", events);
+        ExecutionThreadWatcher removed = new RecordingWatcher("removed", events);
+        ExecutionThread executionThread = ExecutionThread.createStarted("WatcherTest");
+        executionThread.addWatcher(registered);
+        executionThread.addWatcher(removed);
+        executionThread.removeWatcher(removed);
+
+        Promise<Integer> first = new Promise<>(() -> 1);
+        executionThread.queuePromise(
+                first, new ExecutionSettings(), new RecordingWatcher("first", events));
+        Promise<Integer> second = new Promise<>(() -> 2);
+        executionThread.queuePromise(second, new ExecutionSettings());
+        second.get();
+        executionThread.setRunning(false);
+        executionThread.getThread().join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(
+                List.of(
+                        "registered running",
+                        "first running",
+                        "registered complete",
+                        "first complete",
+                        "registered running",
+                        "registered complete",
+                        "registered retired"),
+                events);
+    }
+
+    private record RecordingWatcher(String name, List<String> events)
+            implements ExecutionThreadWatcher {
+
+        @Override
+        public void onPromiseComplete(Promise<?> promise, ExecutionThread executionThread) {
+            events.add(name + " complete");
+        }
+
+        @Override
+        public void onPromiseRunning(Promise<?> promise, ExecutionThread executionThread) {
+            events.add(name + " running");
+        }
+
+        @Override
+        public void onExecutionThreadRetirement(ExecutionThread executionThread) {
+            events.add(name + " retired");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.surajkumar.concurrency.tracing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.surajkumar.concurrency.Executor;
+import io.github.surajkumar.concurrency.channel.Channel;
+import io.github.surajkumar.concurrency.channel.Message;
+import io.github.surajkumar.concurrency.machines.ExecutionMachine;
+import io.github.surajkumar.concurrency.machines.SingleThreadedExecutionMachine;
+import io.github.surajkumar.concurrency.pools.Pool;
+import io.github.surajkumar.concurrency.pools.PoolOptions;
+import io.github.surajkumar.concurrency.promise.Promise;
+import io.github.surajkumar.concurrency.threads.ExecutionThread;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class TracingTest {
+    private static final String PREFIX = "io.github.surajkumar.concurrency.";
+
+    @Test
+    void testEventsAreRecorded(@TempDir Path directory) throws IOException, InterruptedException {
+        List<RecordedEvent> events;
+        int rejectedId;
+        try (Recording recording = new Recording()) {
+            for (String name :
+                    List.of(
+                            "PromiseSubmitted",
+                            "PromiseQueued",
+                            "PromiseExecution",
+                            "PromiseRejected",
+                            "PoolScaled",
+                            "ChannelSend",
+                            "ChannelDelivery")) {
+                recording.enable(PREFIX + name).withoutThreshold();
+            }
+            recording.start();
+
+            Executor executor = new Executor(new SingleThreadedExecutionMachine());
+            Promise<Integer> resolved = new Promise<>(() -> 1);
+            Promise<Integer> rejected =
+                    new Promise<>(
+                            () -> {
+                                throw new IllegalStateException("boom");
+                            });
+            rejectedId = System.identityHashCode(rejected);
+            executor.join(resolved, rejected);
+            executor.shutdown();
+            // The rejection is recorded after the promise settles, so wait for the worker too.
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            Pool pool =
+                    new Pool(
+                            0,
+                            new PoolOptions()
+                                    .setEnableScaling(true)
+                                    .setScaleUpAmount(1)
+                                    .setMaxCapacity(1));
+            pool.scaleUp();
+            pool.get().setRunning(false);
+
+            Channel<String> channel = new Channel<>();
+            channel.register((ch, message) -> {});
+            channel.sendMessage(Message.createMessage("hello", null));
+
+            recording.stop();
+            Path file = directory.resolve("tracing.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        Set<String> names =
+                events.stream()
+                        .map(event -> event.getEventType().getName().substring(PREFIX.length()))
+                        .collect(Collectors.toSet());
+        assertEquals(
+                Set.of(
+                        "PromiseSubmitted",
+                        "PromiseQueued",
+                        "PromiseExecution",
+                        "PromiseRejected",
+                        "PoolScaled",
+                        "ChannelSend",
+                        "ChannelDelivery"),
+                names);
+        RecordedEvent failure =
+                events.stream()
+                        .filter(event -> event.getEventType().getName().endsWith("Rejected"))
+                        .filter(event -> event.getInt("promiseId") == rejectedId)
+                        .findFirst()
+                        .orElseThrow();
+        assertEquals("ERROR", failure.getString("status"));
+        assertEquals("boom", failure.getString("errorDetails"));
+    }
+
+    @Test
+    void testSinkReceivesLifecycleEvents() throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        Promise<Integer> promise = new Promise<>(() -> 1);
+        ExecutionEventSink sink =
+                new ExecutionEventSink() {
+                    @Override
+                    public void onPromiseSubmitted(Promise<?> p, ExecutionMachine machine) {
+                        if (p == promise) {
+                            received.add("submitted");
+                        }
+                    }
+
+                    @Override
+                    public void onPromiseRunning(Promise<?> p, ExecutionThread executionThread) {
+                        if (p == promise) {
+                            received.add("running");
+                        }
+                    }
+
+                    @Override
+                    public void onPromiseComplete(Promise<?> p, ExecutionThread executionThread) {
+                        if (p == promise) {
+                            received.add("complete");
+                        }
+                    }
+                };
+        Tracing.addSink(sink);
+        try {
+            Executor executor = new Executor(new SingleThreadedExecutionMachine());
+            executor.join(promise);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        } finally {
+            Tracing.removeSink(sink);
+        }
+        assertEquals(List.of("submitted", "running", "complete"), received);
+        assertFalse(Tracing.getSinks().contains(sink));
+    }
+}
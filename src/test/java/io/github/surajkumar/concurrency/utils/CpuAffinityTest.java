@@ -0,0 +1,48 @@
+package io.github.surajkumar.concurrency.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.github.surajkumar.concurrency.pools.AffinityPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class CpuAffinityTest {
+
+    @Test
+    void testCpuListRoundTrip() {
+        BitSet cpus = CpuAffinity.parseCpuList("0-3,8,10-11\n");
+        assertEquals(7, cpus.cardinality());
+        assertEquals("0-3,8,10-11", CpuAffinity.toCpuList(cpus));
+    }
+
+    @Test
+    void testNoPolicyLeavesThreadsUnpinned() {
+        assertNull(CpuAffinity.cpusFor(AffinityPolicy.NONE, 0));
+    }
+
+    @Test
+    void testCorePolicyAssignsAllowedCpusInTurn() {
+        assumeTrue(CpuAffinity.isSupported());
+        BitSet allowed = CpuAffinity.getAllowedCpus();
+        for (int i = 0; i < allowed.cardinality() * 2; i++) {
+            BitSet cpus = CpuAffinity.cpusFor(AffinityPolicy.CORE, i);
+            assertEquals(1, cpus.cardinality());
+            assertTrue(allowed.get(cpus.nextSetBit(0)));
+        }
+    }
+
+    @Test
+    void testPinThread() throws InterruptedException {
+        assumeTrue(CpuAffinity.isSupported());
+        BitSet cpus = CpuAffinity.cpusFor(AffinityPolicy.NUMA_NODE, 0);
+        AtomicBoolean pinned = new AtomicBoolean();
+        Thread thread =
+                Thread.ofPlatform().start(() -> pinned.set(CpuAffinity.pinCurrentThread(cpus)));
+        thread.join();
+        assertTrue(pinned.get());
+    }
+}